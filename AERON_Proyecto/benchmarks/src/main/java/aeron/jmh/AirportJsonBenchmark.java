@@ -0,0 +1,61 @@
+package aeron.jmh;
+
+import aeron.model.FlightStatus;
+import aeron.util.AirportJson;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AirportJson.actualizarEstado() en modo AGRUPADO: el coste que paga el Operario por cada cambio
+ * de estado (el volcado a disco queda en el hilo de fondo y aquí se aplaza). Con varios hilos
+ * (-t) todos actualizan el mismo mapa.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportJsonBenchmark {
+
+    private static final String[] ESTADOS = {
+            FlightStatus.IN_FLIGHT.name(), FlightStatus.LANDED.name(),
+            FlightStatus.BOARDED.name(), FlightStatus.DEPARTED.name()
+    };
+
+    @Param({"20", "10000"})
+    public int vuelos;
+
+    private String[] ids;
+
+    /** Posición de cada hilo en la lista de vuelos. */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int siguiente;
+    }
+
+    @Setup
+    public void crearVuelos() {
+        Sumideros.silenciar();
+        ids = new String[vuelos];
+        for (int i = 0; i < vuelos; i++) ids[i] = String.format("IBE-%05d", i + 1);
+    }
+
+    @Benchmark
+    public void actualizarEstado(Cursor c) {
+        int i = c.siguiente;
+        c.siguiente = (i + 1) % ids.length;
+        AirportJson.actualizarEstado(ids[i], ESTADOS[i & (ESTADOS.length - 1)]);
+    }
+}
@@ -0,0 +1,82 @@
+package aeron.jmh;
+
+import aeron.concurrent.Request;
+import aeron.concurrent.RequestType;
+import aeron.model.Airplane;
+import aeron.util.AirportState;
+import aeron.util.Gate;
+import aeron.util.Runway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dibujo de las tablas ASCII del estado (AirportState) en un StringBuilder reutilizado,
+ * con la mitad de las pistas y puertas ocupadas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AirportStateBenchmark {
+
+    @Param({"3", "50"})
+    public int pistas;
+
+    @Param({"5", "500"})
+    public int puertas;
+
+    @Param({"5", "100"})
+    public int enCola;
+
+    private final List<Runway> runways = new ArrayList<>();
+    private final List<Gate> gates = new ArrayList<>();
+    private final List<Request> cola = new ArrayList<>();
+    private final StringBuilder sb = new StringBuilder(4096);
+
+    @Setup
+    public void crearAeropuerto() {
+        for (int i = 1; i <= pistas; i++) {
+            Runway r = new Runway("PIS" + i, i - 1);
+            if (i % 2 == 0) r.intentarOcupar();
+            runways.add(r);
+        }
+        for (int i = 1; i <= puertas; i++) {
+            Gate g = new Gate("GATE " + i, i - 1);
+            if (i % 2 == 0) g.intentarOcupar();
+            gates.add(g);
+        }
+        for (int i = 1; i <= enCola; i++) {
+            RequestType tipo = i % 2 == 0 ? RequestType.TAKEOFF : RequestType.LANDING;
+            cola.add(new Request(new Airplane(String.format("IBE-%04d", i), null), tipo));
+        }
+    }
+
+    @Benchmark
+    public int estadoRecursos() {
+        sb.setLength(0);
+        AirportState.appendResourcesStatus(sb, runways, gates);
+        return sb.length();
+    }
+
+    @Benchmark
+    public int colaPeticiones() {
+        sb.setLength(0);
+        AirportState.appendRequestQueue(sb, cola);
+        return sb.length();
+    }
+}
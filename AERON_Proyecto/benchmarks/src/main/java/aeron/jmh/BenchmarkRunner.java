@@ -0,0 +1,67 @@
+package aeron.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Lanza todos los benchmarks del paquete una vez por cada número de hilos y deja los resultados
+ * en JSON (results/jmh-hilos-N.json), listos para comparar entre commits. Siempre se activa
+ * el perfilador de GC, así que cada resultado incluye también los bytes reservados por operación.
+ * <p>
+ * Uso:
+ * <pre>
+ *   java -jar target/benchmarks.jar              -> con 1 hilo
+ *   java -jar target/benchmarks.jar 1 4 8        -> con 1, 4 y 8 hilos
+ *   java -jar target/benchmarks.jar -h           -> cualquier otra cosa se pasa tal cual a JMH
+ *   java -jar target/benchmarks.jar escala       -> las pasadas de escala (aeron.jmh.escala)
+ * </pre>
+ * Con -Daeron.jmh.incluir=Cola se limita a los benchmarks cuyo nombre encaje con la expresión.
+ * Sin ella se dejan fuera los de aeron.jmh.escala: son pasadas únicas de segundos o minutos
+ * (flotas enteras, un día de tráfico, miles de sockets) con sus propios hilos, y no tiene
+ * sentido repetirlas por cada número de hilos de JMH.
+ */
+public class BenchmarkRunner {
+
+    private static final String CARPETA_RESULTADOS = "results";
+    private static final String ESCALA = "aeron\\.jmh\\.escala\\..*";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && !esNumero(args[0])) {
+            // Opciones de JMH (-t, -p, -prof...): que las interprete JMH
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        String incluir = System.getProperty("aeron.jmh.incluir");
+        new File(CARPETA_RESULTADOS).mkdirs();
+
+        String[] hilos = args.length > 0 ? args : new String[]{"1"};
+        for (String n : hilos) ejecutar(incluir, Integer.parseInt(n));
+    }
+
+    private static void ejecutar(String incluir, int hilos) throws RunnerException {
+        String fichero = CARPETA_RESULTADOS + File.separator + "jmh-hilos-" + hilos + ".json";
+        OptionsBuilder opciones = new OptionsBuilder();
+        if (incluir != null) {
+            opciones.include(incluir);
+        } else {
+            opciones.include(BenchmarkRunner.class.getPackage().getName() + ".*").exclude(ESCALA);
+        }
+        opciones
+                .threads(hilos)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(fichero);
+        new Runner(opciones.build()).run();
+        System.out.println("Resultados en " + fichero);
+    }
+
+    private static boolean esNumero(String texto) {
+        return texto.chars().allMatch(Character::isDigit) && !texto.isEmpty();
+    }
+}
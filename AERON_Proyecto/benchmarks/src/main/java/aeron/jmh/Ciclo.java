@@ -0,0 +1,61 @@
+package aeron.jmh;
+
+import aeron.concurrent.Request;
+import aeron.concurrent.RequestType;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+
+/**
+ * Ciclo de vida de un avión visto desde la Torre: el orden de sus peticiones y el estado que
+ * tiene el avión al hacer cada una.
+ */
+final class Ciclo {
+
+    /**
+     * Peticiones de un ciclo completo, en orden. Al terminarlo el avión no ocupa ningún recurso.
+     * (BOARDING no aparece: registrarPeticion() no genera peticiones de ese tipo).
+     */
+    static final RequestType[] ORDEN = {
+            RequestType.LANDING, RequestType.LANDED, RequestType.BOARDED,
+            RequestType.TAKEOFF, RequestType.DEPARTED
+    };
+
+    private Ciclo() {}
+
+    /**
+     * Estado con el que el avión hace la petición (el que lee registrarPeticion()).
+     */
+    static FlightStatus estadoDe(RequestType tipo) {
+        switch (tipo) {
+            case LANDING:  return FlightStatus.LANDING_REQUEST;
+            case LANDED:   return FlightStatus.LANDED;
+            case BOARDED:  return FlightStatus.BOARDED;
+            case TAKEOFF:  return FlightStatus.TAKEOFF_REQUESTED;
+            default:       return FlightStatus.DEPARTED;
+        }
+    }
+
+    /**
+     * Deja al avión listo para la petición (estado y, si la necesita, autorización nueva).
+     */
+    static void preparar(Airplane avion, RequestType tipo) {
+        if (tipo == RequestType.LANDING || tipo == RequestType.TAKEOFF) avion.prepararAutorizacion();
+        avion.setStatus(estadoDe(tipo));
+    }
+
+    /**
+     * Prepara al avión y empaqueta la petición sin pasar por la cola de entrada.
+     */
+    static Request peticion(Airplane avion, RequestType tipo) {
+        preparar(avion, tipo);
+        return new Request(avion, tipo);
+    }
+
+    /**
+     * Posición de la petición en {@link #ORDEN}.
+     */
+    static int posicion(RequestType tipo) {
+        for (int i = 0; i < ORDEN.length; i++) if (ORDEN[i] == tipo) return i;
+        throw new IllegalArgumentException("Petición fuera del ciclo: " + tipo);
+    }
+}
@@ -0,0 +1,114 @@
+package aeron.jmh;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Operario;
+import aeron.concurrent.OwnershipIndex;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.RequestType;
+import aeron.model.Airplane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ciclo completo de un avión contra una Torre compartida con Operarios de verdad.
+ * <p>
+ * Cada hilo de JMH es un Avión: pide aterrizar y espera la autorización, libera la pista, libera
+ * la puerta, pide despegar, espera y sale. Para no pisar su propia ocupación (como el Thread.sleep
+ * del Airplane real) espera a que la Torre procese cada liberación. Los Operarios son hilos
+ * aparte (parámetro 'operarios') y el número de aviones son los hilos de JMH (-t).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CicloConOperariosBenchmark {
+
+    // Holgada para que ninguna petición se pierda por saturación
+    private static final int CAPACIDAD_COLA = 4_096;
+
+    private static final AtomicInteger siguienteAvion = new AtomicInteger();
+
+    @Param({"1", "4"})
+    public int operarios;
+
+    @Param({"3", "50"})
+    public int pistas;
+
+    @Param({"5", "500"})
+    public int puertas;
+
+    private ControlTowerConcurrent torre;
+    private final List<Thread> hilosOperarios = new ArrayList<>();
+
+    @State(Scope.Thread)
+    public static class Avion {
+        Airplane avion;
+
+        @Setup
+        public void crear() {
+            avion = new Airplane(String.format("IBE-%04d", siguienteAvion.incrementAndGet()), null);
+        }
+    }
+
+    @Setup
+    public void arrancar() {
+        Sumideros.silenciar();
+        torre = new ControlTowerConcurrent(pistas, puertas, new RingBufferRequestQueue(CAPACIDAD_COLA));
+        for (int i = 1; i <= operarios; i++) {
+            Thread t = new Thread(new Operario(torre, i, 0), "operario-" + i);
+            t.setDaemon(true);
+            t.start();
+            hilosOperarios.add(t);
+        }
+    }
+
+    @TearDown
+    public void parar() throws InterruptedException {
+        for (Thread t : hilosOperarios) t.interrupt();
+        for (Thread t : hilosOperarios) t.join();
+        hilosOperarios.clear();
+    }
+
+    @Benchmark
+    public void ciclo(Avion a) throws InterruptedException {
+        Airplane avion = a.avion;
+        OwnershipIndex ocupacion = torre.getOcupacion();
+
+        pedir(avion, RequestType.LANDING);
+        avion.getAutorizacion().esperar();
+
+        pedir(avion, RequestType.LANDED);
+        while (ocupacion.getPistaDe(avion.getId()) != null) Thread.yield();
+
+        pedir(avion, RequestType.BOARDED);
+        while (ocupacion.getPuertaDe(avion.getId()) != null) Thread.yield();
+
+        pedir(avion, RequestType.TAKEOFF);
+        avion.getAutorizacion().esperar();
+
+        pedir(avion, RequestType.DEPARTED);
+        while (ocupacion.getPistaDe(avion.getId()) != null) Thread.yield();
+    }
+
+    private void pedir(Airplane avion, RequestType tipo) {
+        Ciclo.preparar(avion, tipo);
+        torre.registrarPeticion(avion);
+    }
+}
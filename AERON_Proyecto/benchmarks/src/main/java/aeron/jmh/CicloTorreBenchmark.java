@@ -0,0 +1,70 @@
+package aeron.jmh;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.RequestType;
+import aeron.model.Airplane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino caliente completo de una petición: registrarPeticion() + obtenerSiguientePeticion() +
+ * procesarPeticion(), para todas las peticiones del ciclo de un avión. El resultado es por petición.
+ * <p>
+ * El mismo hilo hace de Avión y de Operario (como en una simulación con un único Operario), así que con
+ * "-prof gc" el valor gc.alloc.rate.norm son los bytes que reserva la Torre por petición.
+ * Cada hilo tiene su propia Torre.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CicloTorreBenchmark {
+
+    private static final String OPERARIO = "OP-001";
+    private static final int AVIONES = 1_000;
+
+    @Param({"3", "50"})
+    public int pistas;
+
+    @Param({"5", "500"})
+    public int puertas;
+
+    private ControlTowerConcurrent torre;
+    private Airplane[] flota;
+    private int siguiente;
+
+    @Setup
+    public void crearTorre() {
+        Sumideros.silenciar();
+        torre = new ControlTowerConcurrent(pistas, puertas, new RingBufferRequestQueue(64));
+        flota = new Airplane[AVIONES];
+        for (int i = 0; i < flota.length; i++) flota[i] = new Airplane(String.format("IBE-%04d", i + 1), null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void cicloCompleto() throws InterruptedException {
+        Airplane avion = flota[siguiente];
+        siguiente = (siguiente + 1) % flota.length;
+        for (RequestType tipo : Ciclo.ORDEN) {
+            Ciclo.preparar(avion, tipo);
+            torre.registrarPeticion(avion);
+            torre.procesarPeticion(torre.obtenerSiguientePeticion(), OPERARIO);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package aeron.jmh;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Request;
+import aeron.concurrent.RequestQueue;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.SemaphoreRequestQueue;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cola de entrada de la Torre: registrarPeticion() (lado Avión) + obtenerSiguientePeticion()
+ * (lado Operario). Cada hilo de JMH mete una petición y saca una, así que nunca se bloquea;
+ * con varios hilos (-t) todos compiten por la misma cola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColaPeticionesBenchmark {
+
+    // Holgada para que ningún número de hilos llegue a saturarla
+    private static final int CAPACIDAD = 4_096;
+
+    private static final AtomicInteger siguienteAvion = new AtomicInteger();
+
+    /** Implementación de la cola: lock-free (por defecto en la Torre) o con semáforos. */
+    @Param({"ANILLO", "SEMAFOROS"})
+    public String cola;
+
+    private ControlTowerConcurrent torre;
+
+    /** Avión de cada hilo, en un estado que genera petición pero que aquí no se procesa. */
+    @State(Scope.Thread)
+    public static class Avion {
+        Airplane avion;
+
+        @Setup
+        public void crear() {
+            avion = new Airplane(String.format("IBE-%04d", siguienteAvion.incrementAndGet()), null);
+            avion.setStatus(FlightStatus.LANDED);
+        }
+    }
+
+    @Setup
+    public void crearTorre() {
+        Sumideros.silenciar();
+        RequestQueue q = cola.equals("ANILLO") ? new RingBufferRequestQueue(CAPACIDAD) : new SemaphoreRequestQueue(CAPACIDAD);
+        torre = new ControlTowerConcurrent(3, 5, q);
+    }
+
+    @Benchmark
+    public Request registrarYObtener(Avion a) throws InterruptedException {
+        torre.registrarPeticion(a.avion);
+        return torre.obtenerSiguientePeticion();
+    }
+}
@@ -0,0 +1,95 @@
+package aeron.jmh;
+
+import aeron.concurrent.Authorization;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia "concesión -> despertar" de un avión que espera su autorización: el resguardo
+ * {@link Authorization} (park/unpark) frente a la antigua espera activa del Airplane
+ * (while (!concedida) Thread.sleep(10)).
+ * <p>
+ * Cada hilo de JMH es un Avión: deja su resguardo y se duerme. Un hilo "Operario" aparte solo lo
+ * concede cuando el avión ya está dormido de verdad, así que cada muestra incluye el despertar
+ * completo. Con SampleTime se ven los percentiles (p50, p99, p99.9).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcesionBenchmark {
+
+    /** AUTORIZACION = resguardo con park/unpark, SLEEP_10 = espera activa con Thread.sleep(10). */
+    @Param({"AUTORIZACION", "SLEEP_10"})
+    public String espera;
+
+    // Resguardos pendientes de conceder y el hilo que los espera
+    private static final class Pendiente {
+        final Authorization resguardo;
+        final Thread avion;
+
+        Pendiente(Authorization resguardo, Thread avion) {
+            this.resguardo = resguardo;
+            this.avion = avion;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Pendiente> pendientes = new ConcurrentLinkedQueue<>();
+    private Thread operario;
+
+    @Setup
+    public void arrancarOperario() {
+        operario = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                Pendiente p = pendientes.poll();
+                if (p == null) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                // Como en la simulación: se concede a un avión que ya está dormido esperando
+                while (!dormido(p.avion) && !Thread.currentThread().isInterrupted()) Thread.onSpinWait();
+                p.resguardo.conceder();
+            }
+        }, "operario");
+        operario.setDaemon(true);
+        operario.start();
+    }
+
+    @TearDown
+    public void pararOperario() throws InterruptedException {
+        operario.interrupt();
+        operario.join();
+    }
+
+    @Benchmark
+    public Authorization concederYDespertar() throws InterruptedException {
+        Authorization resguardo = new Authorization();
+        pendientes.add(new Pendiente(resguardo, Thread.currentThread()));
+        if (espera.equals("SLEEP_10")) {
+            while (!resguardo.isConcedida()) Thread.sleep(10);
+        } else {
+            resguardo.esperar();
+        }
+        return resguardo;
+    }
+
+    private static boolean dormido(Thread hilo) {
+        Thread.State estado = hilo.getState();
+        return estado == Thread.State.WAITING || estado == Thread.State.TIMED_WAITING;
+    }
+}
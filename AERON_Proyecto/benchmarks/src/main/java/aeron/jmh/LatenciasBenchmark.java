@@ -0,0 +1,61 @@
+package aeron.jmh;
+
+import aeron.concurrent.LatencyHistogram;
+import aeron.concurrent.LatencyPhase;
+import aeron.concurrent.RequestType;
+import aeron.concurrent.TowerLatencies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de medir latencias en la Torre: registrar una medida en el histograma compartido
+ * (con varios hilos, -t, compiten por los mismos contadores) y calcular un percentil, como
+ * hace el panel en cada foto. Con el perfilador de GC, registrar() debe dar 0 B/op.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatenciasBenchmark {
+
+    // Latencias de 0 a ~1 s repartidas por muchos cubos
+    private static final long MASCARA = (1L << 30) - 1;
+
+    private TowerLatencies latencias;
+    private LatencyHistogram lleno;
+
+    @Setup
+    public void crearHistogramas() {
+        latencias = new TowerLatencies();
+        lleno = new LatencyHistogram();
+        for (long i = 0; i < 1_000_000; i++) lleno.registrar((i * 0x9E3779B97F4A7C15L) & MASCARA);
+    }
+
+    @State(Scope.Thread)
+    public static class Medidas {
+        long siguiente = System.nanoTime();
+    }
+
+    @Benchmark
+    public void registrar(Medidas m) {
+        m.siguiente += 0x9E3779B97F4A7C15L;
+        latencias.registrar(RequestType.LANDING, LatencyPhase.TOTAL, m.siguiente & MASCARA);
+    }
+
+    @Benchmark
+    public long percentil99() {
+        return lleno.percentil(0.99);
+    }
+}
@@ -0,0 +1,83 @@
+package aeron.jmh;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Request;
+import aeron.concurrent.RequestType;
+import aeron.model.Airplane;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * procesarPeticion() para cada tipo de petición, por separado.
+ * <p>
+ * Antes de cada llamada se procesan (fuera de la medida) las peticiones anteriores del ciclo, para
+ * que el avión esté en el estado correcto: LANDED necesita que antes se le haya concedido el
+ * aterrizaje, TAKEOFF que haya liberado la puerta, etc. Después se completa el ciclo, así que el
+ * avión vuelve a no ocupar nada. Cada hilo tiene su propia Torre.
+ * <p>
+ * NOTA: la preparación por invocación (Level.Invocation) añade algo de ruido en llamadas tan
+ * cortas; para comparar commits interesa la tendencia, y el coste total está en {@link CicloTorreBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcesarPeticionBenchmark {
+
+    private static final String OPERARIO = "OP-001";
+
+    @Param({"LANDING", "LANDED", "BOARDED", "TAKEOFF", "DEPARTED"})
+    public RequestType tipo;
+
+    @Param({"3", "50"})
+    public int pistas;
+
+    @Param({"5", "500"})
+    public int puertas;
+
+    private ControlTowerConcurrent torre;
+    private Airplane avion;
+    private int posicion;
+    private Request peticion;
+
+    @Setup
+    public void crearTorre() {
+        Sumideros.silenciar();
+        torre = new ControlTowerConcurrent(pistas, puertas);
+        avion = new Airplane("IBE-0001", null);
+        posicion = Ciclo.posicion(tipo);
+    }
+
+    @Setup(Level.Invocation)
+    public void prepararPeticion() throws InterruptedException {
+        for (int i = 0; i < posicion; i++) torre.procesarPeticion(Ciclo.peticion(avion, Ciclo.ORDEN[i]), OPERARIO);
+        peticion = Ciclo.peticion(avion, tipo);
+    }
+
+    @TearDown(Level.Invocation)
+    public void completarCiclo() throws InterruptedException {
+        for (int i = posicion + 1; i < Ciclo.ORDEN.length; i++) {
+            torre.procesarPeticion(Ciclo.peticion(avion, Ciclo.ORDEN[i]), OPERARIO);
+        }
+    }
+
+    @Benchmark
+    public void procesar() throws InterruptedException {
+        torre.procesarPeticion(peticion, OPERARIO);
+    }
+}
@@ -0,0 +1,57 @@
+package aeron.jmh;
+
+import aeron.concurrent.FreeIndexPool;
+import aeron.concurrent.IndexPool;
+import aeron.concurrent.RotatingIndexPool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda de recursos libres: sacar una pista/puerta de la bolsa y devolverla.
+ * La bolsa es compartida, así que con varios hilos (-t) compiten por la misma cima o cola.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecursosLibresBenchmark {
+
+    /** PILA = FreeIndexPool (por defecto), TURNOS = RotatingIndexPool (EQUILIBRIO_PISTAS). */
+    @Param({"PILA", "TURNOS"})
+    public String bolsa;
+
+    @Param({"3", "500"})
+    public int recursos;
+
+    private IndexPool libres;
+
+    @Setup
+    public void crearBolsa() {
+        libres = bolsa.equals("PILA") ? new FreeIndexPool(recursos) : new RotatingIndexPool(recursos);
+    }
+
+    @Benchmark
+    public int adquirirYLiberar() {
+        int indice = libres.adquirir();
+        if (indice >= 0) libres.liberar(indice);
+        return indice;
+    }
+
+    @Benchmark
+    public boolean hayLibre() {
+        return !libres.isVacio();
+    }
+}
@@ -0,0 +1,27 @@
+package aeron.jmh;
+
+import aeron.util.AirportJson;
+import aeron.util.JsonPersistenceMode;
+import aeron.util.LogOverflowPolicy;
+import aeron.util.Logger;
+
+/**
+ * Apaga los efectos secundarios de la Torre para que los benchmarks midan el núcleo de coordinación.
+ * <p>
+ * - Logger silencioso: sin consola, JSON ni Sockets (y sin tablas de estado).
+ * - Anillo de logs en modo DESCARTAR: quien registra un evento nunca espera al hilo escritor.
+ * - JSON agrupado con un volcado cada hora: actualizarEstado() solo toca el mapa en memoria.
+ * El tablero mapeado (FlightBoard) no se abre, así que sus actualizaciones no hacen nada.
+ */
+public final class Sumideros {
+
+    private static final long UNA_HORA_MS = 3_600_000L;
+
+    private Sumideros() {}
+
+    public static void silenciar() {
+        Logger.setSilencioso(true);
+        Logger.setPoliticaDesbordamiento(LogOverflowPolicy.DESCARTAR);
+        AirportJson.setModoPersistencia(JsonPersistenceMode.AGRUPADO, UNA_HORA_MS, Integer.MAX_VALUE);
+    }
+}
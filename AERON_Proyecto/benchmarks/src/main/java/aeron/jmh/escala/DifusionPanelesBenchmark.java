@@ -0,0 +1,158 @@
+package aeron.jmh.escala;
+
+import aeron.net.DashboardServer;
+import aeron.net.SlowConsumerPolicy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide cuánto le cuesta a la Torre avisar al DashboardServer (broadcastUpdate) con muchos
+ * Paneles Remotos conectados, la mayoría de ellos "atascados" (nunca leen). El resultado es el
+ * tiempo por aviso de una ráfaga de {@value #AVISOS} avisos seguidos.
+ * <p>
+ * Un panel extra sí lee, para comprobar que los paneles sanos siguen recibiendo datos. Los
+ * contadores son las líneas que ha recibido y los paneles que el servidor ha desconectado, sumados
+ * en todas las ráfagas medidas (JMH suma los contadores de cada iteración). Con DESCONECTAR los
+ * atascados caen ya en la ráfaga de calentamiento, así que las medidas son las de después.
+ * <p>
+ * Cada ráfaga se mide una sola vez (SingleShotTime): la cola de entrada del servidor no tiene
+ * límite, así que un bucle por tiempo acumularía avisos sin enviar y mediría la memoria, no el aviso.
+ * <p>
+ * Uso: java -jar target/benchmarks.jar DifusionPanelesBenchmark -p paneles=5000 -p tickMs=50
+ * (con tickMs &gt; 0 se prueba el modo fusionado por ticks)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class DifusionPanelesBenchmark {
+
+    private static final int PUERTO = 19999;
+    private static final int AVISOS = 200_000;
+    private static final byte[] HELLO = "HELLO\n".getBytes(StandardCharsets.US_ASCII);
+
+    // Tiempo para que el servidor vacíe la ráfaga antes de contar lo recibido
+    private static final long ESPERA_VACIADO_MS = 2_000;
+
+    @Param({"FUSIONAR", "DESCARTAR", "DESCONECTAR"})
+    public SlowConsumerPolicy politica;
+
+    @Param({"1000"})
+    public int paneles;
+
+    @Param({"0"})
+    public long tickMs;
+
+    private DashboardServer server;
+    private final List<SocketChannel> atascados = new ArrayList<>();
+    private Socket sano;
+    private final AtomicLong recibidas = new AtomicLong();
+
+    // Los estados y los IDs ya existen, como en la Torre
+    private final String[] vuelos = new String[1_000];
+    private final String[] estados = {"LANDING_ASSIGNED", "LANDED", "BOARDED", "TAKEOFF_ASSIGNED", "DEPARTED"};
+
+    /** Contadores que JMH muestra junto al tiempo, tomados cuando el servidor ya ha vaciado la ráfaga. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Medidas {
+        public long lineasPanelSano;
+        public long desconectados;
+
+        DifusionPanelesBenchmark banco;
+        long recibidasAntes;
+        int conectadosAntes;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            lineasPanelSano = 0;
+            desconectados = 0;
+            banco = null;
+        }
+
+        @TearDown(Level.Iteration)
+        public void contar() throws InterruptedException {
+            if (banco == null) return;
+            Thread.sleep(ESPERA_VACIADO_MS);
+            lineasPanelSano = banco.recibidas.get() - recibidasAntes;
+            desconectados = conectadosAntes - banco.server.getNumClients();
+        }
+    }
+
+    @Setup
+    public void conectarPaneles() throws IOException, InterruptedException {
+        for (int i = 0; i < vuelos.length; i++) vuelos[i] = String.format("IBE-%03d", i);
+
+        server = new DashboardServer(PUERTO, politica, 1024, tickMs);
+        server.start();
+        Thread.sleep(300);
+
+        // Paneles atascados: se conectan, saludan y no leen nunca
+        for (int i = 0; i < paneles; i++) {
+            SocketChannel canal = SocketChannel.open(new InetSocketAddress("localhost", PUERTO));
+            canal.write(ByteBuffer.wrap(HELLO));
+            atascados.add(canal);
+        }
+
+        // Un panel sano que cuenta las líneas recibidas
+        sano = new Socket("localhost", PUERTO);
+        sano.getOutputStream().write(HELLO);
+        Thread lector = new Thread(() -> {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(sano.getInputStream()))) {
+                while (in.readLine() != null) recibidas.incrementAndGet();
+            } catch (IOException e) {
+                // Fin de la prueba
+            }
+        });
+        lector.setDaemon(true);
+        lector.start();
+
+        while (server.getNumClients() < paneles + 1) Thread.sleep(10);
+    }
+
+    @TearDown
+    public void desconectar() throws IOException {
+        sano.close();
+        for (SocketChannel canal : atascados) canal.close();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(AVISOS)
+    public void rafaga(Medidas m) {
+        m.banco = this;
+        m.recibidasAntes = recibidas.get();
+        m.conectadosAntes = server.getNumClients();
+        for (int i = 0; i < AVISOS; i++) {
+            server.broadcastUpdate(vuelos[i % vuelos.length], estados[i % estados.length]);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package aeron.jmh.escala;
+
+import aeron.concurrent.Authorization;
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Operario;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.StandardSchedulingPolicy;
+import aeron.des.DiscreteEventResult;
+import aeron.des.DiscreteEventSimulation;
+import aeron.des.TrafficModel;
+import aeron.jmh.Sumideros;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+import aeron.util.TowerInterface;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Valida el motor de eventos discretos ({@link DiscreteEventSimulation}) contra el modo con hilos
+ * y mide cuánto más rápido es.
+ * <p>
+ * - validacion: el mismo tráfico (misma semilla) con hilos reales y con el motor. Los contadores
+ *   son la media de las esperas de aterrizaje y despegue y de la estancia, en ms, de cada modo;
+ *   deben salir parecidas (la diferencia es solo el ruido del planificador del sistema).
+ *   Van por separado porque la tabla de JMH muestra los valores negativos como "≈ 0".
+ * - dia: un día completo de tráfico (150.000 vuelos en 24 h virtuales) solo con el motor. El
+ *   contador "aceleracion" es cuántas veces más rápido que el tiempo real.
+ * <p>
+ * Uso: java -jar target/benchmarks.jar EventosDiscretosBenchmark -p avionesDia=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class EventosDiscretosBenchmark {
+
+    private static final int PISTAS = 3;
+    private static final int PUERTAS = 5;
+    private static final int OPERARIOS = 5;
+    private static final long PAUSA_OPERARIO_MS = 50;
+    private static final double PROBABILIDAD_EMERGENCIA = 0.1;
+
+    // Tráfico de la validación: denso para que haya esperas que comparar
+    private static final long INTERVALO_VALIDACION_NS = 150_000_000L;
+
+    private static final long DIA_NS = 24L * 3_600_000_000_000L;
+
+    @Param({"200"})
+    public int avionesValidacion;
+
+    @Param({"150000"})
+    public int avionesDia;
+
+    @Param({"42"})
+    public long semilla;
+
+    /** Contadores de la validación: medias en ms con hilos y con el motor. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Medias {
+        public double aterrizajeHilosMs;
+        public double aterrizajeMotorMs;
+        public double despegueHilosMs;
+        public double despegueMotorMs;
+        public double estanciaHilosMs;
+        public double estanciaMotorMs;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            aterrizajeHilosMs = 0;
+            aterrizajeMotorMs = 0;
+            despegueHilosMs = 0;
+            despegueMotorMs = 0;
+            estanciaHilosMs = 0;
+            estanciaMotorMs = 0;
+        }
+    }
+
+    /** Contadores del día completo. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Dia {
+        public double aceleracion;
+        public long completados;
+        public long perdidas;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            aceleracion = 0;
+            completados = 0;
+            perdidas = 0;
+        }
+    }
+
+    // Espera de un avión desde su petición hasta la concesión
+    private static final class Espera {
+        final Authorization resguardo;
+        final long desde;
+
+        Espera(Authorization resguardo, long desde) {
+            this.resguardo = resguardo;
+            this.desde = desde;
+        }
+    }
+
+    /**
+     * Torre "espía" del modo con hilos: anota las mismas medidas que el motor de eventos.
+     */
+    private static final class TorreMedida implements TowerInterface {
+        private final ControlTowerConcurrent torre;
+        private final Map<Airplane, Long> pideAterrizaje = new ConcurrentHashMap<>();
+        final Queue<Espera> esperasAterrizaje = new ConcurrentLinkedQueue<>();
+        final Queue<Espera> esperasDespegue = new ConcurrentLinkedQueue<>();
+        final Queue<Long> estancias = new ConcurrentLinkedQueue<>();
+
+        TorreMedida(ControlTowerConcurrent torre) {
+            this.torre = torre;
+        }
+
+        @Override
+        public boolean registrarPeticion(Airplane avion) {
+            long ahora = System.nanoTime();
+            switch (avion.getStatus()) {
+                case LANDING_REQUEST:
+                    pideAterrizaje.put(avion, ahora);
+                    esperasAterrizaje.add(new Espera(avion.getAutorizacion(), ahora));
+                    break;
+                case TAKEOFF_REQUESTED:
+                    esperasDespegue.add(new Espera(avion.getAutorizacion(), ahora));
+                    break;
+                case DEPARTED:
+                    Long desde = pideAterrizaje.get(avion);
+                    if (desde != null) estancias.add(ahora - desde);
+                    break;
+                default:
+                    break;
+            }
+            return torre.registrarPeticion(avion);
+        }
+
+        @Override
+        public void liberarPista(Airplane avion) {
+            torre.liberarPista(avion);
+        }
+    }
+
+    @Setup
+    public void silenciar() {
+        Sumideros.silenciar();
+    }
+
+    @Benchmark
+    public DiscreteEventResult validacion(Medias m) throws InterruptedException {
+        TrafficModel trafico = new TrafficModel(avionesValidacion, INTERVALO_VALIDACION_NS,
+                PROBABILIDAD_EMERGENCIA, semilla);
+        DiscreteEventResult hilos = ejecutarConHilos(trafico);
+        DiscreteEventResult eventos = nuevoMotor().ejecutar(trafico);
+        m.aterrizajeHilosMs = hilos.mediaEsperaAterrizajeMs();
+        m.aterrizajeMotorMs = eventos.mediaEsperaAterrizajeMs();
+        m.despegueHilosMs = hilos.mediaEsperaDespegueMs();
+        m.despegueMotorMs = eventos.mediaEsperaDespegueMs();
+        m.estanciaHilosMs = hilos.mediaEstanciaMs();
+        m.estanciaMotorMs = eventos.mediaEstanciaMs();
+        return eventos;
+    }
+
+    @Benchmark
+    public DiscreteEventResult dia(Dia d) {
+        TrafficModel trafico = new TrafficModel(avionesDia, DIA_NS / avionesDia, PROBABILIDAD_EMERGENCIA, semilla);
+        DiscreteEventResult resultado = nuevoMotor().ejecutar(trafico);
+        d.aceleracion = resultado.getDuracionVirtualNs() / (double) Math.max(1, resultado.getDuracionRealNs());
+        d.completados = resultado.getCompletados();
+        d.perdidas = resultado.getPerdidas();
+        return resultado;
+    }
+
+    private static DiscreteEventSimulation nuevoMotor() {
+        return new DiscreteEventSimulation(PISTAS, PUERTAS, OPERARIOS, PAUSA_OPERARIO_MS,
+                StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES);
+    }
+
+    // Mismo tráfico con un hilo por avión y Operarios reales, lanzando cada avión en su instante
+    private static DiscreteEventResult ejecutarConHilos(TrafficModel trafico) throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(PISTAS, PUERTAS,
+                new RingBufferRequestQueue(Math.max(1024, trafico.getAviones() * 2)),
+                StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES);
+        TorreMedida medida = new TorreMedida(torre);
+
+        List<Thread> hilosOperarios = new ArrayList<>();
+        for (int i = 1; i <= OPERARIOS; i++) {
+            Thread t = new Thread(new Operario(torre, i, PAUSA_OPERARIO_MS));
+            t.start();
+            hilosOperarios.add(t);
+        }
+
+        long[] lanzamientos = new long[trafico.getAviones()];
+        long inicio = System.nanoTime();
+        List<Airplane> flota = trafico.crearFlota(medida, inicio, lanzamientos);
+
+        List<Thread> hilos = new ArrayList<>(flota.size());
+        for (int i = 0; i < flota.size(); i++) {
+            long espera = inicio + lanzamientos[i] - System.nanoTime();
+            if (espera > 0) Thread.sleep(espera / 1_000_000L, (int) (espera % 1_000_000L));
+            Thread t = new Thread(flota.get(i));
+            t.start();
+            hilos.add(t);
+        }
+        for (Thread t : hilos) t.join();
+        long duracion = System.nanoTime() - inicio;
+
+        for (Thread t : hilosOperarios) t.interrupt();
+        for (Thread t : hilosOperarios) t.join();
+
+        int completados = 0;
+        for (Airplane a : flota) if (a.getStatus() == FlightStatus.DEPARTED) completados++;
+
+        return new DiscreteEventResult(flota.size(), completados, 0, 0, duracion, duracion,
+                esperas(medida.esperasAterrizaje), esperas(medida.esperasDespegue),
+                medida.estancias.stream().mapToLong(Long::longValue).toArray());
+    }
+
+    private static long[] esperas(Queue<Espera> esperas) {
+        return esperas.stream()
+                .filter(e -> e.resguardo.isConcedida())
+                .mapToLong(e -> Math.max(0, e.resguardo.getInstanteConcesion() - e.desde))
+                .toArray();
+    }
+}
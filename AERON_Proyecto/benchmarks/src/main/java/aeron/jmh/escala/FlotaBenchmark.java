@@ -0,0 +1,140 @@
+package aeron.jmh.escala;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Operario;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.jmh.Sumideros;
+import aeron.main.Simulation;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Escala de la simulación concurrente: miles de aviones a la vez contra una única Torre, con
+ * hilos virtuales o de plataforma. Mide el tiempo de toda la flota y, como contadores aparte,
+ * los aviones vivos a la vez (pico), los completados y la memoria residente máxima (VmHWM, kB).
+ * <p>
+ * Cada modo va en su propia JVM (fork), así que el pico de memoria es comparable. El pico depende
+ * de cuántos aviones coinciden, no del total. Medidas de referencia (Serial GC, 1 CPU):
+ * <pre>
+ *   aviones=100000 virtual                        vivos 100000   RSS 485 MB
+ *   aviones=100000 plataforma                     vivos   5477   RSS 302 MB
+ *   aviones=20000  virtual    pistas=100 puertas=200   vivos  20000   RSS 160 MB
+ *   aviones=20000  plataforma pistas=100 puertas=200   vivos   7435   RSS 295 MB
+ * </pre>
+ * Uso: java -jar target/benchmarks.jar FlotaBenchmark -p aviones=100000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class FlotaBenchmark {
+
+    @Param({"10000"})
+    public int aviones;
+
+    /** virtual = un hilo virtual por avión y Operario, plataforma = hilos del sistema. */
+    @Param({"virtual", "plataforma"})
+    public String hilos;
+
+    @Param({"500"})
+    public int pistas;
+
+    @Param({"1000"})
+    public int puertas;
+
+    @Param({"8"})
+    public int operarios;
+
+    /** Contadores que JMH muestra junto al tiempo. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Medidas {
+        public long vivosMax;
+        public long completados;
+        public long rssMaxKb;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            vivosMax = 0;
+            completados = 0;
+            rssMaxKb = 0;
+        }
+    }
+
+    @Setup
+    public void silenciar() {
+        Sumideros.silenciar();
+    }
+
+    @Benchmark
+    public void flota(Medidas m) throws InterruptedException {
+        boolean virtuales = hilos.equals("virtual");
+
+        // Cola lo bastante grande para que ninguna petición se rechace por saturación
+        ControlTowerConcurrent tower = new ControlTowerConcurrent(pistas, puertas,
+                new RingBufferRequestQueue(Math.max(1024, aviones * 2)));
+        List<Thread> hilosOperarios = new ArrayList<>(operarios);
+        for (int i = 1; i <= operarios; i++) {
+            hilosOperarios.add(Simulation.lanzarHilo(new Operario(tower, i, 0), virtuales));
+        }
+
+        AtomicInteger vivos = new AtomicInteger();
+        AtomicInteger picoVivos = new AtomicInteger();
+        List<Airplane> flota = new ArrayList<>(aviones);
+        List<Thread> hilosAviones = new ArrayList<>(aviones);
+        for (int i = 1; i <= aviones; i++) {
+            Airplane avion = new Airplane(String.format("IBE-%06d", i), tower);
+            flota.add(avion);
+            hilosAviones.add(Simulation.lanzarHilo(() -> {
+                picoVivos.accumulateAndGet(vivos.incrementAndGet(), Math::max);
+                try {
+                    avion.run();
+                } finally {
+                    vivos.decrementAndGet();
+                }
+            }, virtuales));
+        }
+        for (Thread t : hilosAviones) t.join();
+        for (Thread t : hilosOperarios) t.interrupt();
+        for (Thread t : hilosOperarios) t.join();
+
+        for (Airplane a : flota) if (a.getStatus() == FlightStatus.DEPARTED) m.completados++;
+        m.vivosMax = picoVivos.get();
+        m.rssMaxKb = rssMaximoKb();
+    }
+
+    // Pico de memoria residente del proceso en kB (solo Linux; 0 si no hay /proc)
+    private static long rssMaximoKb() {
+        try {
+            for (String linea : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (linea.startsWith("VmHWM:")) return Long.parseLong(linea.replaceAll("[^0-9]", ""));
+            }
+        } catch (IOException e) {
+            // Sistema sin /proc
+        }
+        return 0;
+    }
+}
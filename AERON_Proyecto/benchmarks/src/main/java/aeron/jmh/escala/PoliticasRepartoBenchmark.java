@@ -0,0 +1,235 @@
+package aeron.jmh.escala;
+
+import aeron.concurrent.Authorization;
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Operario;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.StandardSchedulingPolicy;
+import aeron.concurrent.TowerSnapshot;
+import aeron.jmh.Sumideros;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+import aeron.util.TowerInterface;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Compara las políticas de reparto de la Torre ({@link StandardSchedulingPolicy}) con el MISMO
+ * tráfico: con la misma semilla, cada avión tiene los mismos tiempos de vuelo y embarque, las
+ * mismas emergencias y la misma hora de salida programada en todas las pasadas.
+ * <p>
+ * El tiempo es el de toda la flota. Como contadores aparte, la espera de cada petición de
+ * aterrizaje o despegue hasta su concesión (media, p99 y máxima, en ms) y la ocupación media de
+ * Pistas y Puertas (en %, muestreada con {@link ControlTowerConcurrent#capturarEstado}).
+ * <p>
+ * Uso: java -jar target/benchmarks.jar PoliticasRepartoBenchmark -p aviones=200 -p semilla=7
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(1)
+public class PoliticasRepartoBenchmark {
+
+    // Cada cuánto se muestrea la ocupación de los recursos
+    private static final long PERIODO_MUESTREO_MS = 2;
+
+    // Uno de cada N aviones llega con emergencia de combustible
+    private static final int UNO_DE_CADA_EMERGENCIA = 10;
+
+    // Escala programada de cada avión (desde su llegada prevista hasta su hora de salida)
+    private static final long ESCALA_PROGRAMADA_MS = 400;
+
+    /** Sin valores: JMH recorre todas las políticas del enum. */
+    @Param
+    public StandardSchedulingPolicy politica;
+
+    @Param({"100"})
+    public int aviones;
+
+    @Param({"3"})
+    public int pistas;
+
+    @Param({"5"})
+    public int puertas;
+
+    @Param({"4"})
+    public int operarios;
+
+    @Param({"42"})
+    public long semilla;
+
+    /** Contadores que JMH muestra junto al tiempo. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Medidas {
+        public double esperaMediaMs;
+        public double esperaP99Ms;
+        public double esperaMaxMs;
+        public double ocupacionPistas;
+        public double ocupacionPuertas;
+        public long completados;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            esperaMediaMs = 0;
+            esperaP99Ms = 0;
+            esperaMaxMs = 0;
+            ocupacionPistas = 0;
+            ocupacionPuertas = 0;
+            completados = 0;
+        }
+    }
+
+    // Espera de un avión desde su petición hasta la concesión
+    private static final class Espera {
+        final Authorization resguardo;
+        final long desde;
+
+        Espera(Authorization resguardo, long desde) {
+            this.resguardo = resguardo;
+            this.desde = desde;
+        }
+    }
+
+    /**
+     * Torre "espía": anota cuándo pide cada avión aterrizar o despegar y delega en la Torre real.
+     */
+    private static final class TorreMedida implements TowerInterface {
+        private final ControlTowerConcurrent torre;
+        final Queue<Espera> esperas = new ConcurrentLinkedQueue<>();
+
+        TorreMedida(ControlTowerConcurrent torre) {
+            this.torre = torre;
+        }
+
+        @Override
+        public boolean registrarPeticion(Airplane avion) {
+            FlightStatus estado = avion.getStatus();
+            if (estado == FlightStatus.LANDING_REQUEST || estado == FlightStatus.TAKEOFF_REQUESTED) {
+                esperas.add(new Espera(avion.getAutorizacion(), System.nanoTime()));
+            }
+            return torre.registrarPeticion(avion);
+        }
+
+        @Override
+        public void liberarPista(Airplane avion) {
+            torre.liberarPista(avion);
+        }
+    }
+
+    @Setup
+    public void silenciar() {
+        Sumideros.silenciar();
+    }
+
+    @Benchmark
+    public void reparto(Medidas m) throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(pistas, puertas,
+                new RingBufferRequestQueue(Math.max(1024, aviones * 2)), politica);
+        TorreMedida medida = new TorreMedida(torre);
+
+        List<Thread> hilosOperarios = new ArrayList<>(operarios);
+        for (int i = 1; i <= operarios; i++) {
+            Thread t = new Thread(new Operario(torre, i, 0));
+            t.start();
+            hilosOperarios.add(t);
+        }
+
+        // Mismo tráfico en cada pasada: todo sale de la semilla
+        Random trafico = new Random(semilla);
+        long inicio = System.nanoTime();
+        List<Airplane> flota = new ArrayList<>(aviones);
+        for (int i = 1; i <= aviones; i++) {
+            Airplane avion = new Airplane(String.format("IBE-%04d", i), medida, new Random(trafico.nextLong()));
+            if (trafico.nextInt(UNO_DE_CADA_EMERGENCIA) == 0) avion.declararEmergenciaCombustible();
+            avion.setSalidaProgramada(inicio + (avion.getRetrasoLlegadaMs() + ESCALA_PROGRAMADA_MS) * 1_000_000L);
+            flota.add(avion);
+        }
+
+        // Muestreo de la ocupación mientras vuelan los aviones
+        AtomicBoolean fin = new AtomicBoolean();
+        double[] ocupacion = new double[2];
+        Thread muestreo = new Thread(() -> muestrear(torre, fin, ocupacion));
+        muestreo.start();
+
+        List<Thread> hilos = new ArrayList<>(aviones);
+        for (Airplane avion : flota) {
+            Thread t = new Thread(avion);
+            t.start();
+            hilos.add(t);
+        }
+        for (Thread t : hilos) t.join();
+
+        fin.set(true);
+        muestreo.join();
+        for (Thread t : hilosOperarios) t.interrupt();
+        for (Thread t : hilosOperarios) t.join();
+
+        for (Airplane a : flota) if (a.getStatus() == FlightStatus.DEPARTED) m.completados++;
+
+        long[] esperas = medida.esperas.stream()
+                .filter(e -> e.resguardo.isConcedida())
+                .mapToLong(e -> Math.max(0, e.resguardo.getInstanteConcesion() - e.desde))
+                .toArray();
+        Arrays.sort(esperas);
+        m.esperaMediaMs = Arrays.stream(esperas).average().orElse(0) / 1e6;
+        m.esperaP99Ms = percentil(esperas, 0.99);
+        m.esperaMaxMs = esperas.length > 0 ? esperas[esperas.length - 1] / 1e6 : 0;
+        m.ocupacionPistas = ocupacion[0] * 100;
+        m.ocupacionPuertas = ocupacion[1] * 100;
+    }
+
+    // Media de la fracción de pistas y puertas ocupadas en cada muestra
+    private void muestrear(ControlTowerConcurrent torre, AtomicBoolean fin, double[] resultado) {
+        TowerSnapshot foto = torre.nuevaFoto();
+        double sumaPistas = 0, sumaPuertas = 0;
+        long muestras = 0;
+        while (!fin.get()) {
+            torre.capturarEstado(foto);
+            sumaPistas += ocupadas(foto.pistas) / (double) Math.max(1, pistas);
+            sumaPuertas += ocupadas(foto.puertas) / (double) Math.max(1, puertas);
+            muestras++;
+            try {
+                Thread.sleep(PERIODO_MUESTREO_MS);
+            } catch (InterruptedException e) {
+                break;
+            }
+        }
+        resultado[0] = muestras > 0 ? sumaPistas / muestras : 0;
+        resultado[1] = muestras > 0 ? sumaPuertas / muestras : 0;
+    }
+
+    private static int ocupadas(String[] recursos) {
+        int n = 0;
+        for (String avion : recursos) if (avion != null) n++;
+        return n;
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) return 0;
+        int i = (int) Math.ceil(p * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, Math.min(i, ordenadas.length - 1))] / 1e6;
+    }
+}
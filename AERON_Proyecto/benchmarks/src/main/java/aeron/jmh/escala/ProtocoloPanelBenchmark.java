@@ -0,0 +1,216 @@
+package aeron.jmh.escala;
+
+import aeron.model.FlightStatus;
+import aeron.net.BinaryFrameReader;
+import aeron.net.BinaryProtocol;
+import aeron.net.DashboardServer;
+import aeron.net.SlowConsumerPolicy;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el protocolo de texto y el binario del DashboardServer: un panel recibe una ráfaga de
+ * {@value #ACTUALIZACIONES} actualizaciones y medimos el tiempo por actualización hasta que el
+ * panel las ha decodificado todas (con la misma "base de datos" local que el RemotePanel).
+ * <p>
+ * Contadores: bytes por actualización en el socket y memoria reservada por el panel al
+ * decodificar cada una. Se mide una sola ráfaga tras calentar el JIT: JMH suma los contadores de
+ * todas las iteraciones medidas y con varias dejarían de ser "por actualización".
+ * <p>
+ * Uso: java -jar target/benchmarks.jar ProtocoloPanelBenchmark -p vuelos=10000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(1)
+public class ProtocoloPanelBenchmark {
+
+    private static final int PUERTO = 19997;
+    private static final int ACTUALIZACIONES = 500_000;
+
+    @Param({"TEXTO", "BINARIO"})
+    public String protocolo;
+
+    @Param({"1000"})
+    public int vuelos;
+
+    /** Contadores que JMH muestra junto al tiempo. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Medidas {
+        public double bytesPorActualizacion;
+        public double reservadosPorActualizacion;
+
+        @Setup(Level.Iteration)
+        public void limpiar() {
+            bytesPorActualizacion = 0;
+            reservadosPorActualizacion = 0;
+        }
+    }
+
+    private final com.sun.management.ThreadMXBean mx =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private DashboardServer server;
+    private String[] ids;
+    private final FlightStatus[] estados = FlightStatus.values();
+
+    // Panel de la iteración en curso
+    private Socket socket;
+    private ContadorBytes in;
+    private Thread lector;
+    private long bytesFoto;
+    private volatile long reservados;
+
+    @Setup
+    public void arrancarServidor() throws InterruptedException {
+        mx.setThreadAllocatedMemoryEnabled(true);
+
+        // Sin pérdidas: el buffer de cada panel cabe todas las actualizaciones
+        server = new DashboardServer(PUERTO, SlowConsumerPolicy.DESCARTAR, ACTUALIZACIONES, 0);
+        server.start();
+        Thread.sleep(300);
+
+        ids = new String[vuelos];
+        for (int i = 0; i < ids.length; i++) ids[i] = String.format("IBE-%03d", i);
+    }
+
+    @TearDown
+    public void pararServidor() {
+        server.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void conectarPanel() throws IOException, InterruptedException {
+        boolean binario = protocolo.equals("BINARIO");
+        socket = new Socket("localhost", PUERTO);
+        socket.getOutputStream().write(("HELLO" + (binario ? BinaryProtocol.SUFIJO_SALUDO : "") + "\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        in = new ContadorBytes(socket.getInputStream());
+
+        // El panel cuenta los cambios hasta recibirlos todos
+        lector = new Thread(() -> {
+            try {
+                reservados = binario ? leerBinario(in) : leerTexto(in);
+            } catch (IOException e) {
+                System.err.println("Error en el panel: " + e.getMessage());
+            }
+        });
+        lector.start();
+        Thread.sleep(300);
+        bytesFoto = in.bytes;
+    }
+
+    @TearDown(Level.Iteration)
+    public void desconectarPanel() throws IOException {
+        socket.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ACTUALIZACIONES)
+    public void rafaga(Medidas m) throws InterruptedException {
+        for (int i = 0; i < ACTUALIZACIONES; i++) {
+            server.broadcastUpdate(ids[i % ids.length], estados[i % estados.length].name());
+        }
+        lector.join();
+        m.bytesPorActualizacion = (in.bytes - bytesFoto) / (double) ACTUALIZACIONES;
+        m.reservadosPorActualizacion = reservados / (double) ACTUALIZACIONES;
+    }
+
+    // Igual que el RemotePanel: readLine + split y actualizar el mapa
+    private long leerTexto(InputStream in) throws IOException {
+        BufferedReader lector = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Map<String, String> tabla = new HashMap<>();
+        long antes = -1;
+        int recibidas = 0;
+        String linea;
+        while (recibidas < ACTUALIZACIONES && (linea = lector.readLine()) != null) {
+            if (!linea.startsWith("DELTA ")) continue;
+            if (antes < 0) antes = mx.getCurrentThreadAllocatedBytes();
+            String[] partes = linea.split(" ");
+            String[] cambio = partes[2].split(":");
+            tabla.put(cambio[0], cambio[1]);
+            recibidas++;
+        }
+        return mx.getCurrentThreadAllocatedBytes() - antes;
+    }
+
+    private long leerBinario(InputStream in) throws IOException {
+        BinaryFrameReader lector = new BinaryFrameReader(new BufferedInputStream(in));
+        Map<String, String> tabla = new HashMap<>();
+        int[] recibidas = new int[1];
+        long[] antes = {-1};
+        BinaryFrameReader.Receptor receptor = new BinaryFrameReader.Receptor() {
+            @Override
+            public void foto(long secuencia) {
+                tabla.clear();
+            }
+
+            @Override
+            public void estado(String vuelo, String estado) {
+                tabla.put(vuelo, estado);
+            }
+
+            @Override
+            public void cambio(String vuelo, String estado, long secuencia) {
+                if (antes[0] < 0) antes[0] = mx.getCurrentThreadAllocatedBytes();
+                tabla.put(vuelo, estado);
+                recibidas[0]++;
+            }
+        };
+        while (recibidas[0] < ACTUALIZACIONES && lector.leerTrama(receptor)) {
+            // Cada trama trae muchos cambios
+        }
+        return mx.getCurrentThreadAllocatedBytes() - antes[0];
+    }
+
+    // Cuenta los bytes recibidos del socket
+    private static final class ContadorBytes extends InputStream {
+        private final InputStream in;
+        volatile long bytes;
+
+        ContadorBytes(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) bytes++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) bytes += n;
+            return n;
+        }
+    }
+}
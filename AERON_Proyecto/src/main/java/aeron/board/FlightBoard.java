@@ -0,0 +1,122 @@
+package aeron.board;
+
+import aeron.model.FlightStatus;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static aeron.board.FlightBoardLayout.*;
+
+/**
+ * Tablero de vuelos BINARIO en un fichero mapeado en memoria (alternativa a 'aeropuerto.json').
+ * <p>
+ * Cada vuelo tiene una casilla de tamaño fijo que se actualiza EN SU SITIO (ver
+ * {@link FlightBoardLayout}). Un proceso de monitorización en la misma máquina puede mapear el
+ * mismo fichero y leer el estado en vivo sin parsear JSON ni conectarse al DashboardServer
+ * (ver {@link FlightBoardReader}).
+ * <p>
+ * CONCURRENCIA:
+ * Cada casilla lleva un número de secuencia. Para escribir, un hilo la pasa de par a impar con
+ * un CAS (así dos Operarios nunca escriben a la vez la misma casilla), rellena los campos y la
+ * vuelve a dejar par con escritura ordenada (release). Los lectores nunca bloquean al escritor.
+ * <p>
+ * Si no se ha abierto ningún tablero, actualizar() no hace nada.
+ */
+public class FlightBoard {
+
+    private static volatile MappedByteBuffer buffer;
+    private static volatile int capacidad;
+
+    // Vuelo -> índice de su casilla (se asigna en su primera actualización)
+    private static final ConcurrentHashMap<String, Integer> casillaPorVuelo = new ConcurrentHashMap<>();
+
+    /**
+     * Crea (o reinicia) el fichero del tablero y lo mapea en memoria.
+     * @param ruta Fichero del tablero (ej: "aeropuerto.board").
+     * @param numVuelos Número máximo de vuelos que caben en el tablero.
+     */
+    public static void abrir(Path ruta, int numVuelos) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer b = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamañoFichero(numVuelos));
+            b.order(ORDEN);
+            b.putInt(CAB_VERSION, VERSION);
+            b.putInt(CAB_TAM_CASILLA, TAM_CASILLA);
+            b.putInt(CAB_CAPACIDAD, numVuelos);
+            b.putInt(CAB_ASIGNADAS, 0);
+            // La marca mágica, la última: un lector no acepta el fichero hasta que está completo
+            INT.setRelease(b, CAB_MAGIA, MAGIA);
+
+            casillaPorVuelo.clear();
+            capacidad = numVuelos;
+            buffer = b;
+        }
+    }
+
+    /**
+     * Publica el estado actual de un vuelo en su casilla.
+     * @param vuelo ID del vuelo (ej: IBE-001).
+     * @param estado Estado del vuelo.
+     * @param pista Índice de la pista que ocupa (Runway.getIndice()), o -1.
+     * @param puerta Índice de la puerta que ocupa (Gate.getIndice()), o -1.
+     */
+    public static void actualizar(String vuelo, FlightStatus estado, int pista, int puerta) {
+        MappedByteBuffer b = buffer;
+        if (b == null) return;
+
+        int indice = casillaDe(b, vuelo);
+        if (indice < 0) return; // Tablero lleno
+        int base = casilla(indice);
+
+        // 1. Tomamos la casilla: secuencia par -> impar
+        long secuencia;
+        while (true) {
+            secuencia = (long) LONG.getAcquire(b, base + SECUENCIA);
+            if ((secuencia & 1) == 0 && LONG.compareAndSet(b, base + SECUENCIA, secuencia, secuencia + 1)) break;
+            Thread.onSpinWait();
+        }
+
+        // 2. Escribimos los campos
+        b.putLong(base + INSTANTE, System.currentTimeMillis());
+        b.putInt(base + ESTADO, estado.ordinal());
+        b.putInt(base + PISTA, pista);
+        b.putInt(base + PUERTA, puerta);
+        if (secuencia == 0) escribirId(b, base, vuelo); // el ID solo cambia la primera vez
+
+        // 3. Liberamos la casilla: impar -> par, visible después de todos los campos
+        LONG.setRelease(b, base + SECUENCIA, secuencia + 2);
+    }
+
+    /**
+     * Fuerza la escritura a disco de las páginas modificadas (no hace falta para los lectores
+     * de la misma máquina, que ven los cambios directamente en memoria).
+     */
+    public static void volcar() {
+        MappedByteBuffer b = buffer;
+        if (b != null) b.force();
+    }
+
+    // Índice de la casilla del vuelo, asignando una nueva la primera vez (-1 si no caben más)
+    private static int casillaDe(MappedByteBuffer b, String vuelo) {
+        Integer indice = casillaPorVuelo.get(vuelo);
+        if (indice != null) return indice;
+        return casillaPorVuelo.computeIfAbsent(vuelo, v -> {
+            int nueva = (int) INT.getAndAdd(b, CAB_ASIGNADAS, 1);
+            return nueva < capacidad ? nueva : -1;
+        });
+    }
+
+    private static void escribirId(MappedByteBuffer b, int base, String vuelo) {
+        int n = Math.min(vuelo.length(), MAX_ID);
+        for (int i = 0; i < n; i++) {
+            char c = vuelo.charAt(i);
+            b.put(base + ID + i, (byte) (c < 128 ? c : '?'));
+        }
+        b.put(base + LONGITUD_ID, (byte) n);
+    }
+}
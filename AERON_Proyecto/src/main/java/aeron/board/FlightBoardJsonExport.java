@@ -0,0 +1,51 @@
+package aeron.board;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Exporta el tablero binario al mismo formato JSON que 'aeropuerto.json' ("Vuelo": "Estado",
+ * ordenado por ID), para las herramientas que siguen leyendo el fichero de texto.
+ * <p>
+ * Uso: java aeron.board.FlightBoardJsonExport [tablero] [salida.json]
+ * (sin fichero de salida, el JSON se escribe por la salida estándar)
+ */
+public class FlightBoardJsonExport {
+
+    /**
+     * Convierte el contenido actual del tablero en texto JSON.
+     */
+    public static String exportar(FlightBoardReader lector) {
+        Map<String, String> estados = new TreeMap<>();
+        for (FlightBoardReader.Entrada e : lector.leerTodos()) {
+            estados.put(e.vuelo, e.estado != null ? e.estado.name() : "");
+        }
+
+        StringBuilder sb = new StringBuilder("{\n");
+        boolean primero = true;
+        for (Map.Entry<String, String> entry : estados.entrySet()) {
+            if (!primero) sb.append(",\n");
+            sb.append("  \"").append(entry.getKey()).append("\": \"").append(entry.getValue()).append('"');
+            primero = false;
+        }
+        return sb.append("\n}").toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path tablero = Paths.get(args.length > 0 ? args[0] : "aeropuerto.board");
+        String json = exportar(new FlightBoardReader(tablero));
+
+        if (args.length > 1) {
+            Files.write(Paths.get(args[1]), json.getBytes(StandardCharsets.UTF_8));
+        } else {
+            PrintStream salida = new PrintStream(System.out, true, "UTF-8");
+            salida.println(json);
+        }
+    }
+}
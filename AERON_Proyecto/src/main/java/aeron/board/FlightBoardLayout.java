@@ -0,0 +1,71 @@
+package aeron.board;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Formato binario del fichero del tablero de vuelos ('aeropuerto.board').
+ * <p>
+ * CABECERA (64 bytes):
+ * <pre>
+ *   0  int  MAGIA ("AERB")
+ *   4  int  VERSION
+ *   8  int  tamaño de casilla (64)
+ *  12  int  capacidad (número de casillas)
+ *  16  int  casillas asignadas hasta ahora (puede superar la capacidad si se llenó)
+ * </pre>
+ * CASILLA de cada vuelo (64 bytes, tamaño fijo):
+ * <pre>
+ *   0  long secuencia (par = estable, impar = escritura en curso, 0 = nunca escrita)
+ *   8  long instante de la última actualización (ms desde epoch)
+ *  16  int  estado (ordinal de FlightStatus)
+ *  20  int  índice de pista (0 = PIS1...), -1 si no tiene
+ *  24  int  índice de puerta (0 = GATE 1...), -1 si no tiene
+ *  28  byte longitud del ID del vuelo
+ *  29  bytes del ID (ASCII, hasta 35)
+ * </pre>
+ * Todo en little-endian. La secuencia funciona como un "seqlock": el lector repite la
+ * lectura si la secuencia ha cambiado o es impar, así nunca ve una casilla a medio escribir.
+ */
+final class FlightBoardLayout {
+
+    static final int MAGIA = 0x42524541; // "AERB" en little-endian
+    static final int VERSION = 1;
+
+    static final int TAM_CABECERA = 64;
+    static final int TAM_CASILLA = 64;
+
+    // Campos de la cabecera
+    static final int CAB_MAGIA = 0;
+    static final int CAB_VERSION = 4;
+    static final int CAB_TAM_CASILLA = 8;
+    static final int CAB_CAPACIDAD = 12;
+    static final int CAB_ASIGNADAS = 16;
+
+    // Campos de la casilla (desplazamiento dentro de la casilla)
+    static final int SECUENCIA = 0;
+    static final int INSTANTE = 8;
+    static final int ESTADO = 16;
+    static final int PISTA = 20;
+    static final int PUERTA = 24;
+    static final int LONGITUD_ID = 28;
+    static final int ID = 29;
+    static final int MAX_ID = TAM_CASILLA - ID;
+
+    static final ByteOrder ORDEN = ByteOrder.LITTLE_ENDIAN;
+
+    // Accesos atómicos/ordenados sobre el buffer mapeado
+    static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ORDEN);
+    static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ORDEN);
+
+    private FlightBoardLayout() {}
+
+    static int casilla(int indice) {
+        return TAM_CABECERA + indice * TAM_CASILLA;
+    }
+
+    static long tamañoFichero(int capacidad) {
+        return TAM_CABECERA + (long) capacidad * TAM_CASILLA;
+    }
+}
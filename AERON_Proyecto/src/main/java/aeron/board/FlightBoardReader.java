@@ -0,0 +1,149 @@
+package aeron.board;
+
+import aeron.model.FlightStatus;
+
+import java.io.IOException;
+import java.lang.invoke.VarHandle;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static aeron.board.FlightBoardLayout.*;
+
+/**
+ * Lector del tablero binario de vuelos ({@link FlightBoard}).
+ * <p>
+ * Mapea el fichero en solo lectura y lee las casillas directamente de memoria, mientras la
+ * simulación sigue escribiendo. Puede usarse desde otro proceso de la misma máquina.
+ * <p>
+ * Uso: java aeron.board.FlightBoardReader [fichero] [--seguir]
+ * (con --seguir vuelve a pintar el tablero cada segundo)
+ */
+public class FlightBoardReader {
+
+    /**
+     * Copia consistente del estado de un vuelo.
+     */
+    public static class Entrada {
+        public final String vuelo;
+        public final FlightStatus estado;
+        public final int pista;
+        public final int puerta;
+        public final long instante;
+
+        Entrada(String vuelo, FlightStatus estado, int pista, int puerta, long instante) {
+            this.vuelo = vuelo;
+            this.estado = estado;
+            this.pista = pista;
+            this.puerta = puerta;
+            this.instante = instante;
+        }
+
+        /** @return ID de la pista en el formato de la Torre (PIS1...) o "-". */
+        public String getPistaId() { return pista >= 0 ? "PIS" + (pista + 1) : "-"; }
+
+        /** @return ID de la puerta en el formato de la Torre (GATE 1...) o "-". */
+        public String getPuertaId() { return puerta >= 0 ? "GATE " + (puerta + 1) : "-"; }
+    }
+
+    private final MappedByteBuffer buffer;
+    private final int capacidad;
+
+    /**
+     * Abre un tablero existente.
+     * @throws IOException Si el fichero no existe o no es un tablero de AERON.
+     */
+    public FlightBoardReader(Path ruta) throws IOException {
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            this.buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        buffer.order(ORDEN);
+        if (buffer.capacity() < TAM_CABECERA || (int) INT.getAcquire(buffer, CAB_MAGIA) != MAGIA) {
+            throw new IOException("El fichero " + ruta + " no es un tablero de vuelos de AERON");
+        }
+        if (buffer.getInt(CAB_VERSION) != VERSION || buffer.getInt(CAB_TAM_CASILLA) != TAM_CASILLA) {
+            throw new IOException("Versión de tablero no soportada en " + ruta);
+        }
+        this.capacidad = buffer.getInt(CAB_CAPACIDAD);
+    }
+
+    /**
+     * @return Número de casillas con vuelo asignado en este instante.
+     */
+    public int getNumVuelos() {
+        return Math.min((int) INT.getAcquire(buffer, CAB_ASIGNADAS), capacidad);
+    }
+
+    /**
+     * Lee una casilla de forma consistente (si el escritor la está tocando, reintenta).
+     * @return El estado del vuelo, o null si la casilla aún no se ha escrito.
+     */
+    public Entrada leer(int indice) {
+        int base = casilla(indice);
+        byte[] id = new byte[MAX_ID];
+        while (true) {
+            long antes = (long) LONG.getAcquire(buffer, base + SECUENCIA);
+            if (antes == 0) return null;
+            if ((antes & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+            long instante = buffer.getLong(base + INSTANTE);
+            int estado = buffer.getInt(base + ESTADO);
+            int pista = buffer.getInt(base + PISTA);
+            int puerta = buffer.getInt(base + PUERTA);
+            int longitud = Math.min(buffer.get(base + LONGITUD_ID), MAX_ID);
+            buffer.get(base + ID, id, 0, longitud);
+
+            // Que las lecturas anteriores no se reordenen después de volver a mirar la secuencia
+            VarHandle.acquireFence();
+            if ((long) LONG.get(buffer, base + SECUENCIA) != antes) continue;
+
+            FlightStatus[] estados = FlightStatus.values();
+            return new Entrada(new String(id, 0, longitud, StandardCharsets.US_ASCII),
+                    estado >= 0 && estado < estados.length ? estados[estado] : null,
+                    pista, puerta, instante);
+        }
+    }
+
+    /**
+     * @return Todos los vuelos del tablero, en orden de aparición.
+     */
+    public List<Entrada> leerTodos() {
+        int n = getNumVuelos();
+        List<Entrada> vuelos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Entrada e = leer(i);
+            if (e != null) vuelos.add(e);
+        }
+        return vuelos;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path ruta = Paths.get(args.length > 0 && !args[0].startsWith("--") ? args[0] : "aeropuerto.board");
+        boolean seguir = args.length > 0 && args[args.length - 1].equals("--seguir");
+
+        FlightBoardReader lector = new FlightBoardReader(ruta);
+        SimpleDateFormat hora = new SimpleDateFormat("HH:mm:ss.SSS");
+        do {
+            List<Entrada> vuelos = lector.leerTodos();
+            StringBuilder sb = new StringBuilder();
+            if (seguir) sb.append("\033[H\033[2J");
+            sb.append(String.format("%-12s %-18s %-6s %-8s %s%n", "VUELO", "ESTADO", "PISTA", "PUERTA", "ACTUALIZADO"));
+            for (Entrada e : vuelos) {
+                sb.append(String.format("%-12s %-18s %-6s %-8s %s%n", e.vuelo, e.estado,
+                        e.getPistaId(), e.getPuertaId(), hora.format(new Date(e.instante))));
+            }
+            sb.append(vuelos.size()).append(" vuelos");
+            System.out.println(sb);
+            if (seguir) Thread.sleep(1000);
+        } while (seguir);
+    }
+}
@@ -0,0 +1,61 @@
+package aeron.concurrent;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * "Resguardo" de una petición de aterrizaje o despegue.
+ * <p>
+ * FUNCIONAMIENTO:
+ * El avión crea una Authorization antes de pedir permiso y se bloquea en {@link #esperar()}.
+ * Cuando el Operario le asigna recursos, la Torre llama a {@link #conceder()} y el hilo del
+ * avión se despierta al instante (LockSupport.unpark).
+ * <p>
+ * Sustituye a la antigua espera activa (while + Thread.sleep(10)): el avión no consume CPU
+ * mientras espera y no paga hasta 10 ms de retraso en enterarse de la autorización.
+ */
+public class Authorization {
+
+    // true cuando la Torre ha concedido el permiso (volatile: lo escribe el Operario y lo lee el Avión)
+    private volatile boolean concedida;
+
+    // Hilo del avión que está esperando (null si todavía no ha llegado a esperar)
+    private volatile Thread esperando;
+
+    // Instante (System.nanoTime) en el que se concedió el permiso, para medir latencias
+    private volatile long instanteConcesion;
+
+    /**
+     * Marca el permiso como concedido y despierta al avión si ya estaba esperando.
+     * Lo invoca la Torre después de haber actualizado el estado del avión.
+     */
+    public void conceder() {
+        instanteConcesion = System.nanoTime();
+        concedida = true;
+        // Leemos el hilo DESPUÉS de publicar 'concedida': si el avión aún no se había
+        // registrado, verá concedida == true y no llegará a dormirse.
+        Thread hilo = esperando;
+        if (hilo != null) LockSupport.unpark(hilo);
+    }
+
+    /**
+     * Bloquea al hilo llamante hasta que se conceda el permiso.
+     * Si ya estaba concedido (por ejemplo en el modo secuencial) vuelve inmediatamente.
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera.
+     */
+    public void esperar() throws InterruptedException {
+        if (concedida) return;
+        esperando = Thread.currentThread();
+        try {
+            while (!concedida) {
+                LockSupport.park(this);
+                if (Thread.interrupted()) throw new InterruptedException();
+            }
+        } finally {
+            esperando = null;
+        }
+    }
+
+    public boolean isConcedida() { return concedida; }
+
+    public long getInstanteConcesion() { return instanteConcesion; }
+}
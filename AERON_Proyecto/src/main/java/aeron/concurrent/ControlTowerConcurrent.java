@@ -1,5 +1,6 @@
 package aeron.concurrent;
 
+import aeron.board.FlightBoard;
 import aeron.exceptions.ResourceException;
 import aeron.exceptions.SaturationException;
 import aeron.model.Airplane;
@@ -8,13 +9,17 @@ import aeron.util.TowerInterface;
 import aeron.util.Gate;
 import aeron.util.Runway;
 import aeron.util.AirportState;
+import aeron.util.LogEventType;
 import aeron.util.Logger;
+import aeron.util.RealClock;
+import aeron.util.SimulationClock;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Queue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 /**
  * Implementación CONCURRENTE de la Torre de Control.
@@ -23,6 +28,11 @@ import java.util.concurrent.Semaphore;
  * 1. Productor-Consumidor: Los Aviones (hilos) producen peticiones y los Operarios (hilos) las consumen.
  * 2. Gestión de Recursos Limitados: Administramos las Pistas y Puertas para evitar conflictos.
  * 3. Prevención de Interbloqueos (Deadlocks): Usamos listas de espera y asignación atómica.
+ * <p>
+ * SIN MONITOR GLOBAL:
+ * Cada Pista y cada Puerta se reserva con una operación atómica (CAS) sobre su propio estado,
+ * de modo que varios Operarios procesan peticiones EN PARALELO. Los logs, el JSON y los Sockets
+ * se ejecutan fuera de cualquier sección crítica.
  */
 public class ControlTowerConcurrent implements TowerInterface {
 
@@ -31,47 +41,111 @@ public class ControlTowerConcurrent implements TowerInterface {
     private List<Runway> runways;
     private List<Gate> gates;
 
+    // Bolsas de recursos LIBRES (índices en las listas anteriores).
+    // Encontrar una pista o puerta libre es O(1) sin recorrer las listas.
+    // La bolsa de pistas la elige la política de reparto (pila por defecto, por turnos para equilibrar).
+    private IndexPool pistasLibres;
+    private FreeIndexPool puertasLibres;
+
+    // Qué recursos ocupa cada avión (y quién ocupa cada recurso)
+    private final OwnershipIndex ocupacion = new OwnershipIndex();
+
     // Límite artificial de la cola para probar la excepción de saturación (Práctica 6)
     private static final int MAX_COLA = 5;
 
     // --- ESTRUCTURAS DE DATOS DE COORDINACIÓN ---
-    // Cola principal donde los aviones dejan sus solicitudes (Buffer del Productor-Consumidor)
-    private Queue<Request> requestQueue;
+    // Cola principal donde los aviones dejan sus solicitudes (Buffer del Productor-Consumidor).
+    // La sincronización (lock-free o con semáforos) la encapsula la propia cola.
+    private RequestQueue requestQueue;
 
     // Listas de espera secundarias para evitar esperas activas o bloqueos
     // Si un avión no tiene recursos, lo movemos aquí en lugar de bloquear al operario.
-    private List<Request> pendingLandings;
-    private List<Request> pendingTakeoffs;
+    // Ordenadas por prioridad (emergencias, salidas retrasadas) con envejecimiento: ver PendingScheduler.
+    private PendingScheduler pendingLandings;
+    private PendingScheduler pendingTakeoffs;
+
+    // Política de reparto de recursos entre las peticiones que esperan (FIFO, prioridades...)
+    private final SchedulingPolicy politica;
+
+    // Reloj con el que se fecha cada petición (tiempo simulado). Lo heredan los Operarios de la Torre.
+    // En la simulación por eventos discretos es el reloj virtual del motor, para que prioridades
+    // y envejecimiento usen su tiempo.
+    private volatile SimulationClock reloj = RealClock.INSTANCIA;
+
+    // Histogramas de latencia por tipo de petición y tramo (cola, proceso, espera, total)
+    private final TowerLatencies latencias = new TowerLatencies();
+
+    // Contadores para el resumen final (movimientos, ocupación, saturaciones...) y el instante
+    // (reloj de la Torre) en que se ocupó cada Pista y cada Puerta, para sumar su tiempo de uso
+    private final TowerCounters contadores = new TowerCounters();
+    private final AtomicLongArray pistaOcupadaDesde;
+    private final AtomicLongArray puertaOcupadaDesde;
+
+    // Contador de "revisiones de pendientes" solicitadas.
+    // Solo un Operario revisa las listas de espera a la vez; si otro libera un recurso mientras
+    // tanto, incrementa el contador y el que está revisando da otra vuelta por él.
+    private final AtomicInteger revisionesPendientes = new AtomicInteger();
+
+    // Fin de la simulación: quien espera en esperarPeticionesProcesadas duerme en 'vaciado' y los
+    // Operarios solo le avisan si 'esperandoVaciado' > 0 (lo normal es que no haya nadie)
+    private final Object vaciado = new Object();
+    private final AtomicInteger esperandoVaciado = new AtomicInteger();
+
+    // --- VOLCADO DEL ESTADO (tablas ASCII) ---
+    // Versión del estado: cambia con cada petición registrada o procesada (O(1) por evento).
+    // Las tablas solo se dibujan cuando alguien las pide y si la versión ha cambiado.
+    private final AtomicLong versionEstado = new AtomicLong();
+
+    // Último dibujo y su versión, con un buffer reutilizable. Protegidos por 'dibujo'.
+    private final StringBuilder dibujo = new StringBuilder(2048);
+    private long versionDibujada = -1;
+    private String ultimoDibujo = "";
 
-    // --- MECANISMOS DE SINCRONIZACIÓN (SEMAFOROS - TEMA 4) ---
+    /**
+     * Constructor de la Torre.
+     * Por defecto usamos la cola lock-free (buffer circular) con capacidad MAX_COLA.
+     */
+    public ControlTowerConcurrent(int numPistas, int numPuertas) {
+        this(numPistas, numPuertas, new RingBufferRequestQueue(MAX_COLA));
+    }
 
-    // Semáforo contador: Indica cuántos elementos hay en la cola listos para consumir.
-    // Los Operarios se bloquearán aquí si es 0.
-    private Semaphore semaforoPeticiones;
+    /**
+     * Constructor de la Torre con la cola por defecto y una política de reparto concreta.
+     */
+    public ControlTowerConcurrent(int numPistas, int numPuertas, SchedulingPolicy politica) {
+        this(numPistas, numPuertas, new RingBufferRequestQueue(MAX_COLA), politica);
+    }
 
-    // Semáforo binario (Mutex): Garantiza la exclusión mutua para acceder a la cola 'requestQueue'.
-    // Solo un hilo (Avión u Operario) puede tocar la cola a la vez.
-    private Semaphore mutexCola;
+    /**
+     * Constructor de la Torre con una cola de entrada concreta.
+     * Permite comparar la versión lock-free con la clásica de semáforos
+     * (por ejemplo: new SemaphoreRequestQueue(MAX_COLA)).
+     */
+    public ControlTowerConcurrent(int numPistas, int numPuertas, RequestQueue requestQueue) {
+        this(numPistas, numPuertas, requestQueue, StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES);
+    }
 
     /**
-     * Constructor de la Torre.
-     * Inicializamos las listas, colas y los semáforos necesarios.
+     * Constructor de la Torre con una cola de entrada y una política de reparto concretas.
+     * @param politica Cómo se reparten Pistas y Puertas entre las peticiones que esperan.
      */
-    public ControlTowerConcurrent(int numPistas, int numPuertas) {
+    public ControlTowerConcurrent(int numPistas, int numPuertas, RequestQueue requestQueue, SchedulingPolicy politica) {
         this.runways = new ArrayList<>();
         this.gates = new ArrayList<>();
-        this.requestQueue = new LinkedList<>();
-        this.pendingLandings = new LinkedList<>();
-        this.pendingTakeoffs = new LinkedList<>();
-
-        // Inicializamos el semáforo de peticiones a 0 (la cola empieza vacía)
-        this.semaforoPeticiones = new Semaphore(0);
-        // Inicializamos el mutex a 1 (el primero que llegue entra)
-        this.mutexCola = new Semaphore(1);
+        this.requestQueue = requestQueue;
+        this.politica = politica;
+        this.pendingLandings = new PendingScheduler(politica);
+        this.pendingTakeoffs = new PendingScheduler(politica);
 
         // Configuramos los recursos con los nombres estrictos según PDF (PIS1, GATE 1...)
-        for (int i = 1; i <= numPistas; i++) runways.add(new Runway("PIS" + i));
-        for (int i = 1; i <= numPuertas; i++) gates.add(new Gate("GATE " + i));
+        for (int i = 1; i <= numPistas; i++) runways.add(new Runway("PIS" + i, i - 1));
+        for (int i = 1; i <= numPuertas; i++) gates.add(new Gate("GATE " + i, i - 1));
+
+        // Al principio todos los recursos están libres
+        this.pistasLibres = politica.crearBolsaPistas(numPistas);
+        this.puertasLibres = new FreeIndexPool(numPuertas);
+        this.pistaOcupadaDesde = new AtomicLongArray(numPistas);
+        this.puertaOcupadaDesde = new AtomicLongArray(numPuertas);
     }
 
     // --- PARTE DEL PRODUCTOR (AVIÓN) ---
@@ -80,9 +154,11 @@ public class ControlTowerConcurrent implements TowerInterface {
      * Metodo llamado por los hilos 'Airplane'.
      * Actúa como el PRODUCTOR en el patrón Productor-Consumidor.
      * Introduce una nueva solicitud en la cola protegida.
+     * @return false si la cola está llena (saturación): la petición NO se ha registrado y el avión
+     *         tiene que reintentarla, porque nadie más va a completar su resguardo.
      */
     @Override
-    public void registrarPeticion(Airplane avion) {
+    public boolean registrarPeticion(Airplane avion) {
         // Transformamos el estado del avión en un tipo de petición manejable
         RequestType tipo = null;
         switch (avion.getStatus()) {
@@ -91,46 +167,35 @@ public class ControlTowerConcurrent implements TowerInterface {
             case BOARDED:         tipo = RequestType.BOARDED; break;
             case TAKEOFF_REQUESTED: tipo = RequestType.TAKEOFF; break;
             case DEPARTED:        tipo = RequestType.DEPARTED; break;
-            default: return; // Si no es un estado relevante, ignoramos
+            default: return true; // Si no es un estado relevante, ignoramos
         }
 
         try {
-            // 1. Protocolo de entrada: Adquirimos el Mutex para acceso exclusivo a la cola
-            mutexCola.acquire();
-
-            // 2. PRÁCTICA 6: Verificamos si hay Saturación antes de añadir
-            if (requestQueue.size() >= MAX_COLA) {
-                mutexCola.release(); // Importante: soltar el mutex antes de lanzar la excepción para no bloquear el sistema
-
-                // Lanzamos la excepción personalizada de saturación
+            // 1. Insertamos en la cola. Si está llena (PRÁCTICA 6), la cola lo rechaza
+            //    sin bloquear y lanzamos la excepción personalizada de saturación.
+            Request req = new Request(avion, tipo, reloj.ahora());
+            if (!requestQueue.offer(req)) {
+                contadores.peticionRechazada();
                 throw new SaturationException(tipo.toString(), avion.getId());
             }
-
-            // 3. Sección Crítica: Añadimos la petición a la cola
-            Request req = new Request(avion, tipo);
-            requestQueue.add(req);
+            contadores.peticionRegistrada(requestQueue.size());
 
             // Log específico del avión poniendo la petición (Traza del Productor)
             if (tipo == RequestType.LANDING) {
-                Logger.logEventos("Avión [" + avion.getId() + " - LANDING_REQUESTED] Solicitud de aterrizaje en cola");
+                Logger.evento(LogEventType.PETICION_ATERRIZAJE_ENCOLADA, avion.getId());
             } else if (tipo == RequestType.TAKEOFF) {
-                Logger.logEventos("Avión [" + avion.getId() + " - TAKEOFF_REQUESTED] Solicitud de despegue en cola");
+                Logger.evento(LogEventType.PETICION_DESPEGUE_ENCOLADA, avion.getId());
             }
 
-            // 4. Protocolo de salida: Liberamos el Mutex
-            mutexCola.release();
-
-            // Actualizamos la visualización del estado del aeropuerto en el log
-            imprimirEstado();
+            // El estado del aeropuerto ha cambiado (se dibujará cuando alguien lo pida)
+            estadoCambiado();
+            return true;
 
-            // 5. Señalizamos al Consumidor (Operario) que hay una nueva petición disponible
-            semaforoPeticiones.release();
-
-        } catch (InterruptedException e) {
-            e.printStackTrace();
         } catch (SaturationException e) {
             // Capturamos la excepción de saturación para registrarla en el log de la Torre
+            // y avisamos al avión para que reintente (ver Airplane.notificarTorre)
             Logger.logTorre(e.getMessage());
+            return false;
         }
     }
 
@@ -142,63 +207,75 @@ public class ControlTowerConcurrent implements TowerInterface {
      * Si la cola está vacía, el hilo se bloquea aquí hasta que llegue algo.
      */
     public Request obtenerSiguientePeticion() throws InterruptedException {
-        // 1. Esperamos (acquire) a que el semáforo contador > 0. Si es 0, nos dormimos.
-        semaforoPeticiones.acquire();
-
-        // 2. Adquirimos exclusión mutua para sacar el elemento de la cola sin conflictos
-        mutexCola.acquire();
-        Request req = requestQueue.poll();
-        mutexCola.release();
-
+        // La cola se encarga de dormir al Operario (semáforo o park) mientras esté vacía
+        Request req = requestQueue.take();
+        req.desencolada = reloj.ahora();
+        latencias.registrar(req.type, LatencyPhase.COLA, req.desencolada - req.instante);
         return req;
     }
 
-    // --- MONITOR (TEMA 5) ---
+    // --- LÓGICA DE NEGOCIO (SIN MONITOR GLOBAL) ---
 
     /**
      * Metodo central de lógica de negocio.
-     * Al ser SYNCHRONIZED, convertimos la Torre en un MONITOR para esta operación.
-     * Garantizamos que solo un Operario esté modificando el estado de las pistas/puertas a la vez.
-     * Esto previene condiciones de carrera críticas en la asignación de recursos.
+     * Ya no es un monitor: varios Operarios pueden ejecutarlo a la vez. La exclusión mutua sobre
+     * cada Pista/Puerta la da su reserva atómica (CAS), y las listas de espera son colas concurrentes.
      */
-    public synchronized void procesarPeticion(Request req, String operarioId) throws InterruptedException {
+    public void procesarPeticion(Request req, String operarioId) throws InterruptedException {
         Airplane avion = req.plane;
-        String avionEstado = "Avión [" + avion.getId() + " - " + req.type + "]"; // Formato log
+        String tipo = req.type.name(); // Formato log: "Avión [ID - TIPO]"
 
-        Logger.logTorre("Operario [" + operarioId + "] ha cogido una petición de tipo " + req.type + " para " + avionEstado);
-        Logger.logTorre("Procesando petición de " + req.type + " de " + avionEstado);
+        Logger.eventoOperario(LogEventType.OPERARIO_COGE_PETICION, operarioId, avion.getId(), tipo);
+        Logger.evento(LogEventType.PROCESANDO_PETICION, avion.getId(), tipo);
 
         switch (req.type) {
             case LANDING:
                 // CASO CRÍTICO: Problema de los Filósofos / Asignación Múltiple
                 // Necesitamos DOS recursos (Pista Y Puerta) a la vez.
-                // Comprobamos ambos atómicamente para evitar Deadlocks (Abrazo mortal).
-                if (getFreeRunway() != null && getFreeGate() != null) {
-                    asignarAterrizaje(req, operarioId);
+                // Si ya hay aterrizajes esperando, nos ponemos detrás para no colarnos.
+                Runway pistaAterrizaje = pendingLandings.isEmpty() ? reservarPista() : null;
+                Gate puertaAterrizaje = pistaAterrizaje != null ? reservarPuerta() : null;
+                if (pistaAterrizaje != null && puertaAterrizaje == null) {
+                    // Sin retención y espera: si no hay Puerta devolvemos la Pista (evita Deadlocks)
+                    devolverPista(pistaAterrizaje);
+                    pistaAterrizaje = null;
+                }
+
+                if (pistaAterrizaje != null) {
+                    asignarAterrizaje(req, pistaAterrizaje, puertaAterrizaje, operarioId);
                 } else {
                     // Si falta alguno, NO cogemos ninguno y posponemos la petición.
                     try {
                         // PRÁCTICA 6: Lanzamos excepción informativa de falta de recursos
-                        String recursoFaltante = (getFreeRunway() == null) ? "Pista" : "Puerta";
+                        String recursoFaltante = hayPistaLibre() ? "Puerta" : "Pista";
                         throw new ResourceException(recursoFaltante, avion.getId());
                     } catch (ResourceException e) {
                         // Registramos el error en el log
                         Logger.logTorre(e.getMessage());
                     }
                     // Guardamos la petición en una lista de espera interna
+                    req.pospuesta = reloj.ahora();
                     pendingLandings.add(req);
-                    Logger.logTorre("Petición POSPUESTA por falta de recursos.");
+                    contadores.aterrizajePospuesto(pendingLandings.size());
+                    Logger.evento(LogEventType.ATERRIZAJE_POSPUESTO, avion.getId());
+
+                    // Otro Operario puede haber liberado recursos mientras la encolábamos
+                    revisarPendientes(operarioId);
                 }
                 break;
 
             case LANDED:
-                // El avión ha aterrizado, liberamos la Pista (pero mantiene la Puerta)
-                liberarPistaDeAvion(avion);
-                Logger.logTorre("Pista [" + avion.getId() + "] (simulado) se libera");
-                Logger.logTorre("Operario [" + operarioId + "] ha completado la petición de tipo LANDED para Avión [" + avion.getId() + " - LANDED]");
+                // El avión ha aterrizado, liberamos SU Pista (pero mantiene la Puerta)
+                Runway pistaLiberada = liberarPistaAterrizaje(avion);
+                Logger.eventoRecursos(LogEventType.PISTA_LIBERADA_ATERRIZAJE, avion.getId(),
+                        pistaLiberada != null ? pistaLiberada.getId() : null, null);
+                Logger.eventoOperario(LogEventType.OPERARIO_COMPLETA_PETICION, operarioId, avion.getId(), tipo);
 
                 // Actualizamos Panel, JSON y Sockets
                 Logger.updatePanel(avion.getId(), "LANDED", "LIBRE", "OCUPADA");
+                Gate puertaEmbarque = ocupacion.getPuertaDe(avion.getId());
+                FlightBoard.actualizar(avion.getId(), FlightStatus.LANDED, -1,
+                        puertaEmbarque != null ? puertaEmbarque.getIndice() : -1);
 
                 // Al liberar un recurso, comprobamos si alguien en la lista de espera lo necesita
                 revisarPendientes(operarioId);
@@ -207,9 +284,10 @@ public class ControlTowerConcurrent implements TowerInterface {
             case BOARDED:
                 // El embarque terminó, liberamos la Puerta
                 liberarPuertaDeAvion(avion);
-                Logger.logTorre("Puerta liberada por " + avion.getId());
-                Logger.logTorre("Operario [" + operarioId + "] ha completado la petición de tipo BOARDED para Avión [" + avion.getId() + " - BOARDED]");
+                Logger.evento(LogEventType.PUERTA_LIBERADA, avion.getId());
+                Logger.eventoOperario(LogEventType.OPERARIO_COMPLETA_PETICION, operarioId, avion.getId(), tipo);
                 Logger.updatePanel(avion.getId(), "BOARDED", "-", "LIBRE");
+                FlightBoard.actualizar(avion.getId(), FlightStatus.BOARDED, -1, -1);
 
                 // Comprobamos si algún aterrizaje pendiente puede entrar ahora
                 revisarPendientes(operarioId);
@@ -217,134 +295,449 @@ public class ControlTowerConcurrent implements TowerInterface {
 
             case TAKEOFF:
                 // Solo necesitamos Pista libre
-                if (getFreeRunway() != null) {
-                    asignarDespegue(req, operarioId);
+                Runway pistaDespegue = pendingTakeoffs.isEmpty() ? reservarPista() : null;
+                if (pistaDespegue != null) {
+                    asignarDespegue(req, pistaDespegue, operarioId);
                 } else {
                     // Si no hay pista, a la lista de espera de despegues
+                    req.pospuesta = reloj.ahora();
                     pendingTakeoffs.add(req);
-                    Logger.logTorre("Despegue POSPUESTO (Pistas llenas).");
+                    contadores.despeguePospuesto(pendingTakeoffs.size());
+                    Logger.evento(LogEventType.DESPEGUE_POSPUESTO, avion.getId());
+                    revisarPendientes(operarioId);
                 }
                 break;
 
             case DEPARTED:
                 // El avión se ha ido, liberamos la Pista de despegue
-                liberarPistaDeAvion(avion);
-                Logger.logTorre("Pista liberada. Avión [" + avion.getId() + " - DEPARTED] fuera del sistema.");
-                Logger.logTorre("Operario [" + operarioId + "] ha completado la petición de tipo DEPARTED para Avión [" + avion.getId() + " - DEPARTED]");
+                liberarPistaDespegue(avion);
+                Logger.evento(LogEventType.PISTA_LIBERADA_DESPEGUE, avion.getId());
+                Logger.eventoOperario(LogEventType.OPERARIO_COMPLETA_PETICION, operarioId, avion.getId(), tipo);
                 Logger.updatePanel(avion.getId(), "DEPARTED", "LIBRE", "-");
+                FlightBoard.actualizar(avion.getId(), FlightStatus.DEPARTED, -1, -1);
 
                 // Al liberar pista, revisamos si alguien quiere aterrizar o despegar
                 revisarPendientes(operarioId);
                 break;
         }
-        // Mostramos el estado actualizado de colas y recursos
-        imprimirEstado();
+        // El estado de colas y recursos ha cambiado
+        estadoCambiado();
+        completar(req);
+    }
+
+    // Cierra los tramos de la petición que termina con este Operario. Los avisos (LANDED,
+    // BOARDED, DEPARTED) acaban aquí; LANDING y TAKEOFF acaban al concederse (ver conceder).
+    private void completar(Request req) {
+        contadores.peticionProcesada();
+        if (esperandoVaciado.get() > 0) avisarSiNoQuedanPeticiones();
+        req.completada = reloj.ahora();
+        // Una petición procesada sin pasar por la cola (pruebas) no tiene tramo de proceso
+        if (req.desencolada != Request.SIN_INSTANTE) {
+            latencias.registrar(req.type, LatencyPhase.PROCESO, req.completada - req.desencolada);
+        }
+        if (req.type != RequestType.LANDING && req.type != RequestType.TAKEOFF) {
+            latencias.registrar(req.type, LatencyPhase.TOTAL, req.completada - req.instante);
+        }
+    }
+
+    // Anota la concesión de un aterrizaje o despegue y despierta al avión
+    private void conceder(Request req) {
+        req.concedida = reloj.ahora();
+        if (req.pospuesta != Request.SIN_INSTANTE) {
+            latencias.registrar(req.type, LatencyPhase.ESPERA, req.concedida - req.pospuesta);
+        }
+        latencias.registrar(req.type, LatencyPhase.TOTAL, req.concedida - req.instante);
+        if (req.type == RequestType.LANDING) contadores.aterrizajeConcedido();
+        else contadores.despegueConcedido();
+        req.autorizacion.conceder();
     }
 
     // --- MÉTODOS AUXILIARES Y GESTIÓN DE COLAS DE ESPERA ---
 
     /**
      * Revisa las listas de espera (pendingLandings/pendingTakeoffs).
-     * Se llama siempre que se libera un recurso (Pista o Puerta).
+     * Se llama siempre que se libera un recurso (Pista o Puerta) o se pospone una petición.
      * Esto evita la inanición (Starvation) de los procesos en espera.
+     * <p>
+     * En cada pasada se conceden TODAS las peticiones que quepan en los recursos libres, en el
+     * orden de prioridad de cada lista (no solo la primera de cada una). Entre aterrizajes y
+     * despegues decide la política: se intenta primero el preferido y, si no cabe, el otro.
+     * <p>
+     * CONCURRENCIA:
+     * Solo un Operario a la vez recorre las listas (el que pasa el contador de 0 a 1). Si otro
+     * Operario libera algo mientras tanto, solo incrementa el contador y sigue con su trabajo:
+     * el que está revisando repite la pasada, así que ningún aviso se pierde y nadie se bloquea.
+     * Las reservas se hacen aquí; los logs y el desbloqueo de los aviones, al terminar.
      */
     private void revisarPendientes(String operarioId) {
-        // Prioridad 1: Aterrizajes (Si hay Pista Y Puerta)
-        if (!pendingLandings.isEmpty()) {
-            if (getFreeRunway() != null && getFreeGate() != null) {
-                Request req = pendingLandings.remove(0);
-                Logger.logTorre("Recuperando petición pendiente de " + req.plane.getId());
-                asignarAterrizaje(req, operarioId);
+        if (revisionesPendientes.getAndIncrement() != 0) return;
+
+        // La lista solo se crea si de verdad hay algo que conceder (lo habitual es que no)
+        List<Runnable> concesiones = null;
+        int avisos = 1;
+        do {
+            while (true) {
+                Request aterrizaje = pendingLandings.peek();
+                Request despegue = pendingTakeoffs.peek();
+                if (aterrizaje == null && despegue == null) break;
+                boolean aterrizajePrimero = despegue == null
+                        || (aterrizaje != null && politica.aterrizajeAntes(aterrizaje, despegue));
+
+                Runnable concesion = aterrizajePrimero ? concederAterrizaje(operarioId) : concederDespegue(operarioId);
+                if (concesion == null) {
+                    concesion = aterrizajePrimero ? concederDespegue(operarioId) : concederAterrizaje(operarioId);
+                }
+                // Ni uno ni otro caben en los recursos libres
+                if (concesion == null) break;
+                if (concesiones == null) concesiones = new ArrayList<>();
+                concesiones.add(concesion);
             }
+            avisos = revisionesPendientes.addAndGet(-avisos);
+        } while (avisos != 0);
+
+        // Efectos secundarios (logs, panel, desbloqueo de aviones) fuera de la revisión
+        if (concesiones == null) return;
+        for (Runnable concesion : concesiones) concesion.run();
+    }
+
+    // Reserva Pista y Puerta para el primer aterrizaje en espera.
+    // Devuelve la concesión pendiente de comunicar, o null si no hay aterrizajes o recursos.
+    private Runnable concederAterrizaje(String operarioId) {
+        if (pendingLandings.isEmpty()) return null;
+        Runway r = reservarPista();
+        if (r == null) return null;
+        Gate g = reservarPuerta();
+        if (g == null) {
+            devolverPista(r);
+            return null;
         }
-        // Prioridad 2: Despegues (Si hay Pista)
-        if (!pendingTakeoffs.isEmpty() && getFreeRunway() != null) {
-            Request req = pendingTakeoffs.remove(0);
-            Logger.logTorre("Recuperando despegue pendiente de " + req.plane.getId());
-            asignarDespegue(req, operarioId);
-        }
+        Request req = pendingLandings.poll();
+        return () -> {
+            Logger.evento(LogEventType.RECUPERA_ATERRIZAJE, req.plane.getId());
+            asignarAterrizaje(req, r, g, operarioId);
+        };
+    }
+
+    // Reserva Pista para el primer despegue en espera (o null si no hay despegues o pistas)
+    private Runnable concederDespegue(String operarioId) {
+        if (pendingTakeoffs.isEmpty()) return null;
+        Runway r = reservarPista();
+        if (r == null) return null;
+        Request req = pendingTakeoffs.poll();
+        return () -> {
+            Logger.evento(LogEventType.RECUPERA_DESPEGUE, req.plane.getId());
+            asignarDespegue(req, r, operarioId);
+        };
     }
 
     /**
      * Lógica para hacer efectiva la asignación de aterrizaje.
-     * Marca recursos como ocupados y actualiza el estado del avión para desbloquearlo.
+     * Los recursos ya vienen reservados; aquí se comunican al avión y se le desbloquea.
      */
-    private void asignarAterrizaje(Request req, String operarioId) {
-        Runway r = getFreeRunway();
-        Gate g = getFreeGate();
-        r.setLibre(false); // Ocupamos recursos
-        g.setLibre(false);
+    private void asignarAterrizaje(Request req, Runway r, Gate g, String operarioId) {
+        // Anotamos la ocupación ANTES de desbloquear al avión (su LANDED la necesitará)
+        try {
+            ocupacion.ocuparPistaAterrizaje(req.plane.getId(), r);
+            try {
+                ocupacion.ocuparPuerta(req.plane.getId(), g);
+            } catch (IllegalStateException e) {
+                ocupacion.soltarPistaAterrizaje(req.plane.getId());
+                throw e;
+            }
+        } catch (IllegalStateException e) {
+            rechazarAsignacion(req, e, pendingLandings);
+            devolverPista(r);
+            devolverPuerta(g);
+            return;
+        }
 
         // Comunicamos al avión qué recursos le han tocado (para sus logs)
         req.plane.setAssignedRunwayId(r.getId());
         req.plane.setAssignedGateId(g.getId());
 
         // Logs requeridos por el enunciado
-        Logger.logTorre("Pista [" + r.getId() + "] pasa a estar ocupada por el avión Avión [" + req.plane.getId() + " - IN_FLIGHT]");
-        Logger.logTorre("Puerta [" + g.getId() + "] pasa a estar ocupada por el avión Avión [" + req.plane.getId() + " - IN_FLIGHT]");
-        Logger.logTorre("Avión [" + req.plane.getId() + " - LANDING_REQUEST] autorizado para aterrizar en Pista [" + r.getId() + "]");
-        Logger.logTorre("Avión [" + req.plane.getId() + " - LANDING_REQUEST] autorizado para embarcar en Puerta [" + g.getId() + "]");
+        String vuelo = req.plane.getId();
+        Logger.eventoRecursos(LogEventType.PISTA_OCUPADA_ATERRIZAJE, vuelo, r.getId(), g.getId());
+        Logger.eventoRecursos(LogEventType.PUERTA_OCUPADA, vuelo, r.getId(), g.getId());
+        Logger.eventoRecursos(LogEventType.AUTORIZADO_ATERRIZAR, vuelo, r.getId(), g.getId());
+        Logger.eventoRecursos(LogEventType.AUTORIZADO_EMBARCAR, vuelo, r.getId(), g.getId());
 
         // CAMBIO DE ESTADO CRÍTICO:
-        // Al poner LANDING_ASSIGNED, el bucle 'while' del hilo del Avión se rompe y el avión continúa.
+        // Ponemos LANDING_ASSIGNED y completamos el resguardo: el hilo del Avión se despierta y continúa.
         req.plane.setStatus(FlightStatus.LANDING_ASSIGNED);
+        conceder(req);
 
-        Logger.logTorre("Operario [" + operarioId + "] ha completado la petición de tipo LANDING para Avión [" + req.plane.getId() + " - LANDING_ASSIGNED]");
-        Logger.updatePanel(req.plane.getId(), "LANDING_ASSIGNED", r.getId(), g.getId());
+        Logger.eventoOperario(LogEventType.OPERARIO_COMPLETA_ATERRIZAJE, operarioId, vuelo, null);
+        Logger.updatePanel(vuelo, "LANDING_ASSIGNED", r.getId(), g.getId());
+        FlightBoard.actualizar(vuelo, FlightStatus.LANDING_ASSIGNED, r.getIndice(), g.getIndice());
     }
 
     /**
-     * Lógica para hacer efectiva la asignación de despegue.
+     * Lógica para hacer efectiva la asignación de despegue (la Pista ya viene reservada).
      */
-    private void asignarDespegue(Request req, String operarioId) {
-        Runway r = getFreeRunway();
-        r.setLibre(false);
-
+    private void asignarDespegue(Request req, Runway r, String operarioId) {
+        try {
+            ocupacion.ocuparPistaDespegue(req.plane.getId(), r);
+        } catch (IllegalStateException e) {
+            rechazarAsignacion(req, e, pendingTakeoffs);
+            devolverPista(r);
+            return;
+        }
         req.plane.setAssignedRunwayId(r.getId());
 
-        Logger.logTorre("Pista [" + r.getId() + "] pasa a estar ocupada por el avión Avión [" + req.plane.getId() + " - TAKEOFF_REQUESTED]");
-        Logger.logTorre("Avión [" + req.plane.getId() + " - TAKEOFF_REQUESTED] autorizado para despegar en Pista [" + r.getId() + "]");
+        String vuelo = req.plane.getId();
+        Logger.eventoRecursos(LogEventType.PISTA_OCUPADA_DESPEGUE, vuelo, r.getId(), null);
+        Logger.eventoRecursos(LogEventType.AUTORIZADO_DESPEGAR, vuelo, r.getId(), null);
 
         // Desbloqueamos al avión
         req.plane.setStatus(FlightStatus.TAKEOFF_ASSIGNED);
+        conceder(req);
+
+        Logger.eventoOperario(LogEventType.OPERARIO_COMPLETA_DESPEGUE, operarioId, vuelo, null);
+        Logger.updatePanel(vuelo, "TAKEOFF_ASSIGNED", r.getId(), "-");
+        FlightBoard.actualizar(vuelo, FlightStatus.TAKEOFF_ASSIGNED, r.getIndice(), -1);
+    }
+
+    /**
+     * El registro de ocupación no admite la asignación (el avión ya tiene un recurso de ese tipo:
+     * un error de la Torre). En lugar de dejar que la excepción mate al Operario, se anota en el
+     * log y la petición vuelve a la lista de espera sin despertar al avión; quien llama devuelve
+     * los recursos reservados. Se volverá a intentar cuando se libere algo.
+     */
+    private void rechazarAsignacion(Request req, IllegalStateException e, PendingScheduler pendientes) {
+        Logger.logTorre("Asignación rechazada para " + req.plane.getId() + ": " + e.getMessage());
+        if (req.pospuesta == Request.SIN_INSTANTE) req.pospuesta = reloj.ahora();
+        pendientes.add(req);
+    }
+
+    // Reservas de recursos libres en O(1): sacamos un índice de la bolsa y marcamos el recurso.
+    // Devuelven el recurso YA ocupado por nosotros, o null si no queda ninguno libre.
+    private Runway reservarPista() {
+        int i = pistasLibres.adquirir();
+        if (i < 0) return null;
+        Runway r = runways.get(i);
+        r.intentarOcupar();
+        pistaOcupadaDesde.set(i, reloj.ahora());
+        return r;
+    }
+
+    private Gate reservarPuerta() {
+        int i = puertasLibres.adquirir();
+        if (i < 0) return null;
+        Gate g = gates.get(i);
+        g.intentarOcupar();
+        puertaOcupadaDesde.set(i, reloj.ahora());
+        return g;
+    }
+
+    private boolean hayPistaLibre() {
+        return !pistasLibres.isVacio();
+    }
 
-        Logger.logTorre("Operario [" + operarioId + "] ha completado la petición de tipo TAKEOFF para Avión [" + req.plane.getId() + " - TAKEOFF_ASSIGNED]");
-        Logger.updatePanel(req.plane.getId(), "TAKEOFF_ASSIGNED", r.getId(), "-");
+    // Devuelve a la bolsa una pista reservada que al final no se ha usado
+    private void devolverPista(Runway r) {
+        r.liberar();
+        contadores.pistaOcupada(reloj.ahora() - pistaOcupadaDesde.get(r.getIndice()));
+        pistasLibres.liberar(r.getIndice());
     }
 
-    // Buscadores simples de recursos libres
-    private Runway getFreeRunway() {
-        for (Runway r : runways) if (r.isAvailable()) return r;
-        return null;
+    private void devolverPuerta(Gate g) {
+        g.liberar();
+        contadores.puertaOcupada(reloj.ahora() - puertaOcupadaDesde.get(g.getIndice()));
+        puertasLibres.liberar(g.getIndice());
     }
 
-    private Gate getFreeGate() {
-        for (Gate g : gates) if (!g.isOccupied()) return g;
-        return null;
+    // Métodos para liberar recursos cuando el avión termina una fase.
+    // Gracias al registro de ocupación liberamos EXACTAMENTE el recurso de ese avión, en O(1).
+    // LANDED suelta la pista de aterrizaje y DEPARTED la de despegue: aunque el LANDED se procese
+    // después de conceder el despegue, cada aviso libera la suya.
+    private Runway liberarPistaAterrizaje(Airplane a) {
+        return liberarPistaOcupada(ocupacion.soltarPistaAterrizaje(a.getId()));
     }
 
-    // Métodos para liberar recursos cuando el avión termina una fase
-    private void liberarPistaDeAvion(Airplane a) {
-        for(Runway r : runways) { if (!r.isAvailable()) { r.setLibre(true); break; } }
+    private Runway liberarPistaDespegue(Airplane a) {
+        return liberarPistaOcupada(ocupacion.soltarPistaDespegue(a.getId()));
     }
 
-    private void liberarPuertaDeAvion(Airplane a) {
-        for(Gate g : gates) { if (g.isOccupied()) { g.setLibre(true); break; } }
+    private Runway liberarPistaOcupada(Runway r) {
+        if (r != null && r.liberar()) {
+            contadores.pistaOcupada(reloj.ahora() - pistaOcupadaDesde.get(r.getIndice()));
+            pistasLibres.liberar(r.getIndice());
+        }
+        return r;
+    }
+
+    private Gate liberarPuertaDeAvion(Airplane a) {
+        Gate g = ocupacion.soltarPuerta(a.getId());
+        if (g != null && g.liberar()) {
+            contadores.puertaOcupada(reloj.ahora() - puertaOcupadaDesde.get(g.getIndice()));
+            puertasLibres.liberar(g.getIndice());
+        }
+        return g;
+    }
+
+    /**
+     * Cambia el reloj con el que se fechan las peticiones (por defecto, tiempo real).
+     * Debe llamarse antes de registrar la primera petición y de crear los Operarios.
+     * @param reloj Reloj de la simulación (acelerado, con semilla, el virtual de aeron.des...).
+     */
+    public void setReloj(SimulationClock reloj) {
+        this.reloj = reloj;
+    }
+
+    public SimulationClock getReloj() {
+        return reloj;
+    }
+
+    /**
+     * Latencias de las peticiones (percentiles por tipo y tramo). Se pueden leer en cualquier
+     * momento sin bloquear a los Operarios.
+     */
+    public TowerLatencies getLatencias() {
+        return latencias;
+    }
+
+    /**
+     * Contadores de actividad (movimientos, ocupación, saturaciones, máximos de las colas) para
+     * el resumen final. Se pueden leer en cualquier momento sin bloquear a los Operarios.
+     */
+    public TowerCounters getContadores() {
+        return contadores;
     }
 
     /**
-     * Genera la representación visual del estado actual (Tablas ASCII).
-     * Protegemos la lectura de la cola con el Mutex para no leer mientras alguien escribe.
+     * Espera a que los Operarios terminen todas las peticiones aceptadas (por ejemplo, los
+     * últimos DEPARTED cuando los aviones ya han acabado), para que el resumen las cuente.
+     * @param maxMs Espera máxima en milisegundos reales.
+     * @return true si no queda ninguna petición por procesar.
      */
-    private void imprimirEstado() {
-        Logger.log(AirportState.showResourcesStatus(runways, gates));
+    public boolean esperarPeticionesProcesadas(long maxMs) throws InterruptedException {
+        long limite = System.nanoTime() + maxMs * 1_000_000L;
+        // Primero nos anunciamos y después comprobamos: el Operario que procese la última
+        // petición verá el anuncio, o nosotros veremos su petición ya contada
+        esperandoVaciado.incrementAndGet();
         try {
-            mutexCola.acquire();
-            // Hacemos una copia de la cola para dibujarla sin bloquear demasiado tiempo
-            List<Request> listaParaDibujar = new ArrayList<>(requestQueue);
-            Logger.log(AirportState.showRequestQueue(listaParaDibujar));
-            mutexCola.release();
-        } catch(Exception e){}
+            synchronized (vaciado) {
+                while (quedanPeticiones()) {
+                    long restante = limite - System.nanoTime();
+                    if (restante <= 0) return false;
+                    TimeUnit.NANOSECONDS.timedWait(vaciado, restante);
+                }
+            }
+            return true;
+        } finally {
+            esperandoVaciado.decrementAndGet();
+        }
+    }
+
+    private boolean quedanPeticiones() {
+        return contadores.getProcesadas() < contadores.getRegistradas();
+    }
+
+    // Despierta a quien espera en esperarPeticionesProcesadas si ya está todo procesado
+    private void avisarSiNoQuedanPeticiones() {
+        if (quedanPeticiones()) return;
+        synchronized (vaciado) {
+            vaciado.notifyAll();
+        }
+    }
+
+    /**
+     * Registro de ocupación de recursos, para consultas del panel y las métricas.
+     * Se puede leer en cualquier momento sin bloquear a los Operarios.
+     */
+    public OwnershipIndex getOcupacion() { return ocupacion; }
+
+    /**
+     * @return Una foto vacía del tamaño de este aeropuerto, para {@link #capturarEstado}.
+     */
+    public TowerSnapshot nuevaFoto() {
+        return new TowerSnapshot(runways.size(), gates.size());
+    }
+
+    /**
+     * Rellena la foto con el estado actual de recursos y colas, para la interfaz gráfica.
+     * Solo lee estado atómico y colas concurrentes: no bloquea a los Operarios.
+     */
+    public void capturarEstado(TowerSnapshot foto) {
+        for (int i = 0; i < foto.pistas.length; i++) {
+            Runway r = runways.get(i);
+            foto.pistas[i] = r.isAvailable() ? null : titular(r.getId());
+        }
+        for (int i = 0; i < foto.puertas.length; i++) {
+            Gate g = gates.get(i);
+            foto.puertas[i] = g.isOccupied() ? titular(g.getId()) : null;
+        }
+        foto.enCola = requestQueue.size();
+        foto.aterrizajesPendientes = pendingLandings.size();
+        foto.despeguesPendientes = pendingTakeoffs.size();
+        latencias.percentiles(RequestType.LANDING, LatencyPhase.TOTAL, foto.latenciaAterrizaje);
+        latencias.percentiles(RequestType.TAKEOFF, LatencyPhase.TOTAL, foto.latenciaDespegue);
+    }
+
+    // Avión que ocupa el recurso (o RESERVADO si se acaba de reservar y aún no se ha anotado)
+    private String titular(String recursoId) {
+        String avion = ocupacion.getTitular(recursoId);
+        return avion != null ? avion : TowerSnapshot.RESERVADO;
+    }
+
+    // Anota que el estado ha cambiado. No dibuja nada: eso lo hace quien lo pida.
+    private void estadoCambiado() {
+        versionEstado.incrementAndGet();
+    }
+
+    /**
+     * @return Versión actual del estado (cambia con cada petición registrada o procesada).
+     */
+    public long getVersionEstado() {
+        return versionEstado.get();
+    }
+
+    /**
+     * Genera la representación visual del estado actual (Tablas ASCII de recursos y cola).
+     * Si el estado no ha cambiado desde el último dibujo, devuelve el mismo texto sin recorrer
+     * nada. La cola nos da una copia consistente para dibujarla sin bloquear a productores
+     * ni consumidores.
+     */
+    public String getEstadoDibujado() {
+        synchronized (dibujo) {
+            long version = versionEstado.get();
+            if (version != versionDibujada) {
+                dibujo.setLength(0);
+                AirportState.appendResourcesStatus(dibujo, runways, gates);
+                dibujo.append('\n');
+                AirportState.appendRequestQueue(dibujo, requestQueue.snapshot());
+                ultimoDibujo = dibujo.toString();
+                versionDibujada = version;
+            }
+            return ultimoDibujo;
+        }
+    }
+
+    /**
+     * Vuelca las tablas de estado al log como mucho una vez por intervalo, y solo si el estado
+     * ha cambiado desde el último volcado. Lo hace un hilo propio (daemon), así que ni los
+     * Aviones ni los Operarios dibujan tablas.
+     * @param intervaloMs Tiempo entre volcados (ej: 250 ms).
+     */
+    public void iniciarVolcadoEstado(long intervaloMs) {
+        Thread volcador = new Thread(() -> {
+            long volcada = versionEstado.get();
+            while (true) {
+                try {
+                    Thread.sleep(intervaloMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // En pruebas de carga (modo silencioso) no merece la pena dibujar las tablas
+                long version = versionEstado.get();
+                if (version == volcada || Logger.isSilencioso()) continue;
+                Logger.log(getEstadoDibujado());
+                volcada = version;
+            }
+        }, "aeron-estado");
+        volcador.setDaemon(true);
+        volcador.start();
     }
 
     // Metodo antiguo de interfaz (para compatibilidad o secuencial), redirige a registrar
@@ -0,0 +1,87 @@
+package aeron.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Bolsa" de recursos libres (Pistas o Puertas) identificados por su índice en la lista de la Torre.
+ * <p>
+ * ESTRUCTURA: Pila lock-free (pila de Treiber) de índices.
+ * - adquirir(): saca el índice de la cima -> O(1), sin recorrer la lista de recursos.
+ * - liberar():  vuelve a apilar el índice  -> O(1).
+ * Así el coste por petición no depende de si el aeropuerto tiene 3 pistas o 3.000 puertas.
+ * <p>
+ * PROBLEMA ABA:
+ * La cima guarda, además del índice, un contador de versión que se incrementa en cada cambio.
+ * Si entre nuestra lectura y nuestro CAS otro hilo saca y vuelve a meter el mismo índice,
+ * la versión ya no coincide y el CAS falla en lugar de corromper la pila.
+ */
+public class FreeIndexPool implements IndexPool {
+
+    // Marca de "pila vacía" / "fin de la lista"
+    private static final int NINGUNO = -1;
+
+    // siguiente[i] = índice que queda debajo de i en la pila
+    private final AtomicIntegerArray siguiente;
+
+    // Cima de la pila: 32 bits altos = versión, 32 bits bajos = índice (o NINGUNO)
+    private final AtomicLong cima;
+
+    /**
+     * Crea la bolsa con todos los recursos libres.
+     * El índice 0 queda en la cima para que, al principio, se use primero el recurso 1 (PIS1, GATE 1...).
+     * @param numRecursos Número de recursos gestionados (índices 0..numRecursos-1).
+     */
+    public FreeIndexPool(int numRecursos) {
+        this.siguiente = new AtomicIntegerArray(Math.max(numRecursos, 1));
+        for (int i = 0; i < numRecursos; i++) {
+            siguiente.set(i, i + 1 < numRecursos ? i + 1 : NINGUNO);
+        }
+        this.cima = new AtomicLong(empaquetar(0, numRecursos > 0 ? 0 : NINGUNO));
+    }
+
+    /**
+     * Saca un recurso libre.
+     * @return El índice del recurso, o -1 si no queda ninguno libre.
+     */
+    @Override
+    public int adquirir() {
+        while (true) {
+            long actual = cima.get();
+            int indice = (int) actual;
+            if (indice == NINGUNO) return NINGUNO;
+            long nueva = empaquetar(version(actual) + 1, siguiente.get(indice));
+            if (cima.compareAndSet(actual, nueva)) return indice;
+        }
+    }
+
+    /**
+     * Devuelve un recurso a la bolsa.
+     * @param indice Índice obtenido previamente con adquirir().
+     */
+    @Override
+    public void liberar(int indice) {
+        while (true) {
+            long actual = cima.get();
+            siguiente.set(indice, (int) actual);
+            long nueva = empaquetar(version(actual) + 1, indice);
+            if (cima.compareAndSet(actual, nueva)) return;
+        }
+    }
+
+    /**
+     * @return true si no queda ningún recurso libre en este instante.
+     */
+    @Override
+    public boolean isVacio() {
+        return (int) cima.get() == NINGUNO;
+    }
+
+    private static long empaquetar(long version, int indice) {
+        return (version << 32) | (indice & 0xFFFFFFFFL);
+    }
+
+    private static long version(long valor) {
+        return valor >>> 32;
+    }
+}
@@ -0,0 +1,29 @@
+package aeron.concurrent;
+
+/**
+ * "Bolsa" de recursos libres (Pistas o Puertas) identificados por su índice en la lista de la Torre.
+ * <p>
+ * La Torre solo necesita sacar un recurso libre y devolverlo; el ORDEN en que se reutilizan
+ * los recursos depende de la implementación:
+ * - {@link FreeIndexPool}: pila, se reutiliza el último recurso liberado (por defecto).
+ * - {@link RotatingIndexPool}: cola, se usa el recurso que lleva más tiempo libre (reparte el uso).
+ */
+public interface IndexPool {
+
+    /**
+     * Saca un recurso libre.
+     * @return El índice del recurso, o -1 si no queda ninguno libre.
+     */
+    int adquirir();
+
+    /**
+     * Devuelve un recurso a la bolsa.
+     * @param indice Índice obtenido previamente con adquirir().
+     */
+    void liberar(int indice);
+
+    /**
+     * @return true si no queda ningún recurso libre en este instante.
+     */
+    boolean isVacio();
+}
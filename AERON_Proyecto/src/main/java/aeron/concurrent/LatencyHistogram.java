@@ -0,0 +1,98 @@
+package aeron.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias al estilo HDR: cuenta cuántas medidas caen en cada "cubo" de tiempo
+ * y con eso calcula percentiles (p50, p99, p99.9...) sin guardar las medidas.
+ * <p>
+ * ESTRUCTURA: cubos log-lineales. Cada potencia de dos (de 1 ns a ~36 minutos) se divide en
+ * 64 cubos iguales, así que el error relativo de cualquier percentil es menor del 1,6 %
+ * con un array fijo de {@value #NUM_CUBOS} contadores, sea cual sea el número de medidas.
+ * <p>
+ * CONCURRENCIA: registrar() es lock-free y no reserva memoria (un incremento atómico en el
+ * cubo y otro en el total, más un CAS para el máximo solo cuando cambia), así que los
+ * Operarios pueden medir cada petición sin frenarse entre ellos. Las lecturas no bloquean:
+ * pueden ver una muestra a medio registrar, lo que solo mueve un percentil en una medida.
+ */
+public final class LatencyHistogram {
+
+    // Bits del cubo dentro de cada potencia de dos: 2^6 = 64 cubos por potencia
+    private static final int BITS_SUBCUBO = 6;
+    private static final int SUBCUBOS = 1 << BITS_SUBCUBO;
+
+    // Mayor potencia de dos representada (2^40 ns ~ 18 min); lo que pase de ahí va al último cubo
+    private static final int MAX_POTENCIA = 40;
+
+    /** Número de contadores del histograma. */
+    public static final int NUM_CUBOS = (MAX_POTENCIA - BITS_SUBCUBO + 2) * SUBCUBOS;
+
+    private final AtomicLongArray cubos = new AtomicLongArray(NUM_CUBOS);
+    private final AtomicLong cuenta = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra una medida. Lock-free y sin reservar memoria.
+     * @param nanos Latencia en nanosegundos (los valores negativos cuentan como 0).
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubos.getAndIncrement(cubo(valor));
+        cuenta.getAndIncrement();
+        long max = maximo.get();
+        while (valor > max && !maximo.compareAndSet(max, valor)) max = maximo.get();
+    }
+
+    /**
+     * @return Número de medidas registradas.
+     */
+    public long getCuenta() {
+        return cuenta.get();
+    }
+
+    /**
+     * @return Mayor medida registrada (exacta), en nanosegundos.
+     */
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * Percentil de las medidas registradas.
+     * @param p Fracción entre 0 y 1 (ej: 0.99 para el p99).
+     * @return Límite superior del cubo del percentil, en nanosegundos (0 si no hay medidas).
+     */
+    public long percentil(double p) {
+        long total = cuenta.get();
+        if (total == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(p * total));
+        long acumulado = 0;
+        for (int i = 0; i < NUM_CUBOS; i++) {
+            acumulado += cubos.get(i);
+            if (acumulado >= objetivo) return Math.min(limiteSuperior(i), maximo.get());
+        }
+        // Alguna medida contada pero aún no anotada en su cubo: la mayor es la mejor cota
+        return maximo.get();
+    }
+
+    // Cubo de un valor: los primeros SUBCUBOS valores van uno a uno; a partir de ahí,
+    // cada potencia de dos se reparte en SUBCUBOS cubos del mismo ancho
+    static int cubo(long valor) {
+        if (valor < SUBCUBOS) return (int) valor;
+        int potencia = 63 - Long.numberOfLeadingZeros(valor);
+        if (potencia > MAX_POTENCIA) return NUM_CUBOS - 1;
+        int desplazamiento = potencia - BITS_SUBCUBO;
+        int subcubo = (int) (valor >>> desplazamiento) - SUBCUBOS;
+        return (desplazamiento + 1) * SUBCUBOS + subcubo;
+    }
+
+    // Mayor valor que cae en el cubo i
+    static long limiteSuperior(int i) {
+        if (i < SUBCUBOS) return i;
+        if (i == NUM_CUBOS - 1) return Long.MAX_VALUE;
+        int desplazamiento = i / SUBCUBOS - 1;
+        long base = (long) (i % SUBCUBOS + SUBCUBOS) << desplazamiento;
+        return base + (1L << desplazamiento) - 1;
+    }
+}
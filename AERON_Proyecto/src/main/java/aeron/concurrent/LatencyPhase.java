@@ -0,0 +1,17 @@
+package aeron.concurrent;
+
+/**
+ * Tramos en los que se mide la latencia de cada petición de la Torre ({@link TowerLatencies}).
+ * Los instantes se toman con el reloj de la Torre, así que con un reloj acelerado o virtual
+ * las latencias están en tiempo SIMULADO.
+ */
+public enum LatencyPhase {
+    /** Desde que el avión registra la petición hasta que un Operario la saca de la cola de entrada. */
+    COLA,
+    /** Tiempo del Operario en procesarPeticion (de sacarla de la cola a terminar con ella). */
+    PROCESO,
+    /** Tiempo en la lista de espera de aterrizajes o despegues (solo peticiones pospuestas). */
+    ESPERA,
+    /** De principio a fin: desde el registro hasta la concesión (LANDING, TAKEOFF) o hasta completarla. */
+    TOTAL
+}
@@ -1,6 +1,8 @@
 package aeron.concurrent;
 
+import aeron.util.LogEventType;
 import aeron.util.Logger;
+import aeron.util.SimulationClock;
 
 /**
  * Representa a un controlador aéreo (Operario) que trabaja en la Torre.
@@ -17,15 +19,39 @@ public class Operario implements Runnable {
     // Identificador único del operario (ej: "OP-001")
     private String id;
 
+    // Descanso (ms) entre petición y petición
+    private long pausaMs;
+
+    // Reloj con el que descansa (el de la Torre salvo que se indique otro)
+    private SimulationClock reloj;
+
     /**
      * Constructor del operario.
      * @param tower La torre donde va a trabajar.
      * @param numero El número asignado para generar su ID.
      */
     public Operario(ControlTowerConcurrent tower, int numero) {
+        this(tower, numero, 50);
+    }
+
+    /**
+     * Constructor con descanso configurable (pruebas de carga con muchos aviones).
+     * @param pausaMs Milisegundos de descanso tras cada petición (0 = sin descanso).
+     */
+    public Operario(ControlTowerConcurrent tower, int numero, long pausaMs) {
+        this(tower, numero, pausaMs, tower.getReloj());
+    }
+
+    /**
+     * Constructor con un reloj concreto (ej: acelerado para pruebas de carga).
+     * @param reloj Reloj con el que el Operario mide su descanso.
+     */
+    public Operario(ControlTowerConcurrent tower, int numero, long pausaMs, SimulationClock reloj) {
         this.tower = tower;
         // Formateamos el ID para cumplir con los requisitos de log (OP-001, OP-002...)
         this.id = String.format("OP-%03d", numero);
+        this.pausaMs = pausaMs;
+        this.reloj = reloj;
     }
 
     /**
@@ -34,7 +60,7 @@ public class Operario implements Runnable {
      */
     @Override
     public void run() {
-        Logger.logTorre("Operario [" + id + "] esperando nueva petición...");
+        Logger.eventoOperario(LogEventType.OPERARIO_ESPERANDO, id, null, null);
         try {
             // Bucle infinito: El operario nunca deja de trabajar mientras la simulación esté activa.
             while (true) {
@@ -52,7 +78,7 @@ public class Operario implements Runnable {
                 tower.procesarPeticion(peticion, this.id);
 
                 // Simulamos un pequeño tiempo de descanso o gestión administrativa entre tareas
-                Thread.sleep(50);
+                if (pausaMs > 0) reloj.dormir(pausaMs);
             }
         } catch (InterruptedException e) {
             // Si el hilo es interrumpido (al cerrar la app), salimos del bucle limpiamente.
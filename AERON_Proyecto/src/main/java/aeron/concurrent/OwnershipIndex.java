@@ -0,0 +1,118 @@
+package aeron.concurrent;
+
+import aeron.util.Gate;
+import aeron.util.Runway;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro de "quién tiene qué": qué Pista y qué Puerta ocupa cada avión, y al revés.
+ * <p>
+ * UTILIDAD:
+ * - Al liberar (LANDED, BOARDED, DEPARTED) la Torre sabe EXACTAMENTE qué recurso soltar,
+ *   en O(1), en lugar de liberar el primer recurso ocupado que encuentre.
+ * - El panel y las métricas pueden consultar la ocupación ("¿quién está en GATE 7?",
+ *   "¿qué tiene IBE-042?") en cualquier momento sin bloquear a los Operarios.
+ * <p>
+ * PISTA DE ATERRIZAJE Y PISTA DE DESPEGUE POR SEPARADO:
+ * El avión envía LANDED, BOARDED y TAKEOFF sin esperar a que se procesen, así que con varios
+ * Operarios su despegue puede concederse ANTES de que se procese su LANDED. En ese momento el
+ * avión tiene dos pistas a la vez; cada una se guarda en su propio mapa y LANDED suelta la de
+ * aterrizaje y DEPARTED la de despegue, sin pisarse.
+ * <p>
+ * CONCURRENCIA:
+ * Todo está en ConcurrentHashMap, así que las lecturas no usan cerrojos. Un avión tiene como mucho
+ * una pista de aterrizaje, una de despegue y una puerta: si la Torre intenta anotar una segunda
+ * (un error de la Torre), se rechaza con IllegalStateException en lugar de perder la anterior.
+ */
+public class OwnershipIndex {
+
+    // Avión -> recurso que ocupa
+    private final ConcurrentHashMap<String, Runway> pistaAterrizajePorAvion = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Runway> pistaDespeguePorAvion = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Gate> puertaPorAvion = new ConcurrentHashMap<>();
+
+    // Recurso (PIS1, GATE 7...) -> avión que lo ocupa
+    private final ConcurrentHashMap<String, String> titularPorRecurso = new ConcurrentHashMap<>();
+
+    // --- ESCRITURA (solo la Torre) ---
+
+    void ocuparPistaAterrizaje(String avionId, Runway r) {
+        anotar(pistaAterrizajePorAvion, avionId, r, r.getId());
+    }
+
+    void ocuparPistaDespegue(String avionId, Runway r) {
+        anotar(pistaDespeguePorAvion, avionId, r, r.getId());
+    }
+
+    void ocuparPuerta(String avionId, Gate g) {
+        anotar(puertaPorAvion, avionId, g, g.getId());
+    }
+
+    /**
+     * Quita al avión la pista con la que aterrizó (LANDED).
+     * @return La pista que ocupaba, o null si no tenía ninguna.
+     */
+    Runway soltarPistaAterrizaje(String avionId) {
+        return soltar(pistaAterrizajePorAvion, avionId);
+    }
+
+    /**
+     * Quita al avión la pista de despegue (DEPARTED).
+     * @return La pista que ocupaba, o null si no tenía ninguna.
+     */
+    Runway soltarPistaDespegue(String avionId) {
+        return soltar(pistaDespeguePorAvion, avionId);
+    }
+
+    /**
+     * Quita al avión la puerta que tenía asignada.
+     * @return La puerta que ocupaba, o null si no tenía ninguna.
+     */
+    Gate soltarPuerta(String avionId) {
+        return soltar(puertaPorAvion, avionId);
+    }
+
+    // Anota el recurso sin sobrescribir: si el avión ya tenía uno de ese tipo, se perdería para siempre
+    private <T> void anotar(ConcurrentHashMap<String, T> porAvion, String avionId, T recurso, String recursoId) {
+        T anterior = porAvion.putIfAbsent(avionId, recurso);
+        if (anterior != null) {
+            throw new IllegalStateException(avionId + " ya ocupa " + anterior + ": no puede ocupar también " + recursoId);
+        }
+        titularPorRecurso.put(recursoId, avionId);
+    }
+
+    private <T> T soltar(ConcurrentHashMap<String, T> porAvion, String avionId) {
+        T recurso = porAvion.remove(avionId);
+        if (recurso instanceof Runway r) titularPorRecurso.remove(r.getId(), avionId);
+        else if (recurso instanceof Gate g) titularPorRecurso.remove(g.getId(), avionId);
+        return recurso;
+    }
+
+    // --- CONSULTAS (panel, métricas...) ---
+
+    /**
+     * ¿Quién ocupa este recurso?
+     * @param recursoId Identificador de la pista o puerta (ej: "PIS1", "GATE 7").
+     * @return El ID del avión que lo ocupa, o null si está libre.
+     */
+    public String getTitular(String recursoId) {
+        return titularPorRecurso.get(recursoId);
+    }
+
+    /**
+     * @return La pista que ocupa el avión (ej: IBE-042), o null si no ocupa ninguna. Si en ese
+     *         momento tiene dos (aterrizaje aún sin soltar y despegue), la de despegue.
+     */
+    public Runway getPistaDe(String avionId) {
+        Runway despegue = pistaDespeguePorAvion.get(avionId);
+        return despegue != null ? despegue : pistaAterrizajePorAvion.get(avionId);
+    }
+
+    /**
+     * @return La puerta que ocupa el avión, o null si no ocupa ninguna.
+     */
+    public Gate getPuertaDe(String avionId) {
+        return puertaPorAvion.get(avionId);
+    }
+}
@@ -0,0 +1,114 @@
+package aeron.concurrent;
+
+import java.util.PriorityQueue;
+
+/**
+ * Lista de espera de la Torre con PRIORIDADES (sustituye a la cola FIFO de pendientes).
+ * <p>
+ * ORDEN DE SERVICIO:
+ * Cada petición recibe al entrar una clave fija = instante de llegada - crédito, y se atiende
+ * siempre la de clave más baja. El crédito lo decide la {@link SchedulingPolicy} de la Torre
+ * (por defecto: emergencias de combustible y despegues retrasados, ver {@link StandardSchedulingPolicy}).
+ * Con la misma clave se respeta el orden de llegada.
+ * <p>
+ * ENVEJECIMIENTO (anti-inanición):
+ * Como la clave es un instante y no una prioridad fija, una petición "envejece" sola: cualquier
+ * petición que llegue más de {@link SchedulingPolicy#getCreditoMaximo()} después que ella tendrá
+ * una clave mayor y ya no puede adelantarla. Así ningún vuelo normal espera indefinidamente detrás
+ * de emergencias o retrasos, y no hay que recalcular prioridades mientras esperan.
+ * <p>
+ * ESTRUCTURA: montículo binario (PriorityQueue) -> add() y poll() en O(log n).
+ * <p>
+ * CONCURRENCIA:
+ * Varios Operarios añaden peticiones a la vez, así que el montículo se protege con el monitor
+ * de esta clase (secciones críticas de O(log n), sin esperas dentro). isEmpty() y size()
+ * leen un contador volatile y no bloquean: la Torre los consulta en cada petición.
+ */
+public class PendingScheduler {
+
+    // Petición en espera con su clave de orden (calculada una sola vez, al entrar)
+    private static final class Entrada implements Comparable<Entrada> {
+        final Request peticion;
+        final long clave;
+        final long orden;
+
+        Entrada(Request peticion, long clave, long orden) {
+            this.peticion = peticion;
+            this.clave = clave;
+            this.orden = orden;
+        }
+
+        @Override
+        public int compareTo(Entrada otra) {
+            // Comparamos la diferencia (los instantes de nanoTime pueden ser negativos)
+            long d = clave - otra.clave;
+            if (d != 0) return d < 0 ? -1 : 1;
+            return Long.compare(orden, otra.orden);
+        }
+    }
+
+    // RECURSO COMPARTIDO: montículo y contador de llegadas. Protegidos por 'this'.
+    private final PriorityQueue<Entrada> monticulo = new PriorityQueue<>();
+    private long llegadas;
+
+    // Copia del tamaño para consultarlo sin bloquear
+    private volatile int tamano;
+
+    // Decide el crédito de prioridad de cada petición
+    private final SchedulingPolicy politica;
+
+    /**
+     * Lista de espera con la política por defecto (PRIORIDAD_ATERRIZAJES).
+     */
+    public PendingScheduler() {
+        this(StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES);
+    }
+
+    /**
+     * @param politica Política que da a cada petición su crédito de prioridad.
+     */
+    public PendingScheduler(SchedulingPolicy politica) {
+        this.politica = politica;
+    }
+
+    /**
+     * Pone una petición en espera según su prioridad. O(log n).
+     */
+    public void add(Request req) {
+        // Acotamos el crédito para que el límite del envejecimiento se cumpla siempre
+        long credito = Math.max(0, Math.min(politica.credito(req), politica.getCreditoMaximo()));
+        long clave = req.instante - credito;
+        synchronized (this) {
+            monticulo.add(new Entrada(req, clave, llegadas++));
+            tamano = monticulo.size();
+        }
+    }
+
+    /**
+     * Saca la petición más prioritaria. O(log n).
+     * @return La petición, o null si no hay ninguna esperando.
+     */
+    public Request poll() {
+        synchronized (this) {
+            Entrada e = monticulo.poll();
+            tamano = monticulo.size();
+            return e != null ? e.peticion : null;
+        }
+    }
+
+    /**
+     * @return La petición más prioritaria sin sacarla, o null si no hay ninguna.
+     */
+    public synchronized Request peek() {
+        Entrada e = monticulo.peek();
+        return e != null ? e.peticion : null;
+    }
+
+    public boolean isEmpty() {
+        return tamano == 0;
+    }
+
+    public int size() {
+        return tamano;
+    }
+}
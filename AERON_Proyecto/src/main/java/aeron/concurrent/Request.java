@@ -18,14 +18,43 @@ public class Request {
     // El tipo de operación que solicita (LANDING, TAKEOFF, etc.)
     public RequestType type;
 
+    // Resguardo que la Torre completa al conceder la petición (solo LANDING y TAKEOFF; null en el resto)
+    public Authorization autorizacion;
+
+    // Momento (nanosegundos, System.nanoTime por defecto) en que se registró la petición.
+    // La lista de espera lo usa para ordenarla.
+    public final long instante;
+
+    /** Valor de un instante que todavía no se ha producido. */
+    public static final long SIN_INSTANTE = Long.MIN_VALUE;
+
+    // Instantes (reloj de la Torre) de cada paso por la Torre, para medir latencias (ver TowerLatencies).
+    // Los escribe el Operario que tiene la petición; la cola y la lista de espera publican los cambios.
+    public long desencolada = SIN_INSTANTE;
+    public long pospuesta = SIN_INSTANTE;
+    public long concedida = SIN_INSTANTE;
+    public long completada = SIN_INSTANTE;
+
     /**
      * Constructor para crear una nueva petición empaquetada.
      * @param plane El avión implicado.
      * @param type La acción que desea realizar.
      */
     public Request(Airplane plane, RequestType type) {
+        this(plane, type, System.nanoTime());
+    }
+
+    /**
+     * Constructor con el instante de registro dado por el reloj de la Torre (tiempo simulado).
+     * @param instante Momento del registro, en nanosegundos.
+     */
+    public Request(Airplane plane, RequestType type, long instante) {
         this.plane = plane;
         this.type = type;
+        this.instante = instante;
+        if (type == RequestType.LANDING || type == RequestType.TAKEOFF) {
+            this.autorizacion = plane.getAutorizacion();
+        }
     }
 
     /**
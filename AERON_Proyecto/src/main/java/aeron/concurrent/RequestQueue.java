@@ -0,0 +1,45 @@
+package aeron.concurrent;
+
+import java.util.List;
+
+/**
+ * Abstracción de la cola de entrada de peticiones de la Torre (el "buffer" del Productor-Consumidor).
+ * <p>
+ * DISEÑO:
+ * Separamos el contrato de la cola de su implementación para poder intercambiar
+ * la estrategia de sincronización sin tocar la lógica de la Torre:
+ * - {@link SemaphoreRequestQueue}: versión clásica con Mutex + Semáforo contador (Tema 4).
+ * - {@link RingBufferRequestQueue}: versión lock-free con buffer circular (por defecto).
+ * <p>
+ * Ambas son ACOTADAS: si la cola está llena, {@link #offer(Request)} devuelve false
+ * y la Torre lo traduce en una SaturationException (Práctica 6).
+ */
+public interface RequestQueue {
+
+    /**
+     * Intenta insertar una petición (lado PRODUCTOR, hilos Avión).
+     * Nunca bloquea.
+     * @param req La petición a encolar.
+     * @return true si se ha encolado, false si la cola está llena (saturación).
+     */
+    boolean offer(Request req);
+
+    /**
+     * Extrae la siguiente petición (lado CONSUMIDOR, hilos Operario).
+     * Si la cola está vacía, el hilo se bloquea sin consumir CPU hasta que llegue algo.
+     * @return La petición más antigua de la cola.
+     * @throws InterruptedException Si el hilo es interrumpido mientras espera.
+     */
+    Request take() throws InterruptedException;
+
+    /**
+     * Número aproximado de peticiones en la cola en este instante.
+     */
+    int size();
+
+    /**
+     * Copia del contenido actual de la cola (en orden FIFO) para dibujarla en los logs.
+     * Es una "foto" aproximada: no bloquea a productores ni consumidores.
+     */
+    List<Request> snapshot();
+}
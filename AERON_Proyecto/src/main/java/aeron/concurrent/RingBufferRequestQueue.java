@@ -0,0 +1,182 @@
+package aeron.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cola de peticiones LOCK-FREE de múltiples productores y múltiples consumidores (MPMC).
+ * <p>
+ * ALGORITMO (buffer circular acotado con número de secuencia por casilla):
+ * Cada casilla del array guarda, además de la petición, un número de secuencia que indica
+ * en qué "vuelta" del anillo está y si está vacía o llena:
+ * - secuencia == pos        -> la casilla está libre para el productor que tenga la posición 'pos'.
+ * - secuencia == pos + 1    -> la casilla está llena y lista para el consumidor de la posición 'pos'.
+ * Productores y consumidores reservan su posición con un CAS sobre 'cola' / 'cabeza',
+ * así que nunca hay un mutex que serialice a todos los aviones y operarios.
+ * <p>
+ * ESPERA DE LOS OPERARIOS:
+ * Si la cola está vacía, el Operario gira brevemente y después se aparca (LockSupport.park)
+ * registrándose en una lista de dormidos. El productor que inserta despierta a uno.
+ * Así se mantiene la propiedad de la versión con semáforos: no se consume CPU esperando.
+ */
+public class RingBufferRequestQueue implements RequestQueue {
+
+    // Número de reintentos activos antes de aparcar al consumidor
+    private static final int GIROS_ANTES_DE_DORMIR = 64;
+
+    private final int capacidad;
+
+    // Casillas del anillo. La visibilidad entre hilos la garantiza el número de secuencia
+    // (escritura volátil después de rellenar la casilla, lectura volátil antes de leerla).
+    private final Request[] casillas;
+    private final AtomicLongArray secuencias;
+
+    // Siguiente posición a leer (consumidores) y a escribir (productores)
+    private final AtomicLong cabeza = new AtomicLong();
+    private final AtomicLong cola = new AtomicLong();
+
+    // Operarios aparcados esperando a que llegue una petición
+    private final ConcurrentLinkedQueue<Thread> consumidoresDormidos = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param capacidad Número máximo de peticiones (se respeta exactamente, no se redondea).
+     *                  Mínimo 2: con una sola casilla, "llena en esta vuelta" (pos + 1) y "libre
+     *                  para la siguiente" (pos + capacidad) son el mismo número y el productor
+     *                  sobrescribiría una petición aún sin consumir.
+     */
+    public RingBufferRequestQueue(int capacidad) {
+        if (capacidad < 2) throw new IllegalArgumentException("La capacidad mínima de la cola es 2");
+        this.capacidad = capacidad;
+        this.casillas = new Request[capacidad];
+        this.secuencias = new AtomicLongArray(capacidad);
+        // Al principio la casilla i está libre para la posición i
+        for (int i = 0; i < capacidad; i++) secuencias.set(i, i);
+    }
+
+    @Override
+    public boolean offer(Request req) {
+        long pos = cola.get();
+        int indice;
+        while (true) {
+            indice = (int) (pos % capacidad);
+            long diferencia = secuencias.get(indice) - pos;
+            if (diferencia == 0) {
+                // Casilla libre en esta vuelta: intentamos reservarla
+                if (cola.compareAndSet(pos, pos + 1)) break;
+                pos = cola.get();
+            } else if (diferencia < 0) {
+                // La casilla aún tiene la petición de la vuelta anterior: cola llena (saturación)
+                return false;
+            } else {
+                // Otro productor se nos adelantó, releemos la posición
+                pos = cola.get();
+            }
+        }
+        casillas[indice] = req;
+        // Publicamos la petición para los consumidores
+        secuencias.set(indice, pos + 1);
+
+        despertarConsumidor();
+        return true;
+    }
+
+    /**
+     * Extracción no bloqueante.
+     * @return La petición más antigua, o null si la cola está vacía.
+     */
+    public Request poll() {
+        long pos = cabeza.get();
+        int indice;
+        while (true) {
+            indice = (int) (pos % capacidad);
+            long diferencia = secuencias.get(indice) - (pos + 1);
+            if (diferencia == 0) {
+                if (cabeza.compareAndSet(pos, pos + 1)) break;
+                pos = cabeza.get();
+            } else if (diferencia < 0) {
+                // La casilla todavía no se ha publicado: cola vacía
+                return null;
+            } else {
+                pos = cabeza.get();
+            }
+        }
+        Request req = casillas[indice];
+        casillas[indice] = null;
+        // Dejamos la casilla libre para la siguiente vuelta del anillo
+        secuencias.set(indice, pos + capacidad);
+        return req;
+    }
+
+    @Override
+    public Request take() throws InterruptedException {
+        Request req = poll();
+        if (req != null) return req;
+
+        // Fase 1: espera activa muy corta (las peticiones suelen llegar en ráfagas)
+        for (int i = 0; i < GIROS_ANTES_DE_DORMIR; i++) {
+            Thread.onSpinWait();
+            req = poll();
+            if (req != null) return req;
+        }
+
+        // Fase 2: nos aparcamos hasta que un productor nos despierte
+        Thread yo = Thread.currentThread();
+        while (true) {
+            // Nos registramos ANTES de volver a mirar la cola: si el productor inserta
+            // justo ahora, o nos ve en la lista o nosotros vemos su petición.
+            consumidoresDormidos.add(yo);
+            req = poll();
+            if (req != null) {
+                consumidoresDormidos.remove(yo);
+                despertarSiQuedan();
+                return req;
+            }
+            LockSupport.park(this);
+            consumidoresDormidos.remove(yo);
+            if (Thread.interrupted()) throw new InterruptedException();
+            req = poll();
+            if (req != null) {
+                despertarSiQuedan();
+                return req;
+            }
+        }
+    }
+
+    // Despierta a un Operario dormido (si lo hay)
+    private void despertarConsumidor() {
+        Thread dormido = consumidoresDormidos.poll();
+        if (dormido != null) LockSupport.unpark(dormido);
+    }
+
+    // Si nos han despertado "de más" y aún queda trabajo, pasamos el aviso a otro Operario
+    private void despertarSiQuedan() {
+        if (size() > 0) despertarConsumidor();
+    }
+
+    @Override
+    public int size() {
+        long n = cola.get() - cabeza.get();
+        if (n < 0) return 0;
+        return (int) Math.min(n, capacidad);
+    }
+
+    @Override
+    public List<Request> snapshot() {
+        List<Request> copia = new ArrayList<>();
+        long desde = cabeza.get();
+        long hasta = cola.get();
+        for (long pos = desde; pos < hasta; pos++) {
+            int indice = (int) (pos % capacidad);
+            // Solo copiamos casillas publicadas en esta vuelta; el resto ya se consumió
+            if (secuencias.get(indice) == pos + 1) {
+                Request req = casillas[indice];
+                if (req != null) copia.add(req);
+            }
+        }
+        return copia;
+    }
+}
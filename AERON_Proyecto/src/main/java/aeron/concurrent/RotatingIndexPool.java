@@ -0,0 +1,101 @@
+package aeron.concurrent;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * "Bolsa" de recursos libres que los reparte POR TURNOS: adquirir() da el recurso que lleva más
+ * tiempo libre y liberar() lo pone al final. Así el uso se reparte entre todas las pistas en lugar
+ * de concentrarse en la última liberada (como en la pila de {@link FreeIndexPool}).
+ * <p>
+ * ESTRUCTURA: cola lock-free acotada (el mismo buffer circular con número de secuencia por casilla
+ * que {@link RingBufferRequestQueue}), pero guardando índices. Cada índice está como mucho una vez
+ * en la bolsa, así que con una casilla por recurso nunca se llena. Ambas operaciones son O(1).
+ */
+public class RotatingIndexPool implements IndexPool {
+
+    // Marca de "bolsa vacía"
+    private static final int NINGUNO = -1;
+
+    private final int capacidad;
+
+    // Índice guardado en cada casilla y su número de secuencia (ver RingBufferRequestQueue)
+    private final AtomicIntegerArray casillas;
+    private final AtomicLongArray secuencias;
+
+    // Siguiente posición a sacar (adquirir) y a meter (liberar)
+    private final AtomicLong cabeza = new AtomicLong();
+    private final AtomicLong cola;
+
+    /**
+     * Crea la bolsa con todos los recursos libres, en orden (el primero en salir es el 0).
+     * @param numRecursos Número de recursos gestionados (índices 0..numRecursos-1).
+     */
+    public RotatingIndexPool(int numRecursos) {
+        this.capacidad = Math.max(numRecursos, 1);
+        this.casillas = new AtomicIntegerArray(capacidad);
+        this.secuencias = new AtomicLongArray(capacidad);
+        for (int i = 0; i < capacidad; i++) {
+            casillas.set(i, i);
+            // Las casillas de los recursos ya están "llenas" para la primera vuelta
+            secuencias.set(i, i < numRecursos ? i + 1 : i);
+        }
+        this.cola = new AtomicLong(numRecursos);
+    }
+
+    @Override
+    public int adquirir() {
+        long pos = cabeza.get();
+        int indice;
+        while (true) {
+            indice = (int) (pos % capacidad);
+            long diferencia = secuencias.get(indice) - (pos + 1);
+            if (diferencia == 0) {
+                if (cabeza.compareAndSet(pos, pos + 1)) break;
+                pos = cabeza.get();
+            } else if (diferencia < 0) {
+                // No hay ningún recurso libre
+                return NINGUNO;
+            } else {
+                pos = cabeza.get();
+            }
+        }
+        int recurso = casillas.get(indice);
+        // Dejamos la casilla libre para la siguiente vuelta del anillo
+        secuencias.set(indice, pos + capacidad);
+        return recurso;
+    }
+
+    @Override
+    public void liberar(int recurso) {
+        long pos = cola.get();
+        int indice;
+        while (true) {
+            indice = (int) (pos % capacidad);
+            long diferencia = secuencias.get(indice) - pos;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(pos, pos + 1)) break;
+                pos = cola.get();
+            } else if (diferencia < 0) {
+                // La casilla aún no se ha vaciado: o un adquirir() de la vuelta anterior está a
+                // medias (esperamos un instante) o la bolsa está llena de verdad (doble liberación)
+                if (pos - cabeza.get() >= capacidad) {
+                    throw new IllegalStateException("Bolsa llena: recurso " + recurso + " liberado dos veces");
+                }
+                Thread.onSpinWait();
+                pos = cola.get();
+            } else {
+                pos = cola.get();
+            }
+        }
+        casillas.set(indice, recurso);
+        // Publicamos el recurso para adquirir()
+        secuencias.set(indice, pos + 1);
+    }
+
+    @Override
+    public boolean isVacio() {
+        return cola.get() - cabeza.get() <= 0;
+    }
+}
@@ -0,0 +1,43 @@
+package aeron.concurrent;
+
+/**
+ * Política de reparto de Pistas y Puertas entre las peticiones que esperan en la Torre.
+ * <p>
+ * DISEÑO:
+ * Igual que con {@link RequestQueue}, separamos la decisión de la mecánica: la Torre sigue
+ * reservando los recursos con CAS y revisando las listas de espera, y la política solo decide:
+ * - El orden DENTRO de cada lista de espera (crédito de prioridad, ver {@link PendingScheduler}).
+ * - Quién va primero cuando esperan a la vez aterrizajes y despegues.
+ * - Qué pista libre se usa (bolsa de pistas).
+ * Las políticas incluidas están en {@link StandardSchedulingPolicy}.
+ */
+public interface SchedulingPolicy {
+
+    /**
+     * Adelanto (en nanosegundos) que recibe la petición en su lista de espera: cuanto mayor,
+     * antes se atiende. Se calcula una sola vez, al entrar en la lista.
+     * @return Un valor entre 0 y {@link #getCreditoMaximo()}.
+     */
+    long credito(Request req);
+
+    /**
+     * Mayor crédito que puede dar la política. Es también el límite del envejecimiento: ninguna
+     * petición puede ser adelantada por otra que llegue más de este tiempo después.
+     */
+    long getCreditoMaximo();
+
+    /**
+     * Si esperan aterrizajes y despegues, ¿se intenta primero el aterrizaje?
+     * (Si el preferido no cabe en los recursos libres, se prueba con el otro).
+     * @param aterrizaje El primer aterrizaje de su lista de espera.
+     * @param despegue El primer despegue de su lista de espera.
+     */
+    boolean aterrizajeAntes(Request aterrizaje, Request despegue);
+
+    /**
+     * Bolsa de pistas libres de la Torre. Por defecto, una pila: se reutiliza la última pista liberada.
+     */
+    default IndexPool crearBolsaPistas(int numPistas) {
+        return new FreeIndexPool(numPistas);
+    }
+}
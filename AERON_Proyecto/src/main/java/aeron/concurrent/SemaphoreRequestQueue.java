@@ -0,0 +1,98 @@
+package aeron.concurrent;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Implementación CLÁSICA de la cola de peticiones con semáforos (Tema 4).
+ * <p>
+ * Es la versión original de la Torre: una LinkedList protegida por un semáforo binario
+ * (mutex) más un semáforo contador que duerme a los Operarios cuando no hay trabajo.
+ * Se conserva como línea base para comparar con {@link RingBufferRequestQueue}.
+ */
+public class SemaphoreRequestQueue implements RequestQueue {
+
+    // Capacidad máxima de la cola (MAX_COLA de la Torre)
+    private final int capacidad;
+
+    // Buffer del Productor-Consumidor
+    private final Queue<Request> cola;
+
+    // Semáforo contador: Indica cuántos elementos hay en la cola listos para consumir.
+    // Los Operarios se bloquearán aquí si es 0.
+    private final Semaphore semaforoPeticiones;
+
+    // Semáforo binario (Mutex): Garantiza la exclusión mutua para acceder a la cola.
+    // Solo un hilo (Avión u Operario) puede tocar la cola a la vez.
+    private final Semaphore mutexCola;
+
+    /**
+     * @param capacidad Número máximo de peticiones que admite la cola.
+     */
+    public SemaphoreRequestQueue(int capacidad) {
+        this.capacidad = capacidad;
+        this.cola = new LinkedList<>();
+        // Inicializamos el semáforo de peticiones a 0 (la cola empieza vacía)
+        this.semaforoPeticiones = new Semaphore(0);
+        // Inicializamos el mutex a 1 (el primero que llegue entra)
+        this.mutexCola = new Semaphore(1);
+    }
+
+    @Override
+    public boolean offer(Request req) {
+        // 1. Protocolo de entrada: Adquirimos el Mutex para acceso exclusivo a la cola
+        mutexCola.acquireUninterruptibly();
+        try {
+            // 2. PRÁCTICA 6: Verificamos si hay Saturación antes de añadir
+            if (cola.size() >= capacidad) {
+                return false;
+            }
+            // 3. Sección Crítica: Añadimos la petición a la cola
+            cola.add(req);
+        } finally {
+            // 4. Protocolo de salida: Liberamos el Mutex
+            mutexCola.release();
+        }
+        // 5. Señalizamos al Consumidor (Operario) que hay una nueva petición disponible
+        semaforoPeticiones.release();
+        return true;
+    }
+
+    @Override
+    public Request take() throws InterruptedException {
+        // 1. Esperamos (acquire) a que el semáforo contador > 0. Si es 0, nos dormimos.
+        semaforoPeticiones.acquire();
+
+        // 2. Adquirimos exclusión mutua para sacar el elemento de la cola sin conflictos
+        mutexCola.acquire();
+        try {
+            return cola.poll();
+        } finally {
+            mutexCola.release();
+        }
+    }
+
+    @Override
+    public int size() {
+        mutexCola.acquireUninterruptibly();
+        try {
+            return cola.size();
+        } finally {
+            mutexCola.release();
+        }
+    }
+
+    @Override
+    public List<Request> snapshot() {
+        // Hacemos una copia de la cola para dibujarla sin bloquear demasiado tiempo
+        mutexCola.acquireUninterruptibly();
+        try {
+            return new ArrayList<>(cola);
+        } finally {
+            mutexCola.release();
+        }
+    }
+}
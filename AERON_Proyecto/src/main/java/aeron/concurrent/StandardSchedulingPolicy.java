@@ -0,0 +1,115 @@
+package aeron.concurrent;
+
+import aeron.model.Airplane;
+
+/**
+ * Políticas de reparto incluidas en la Torre. Se elige una al arrancar la simulación
+ * (ver {@link aeron.main.Simulation}) y se comparan con PoliticasRepartoBenchmark (módulo benchmarks).
+ * <p>
+ * Todas salvo FIFO dan prioridad a las emergencias de combustible y a los despegues retrasados
+ * respecto a su hora programada.
+ */
+public enum StandardSchedulingPolicy implements SchedulingPolicy {
+
+    /** Orden de llegada estricto, también entre aterrizajes y despegues. Sin prioridades. */
+    FIFO {
+        @Override
+        public long credito(Request req) {
+            return 0;
+        }
+
+        @Override
+        public long getCreditoMaximo() {
+            return 0;
+        }
+
+        @Override
+        public boolean aterrizajeAntes(Request aterrizaje, Request despegue) {
+            return aterrizaje.instante - despegue.instante <= 0;
+        }
+    },
+
+    /** Primero los aterrizajes (un avión en el aire no puede esperar indefinidamente). Por defecto. */
+    PRIORIDAD_ATERRIZAJES,
+
+    /** Primero los despegues: liberan antes las puertas que necesitan los aterrizajes. */
+    PRIORIDAD_DESPEGUES {
+        @Override
+        public boolean aterrizajeAntes(Request aterrizaje, Request despegue) {
+            return false;
+        }
+    },
+
+    /** Como PRIORIDAD_ATERRIZAJES, pero adelanta los aviones con la escala (embarque) más corta. */
+    ESCALA_MAS_CORTA {
+        @Override
+        public long credito(Request req) {
+            long credito = creditoUrgencia(req);
+            if (req.type == RequestType.LANDING) {
+                long escalaNs = req.plane.getTiempoEmbarqueMs() * 1_000_000L;
+                credito += Math.max(0, ESCALA_REFERENCIA_NS - escalaNs);
+            }
+            return credito;
+        }
+
+        @Override
+        public long getCreditoMaximo() {
+            return CREDITO_EMERGENCIA_NS + ESCALA_REFERENCIA_NS;
+        }
+    },
+
+    /** Como PRIORIDAD_ATERRIZAJES, pero las pistas se usan por turnos para repartir el desgaste. */
+    EQUILIBRIO_PISTAS {
+        @Override
+        public IndexPool crearBolsaPistas(int numPistas) {
+            return new RotatingIndexPool(numPistas);
+        }
+    };
+
+    /** Adelanto de un aterrizaje con emergencia de combustible. */
+    public static final long CREDITO_EMERGENCIA_NS = 30_000_000_000L;
+
+    /** Adelanto máximo de un despegue por ir retrasado respecto a su hora programada. */
+    public static final long CREDITO_MAXIMO_RETRASO_NS = 10_000_000_000L;
+
+    /** Escala a partir de la cual ESCALA_MAS_CORTA ya no adelanta al avión (embarque máximo del Airplane). */
+    public static final long ESCALA_REFERENCIA_NS = 500_000_000L;
+
+    @Override
+    public long credito(Request req) {
+        return creditoUrgencia(req);
+    }
+
+    @Override
+    public long getCreditoMaximo() {
+        return Math.max(CREDITO_EMERGENCIA_NS, CREDITO_MAXIMO_RETRASO_NS);
+    }
+
+    @Override
+    public boolean aterrizajeAntes(Request aterrizaje, Request despegue) {
+        return true;
+    }
+
+    /**
+     * @param nombre Nombre de la política, sin distinguir mayúsculas (ej: "fifo").
+     */
+    public static StandardSchedulingPolicy porNombre(String nombre) {
+        return valueOf(nombre.trim().toUpperCase());
+    }
+
+    // Emergencias de combustible y despegues retrasados. Entre dos vuelos retrasados, el crédito
+    // deja la clave en su hora programada: sale antes el que tenía la salida más temprana.
+    private static long creditoUrgencia(Request req) {
+        Airplane avion = req.plane;
+        switch (req.type) {
+            case LANDING:
+                return avion.isEmergenciaCombustible() ? CREDITO_EMERGENCIA_NS : 0;
+            case TAKEOFF:
+                if (!avion.tieneSalidaProgramada()) return 0;
+                long retraso = req.instante - avion.getSalidaProgramada();
+                return Math.max(0, Math.min(retraso, CREDITO_MAXIMO_RETRASO_NS));
+            default:
+                return 0;
+        }
+    }
+}
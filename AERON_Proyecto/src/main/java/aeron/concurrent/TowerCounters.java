@@ -0,0 +1,82 @@
+package aeron.concurrent;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de actividad de la Torre para el resumen final ({@link aeron.util.AirportStats}):
+ * movimientos, saturaciones, peticiones pospuestas, tiempo de ocupación de Pistas y Puertas y
+ * máximos de las colas.
+ * <p>
+ * CONCURRENCIA: contadores "a rayas" (LongAdder / LongAccumulator). Cada Operario suma en su
+ * propia celda cuando hay contención, así que contar no crea un punto caliente compartido ni
+ * bloquea; solo al leer se suman las celdas. Los máximos solo escriben cuando se supera el
+ * anterior. Las lecturas son aproximadas mientras la simulación sigue en marcha y exactas
+ * cuando ya no llegan peticiones.
+ */
+public final class TowerCounters {
+
+    private final LongAdder registradas = new LongAdder();
+    private final LongAdder procesadas = new LongAdder();
+    private final LongAdder aterrizajes = new LongAdder();
+    private final LongAdder despegues = new LongAdder();
+    private final LongAdder saturaciones = new LongAdder();
+    private final LongAdder aterrizajesPospuestos = new LongAdder();
+    private final LongAdder despeguesPospuestos = new LongAdder();
+    private final LongAdder ocupacionPistasNs = new LongAdder();
+    private final LongAdder ocupacionPuertasNs = new LongAdder();
+    private final LongAccumulator maxCola = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxAterrizajesPendientes = new LongAccumulator(Math::max, 0);
+    private final LongAccumulator maxDespeguesPendientes = new LongAccumulator(Math::max, 0);
+
+    // --- Anotaciones (solo la Torre) ---
+
+    void peticionRegistrada(int enCola) {
+        registradas.increment();
+        maxCola.accumulate(enCola);
+    }
+
+    void peticionRechazada() { saturaciones.increment(); }
+
+    void peticionProcesada() { procesadas.increment(); }
+
+    void aterrizajeConcedido() { aterrizajes.increment(); }
+
+    void despegueConcedido() { despegues.increment(); }
+
+    void aterrizajePospuesto(int pendientes) {
+        aterrizajesPospuestos.increment();
+        maxAterrizajesPendientes.accumulate(pendientes);
+    }
+
+    void despeguePospuesto(int pendientes) {
+        despeguesPospuestos.increment();
+        maxDespeguesPendientes.accumulate(pendientes);
+    }
+
+    void pistaOcupada(long nanos) { ocupacionPistasNs.add(nanos); }
+
+    void puertaOcupada(long nanos) { ocupacionPuertasNs.add(nanos); }
+
+    // --- Lecturas ---
+
+    /** Peticiones aceptadas en la cola de entrada. */
+    public long getRegistradas() { return registradas.sum(); }
+    /** Peticiones que un Operario ha terminado de procesar. */
+    public long getProcesadas() { return procesadas.sum(); }
+    public long getAterrizajes() { return aterrizajes.sum(); }
+    public long getDespegues() { return despegues.sum(); }
+    /** Aterrizajes más despegues concedidos. */
+    public long getMovimientos() { return getAterrizajes() + getDespegues(); }
+    /** Peticiones rechazadas por cola llena (SaturationException). */
+    public long getSaturaciones() { return saturaciones.sum(); }
+    public long getAterrizajesPospuestos() { return aterrizajesPospuestos.sum(); }
+    public long getDespeguesPospuestos() { return despeguesPospuestos.sum(); }
+    /** Suma del tiempo que ha estado ocupada cada Pista (ns, reloj de la Torre). */
+    public long getOcupacionPistasNs() { return ocupacionPistasNs.sum(); }
+    /** Suma del tiempo que ha estado ocupada cada Puerta (ns, reloj de la Torre). */
+    public long getOcupacionPuertasNs() { return ocupacionPuertasNs.sum(); }
+    public long getMaxCola() { return maxCola.get(); }
+    public long getMaxAterrizajesPendientes() { return maxAterrizajesPendientes.get(); }
+    public long getMaxDespeguesPendientes() { return maxDespeguesPendientes.get(); }
+}
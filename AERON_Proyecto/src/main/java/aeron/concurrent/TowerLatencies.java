@@ -0,0 +1,70 @@
+package aeron.concurrent;
+
+/**
+ * Latencias de las peticiones de la Torre: un {@link LatencyHistogram} por cada tipo de
+ * petición ({@link RequestType}) y tramo ({@link LatencyPhase}).
+ * <p>
+ * La Torre fecha cada {@link Request} al encolarla, sacarla, posponerla, concederla y
+ * completarla, y registra aquí cada tramo en cuanto se cierra. Todos los histogramas se crean
+ * al principio, así que registrar no reserva memoria ni bloquea.
+ */
+public final class TowerLatencies {
+
+    /** Percentiles que se publican en el resumen y en el panel. */
+    public static final double[] PERCENTILES = {0.50, 0.99, 0.999};
+
+    private static final RequestType[] TIPOS = RequestType.values();
+    private static final LatencyPhase[] FASES = LatencyPhase.values();
+
+    private final LatencyHistogram[][] histogramas =
+            new LatencyHistogram[TIPOS.length][FASES.length];
+
+    public TowerLatencies() {
+        for (int t = 0; t < TIPOS.length; t++) {
+            for (int f = 0; f < FASES.length; f++) histogramas[t][f] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Registra la duración de un tramo. Lock-free y sin reservar memoria.
+     */
+    public void registrar(RequestType tipo, LatencyPhase fase, long nanos) {
+        histogramas[tipo.ordinal()][fase.ordinal()].registrar(nanos);
+    }
+
+    public LatencyHistogram getHistograma(RequestType tipo, LatencyPhase fase) {
+        return histogramas[tipo.ordinal()][fase.ordinal()];
+    }
+
+    /**
+     * Tabla con p50, p99, p99.9 y máximo (en ms) de cada tipo y tramo con medidas.
+     */
+    public String resumen() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-9s %-8s %9s %10s %10s %10s %10s%n",
+                "PETICION", "TRAMO", "n", "p50(ms)", "p99(ms)", "p99.9(ms)", "max(ms)"));
+        for (RequestType tipo : TIPOS) {
+            for (LatencyPhase fase : FASES) {
+                LatencyHistogram h = getHistograma(tipo, fase);
+                if (h.getCuenta() == 0) continue;
+                sb.append(String.format("%-9s %-8s %9d %10.3f %10.3f %10.3f %10.3f%n", tipo, fase,
+                        h.getCuenta(), ms(h.percentil(PERCENTILES[0])), ms(h.percentil(PERCENTILES[1])),
+                        ms(h.percentil(PERCENTILES[2])), ms(h.getMaximo())));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Escribe p50, p99, p99.9 y máximo (ns) de un histograma en {@code destino} (4 posiciones).
+     */
+    public void percentiles(RequestType tipo, LatencyPhase fase, long[] destino) {
+        LatencyHistogram h = getHistograma(tipo, fase);
+        for (int i = 0; i < PERCENTILES.length; i++) destino[i] = h.percentil(PERCENTILES[i]);
+        destino[PERCENTILES.length] = h.getMaximo();
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,63 @@
+package aeron.concurrent;
+
+import java.util.Arrays;
+
+/**
+ * Foto del estado de la Torre para pintarla en la interfaz gráfica: quién ocupa cada Pista y
+ * cada Puerta, cuántas peticiones esperan y cuánto tardan en concederse.
+ * <p>
+ * La rellena {@link ControlTowerConcurrent#capturarEstado(TowerSnapshot)} sin bloquear a los
+ * Operarios, así que es una muestra "aproximada": cada recurso es coherente por sí mismo, pero
+ * dos recursos pueden estar leídos en instantes ligeramente distintos.
+ */
+public final class TowerSnapshot {
+
+    /** Recurso ocupado por un avión que aún no se ha anotado en el registro de ocupación. */
+    public static final String RESERVADO = "";
+
+    /** Avión en cada pista (por índice): null si está libre. */
+    public final String[] pistas;
+
+    /** Avión en cada puerta (por índice): null si está libre. */
+    public final String[] puertas;
+
+    /** Peticiones en la cola de entrada y en las listas de espera de la Torre. */
+    public int enCola;
+    public int aterrizajesPendientes;
+    public int despeguesPendientes;
+
+    /** Latencia de concesión (registro -> concesión) de aterrizajes y despegues: p50, p99, p99.9 y máximo en ns. */
+    public final long[] latenciaAterrizaje = new long[TowerLatencies.PERCENTILES.length + 1];
+    public final long[] latenciaDespegue = new long[TowerLatencies.PERCENTILES.length + 1];
+
+    public TowerSnapshot(int numPistas, int numPuertas) {
+        this.pistas = new String[numPistas];
+        this.puertas = new String[numPuertas];
+    }
+
+    /**
+     * Copia aquí el contenido de otra foto del mismo aeropuerto.
+     */
+    public void copiarDe(TowerSnapshot otra) {
+        System.arraycopy(otra.pistas, 0, pistas, 0, pistas.length);
+        System.arraycopy(otra.puertas, 0, puertas, 0, puertas.length);
+        enCola = otra.enCola;
+        aterrizajesPendientes = otra.aterrizajesPendientes;
+        despeguesPendientes = otra.despeguesPendientes;
+        System.arraycopy(otra.latenciaAterrizaje, 0, latenciaAterrizaje, 0, latenciaAterrizaje.length);
+        System.arraycopy(otra.latenciaDespegue, 0, latenciaDespegue, 0, latenciaDespegue.length);
+    }
+
+    /**
+     * @return true si las dos fotos muestran exactamente lo mismo.
+     */
+    public boolean mismoEstado(TowerSnapshot otra) {
+        return enCola == otra.enCola
+                && aterrizajesPendientes == otra.aterrizajesPendientes
+                && despeguesPendientes == otra.despeguesPendientes
+                && Arrays.equals(latenciaAterrizaje, otra.latenciaAterrizaje)
+                && Arrays.equals(latenciaDespegue, otra.latenciaDespegue)
+                && Arrays.equals(pistas, otra.pistas)
+                && Arrays.equals(puertas, otra.puertas);
+    }
+}
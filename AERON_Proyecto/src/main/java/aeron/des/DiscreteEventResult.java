@@ -0,0 +1,103 @@
+package aeron.des;
+
+import java.util.Arrays;
+
+/**
+ * Resultados de una ejecución del motor de eventos discretos (o de una ejecución con hilos
+ * medida igual, para compararlas). Todos los tiempos están en nanosegundos.
+ */
+public final class DiscreteEventResult {
+
+    private final int aviones;
+    private final int completados;
+    private final long perdidas;
+    private final long eventos;
+    private final long duracionVirtualNs;
+    private final long duracionRealNs;
+
+    // Ordenados de menor a mayor (solo los de aviones que llegaron a esa fase)
+    private final long[] esperasAterrizaje;
+    private final long[] esperasDespegue;
+    private final long[] estancias;
+
+    /**
+     * @param esperasAterrizaje Espera desde la petición de aterrizaje hasta la concesión (se ordena aquí).
+     * @param esperasDespegue Espera desde la petición de despegue hasta la concesión (se ordena aquí).
+     * @param estancias Desde la petición de aterrizaje hasta la salida (se ordena aquí).
+     */
+    public DiscreteEventResult(int aviones, int completados, long perdidas, long eventos,
+                               long duracionVirtualNs, long duracionRealNs,
+                               long[] esperasAterrizaje, long[] esperasDespegue, long[] estancias) {
+        this.aviones = aviones;
+        this.completados = completados;
+        this.perdidas = perdidas;
+        this.eventos = eventos;
+        this.duracionVirtualNs = duracionVirtualNs;
+        this.duracionRealNs = duracionRealNs;
+        this.esperasAterrizaje = ordenar(esperasAterrizaje);
+        this.esperasDespegue = ordenar(esperasDespegue);
+        this.estancias = ordenar(estancias);
+    }
+
+    public int getAviones() { return aviones; }
+    public int getCompletados() { return completados; }
+    /** Peticiones rechazadas por cola llena (saturación). */
+    public long getPerdidas() { return perdidas; }
+    /** Eventos ejecutados (0 en una ejecución con hilos). */
+    public long getEventos() { return eventos; }
+    public long getDuracionVirtualNs() { return duracionVirtualNs; }
+    public long getDuracionRealNs() { return duracionRealNs; }
+
+    /** Movimientos (aterrizajes + despegues) completados. */
+    public long getMovimientos() {
+        return esperasAterrizaje.length + (long) esperasDespegue.length;
+    }
+
+    public double mediaEsperaAterrizajeMs() { return media(esperasAterrizaje); }
+    public double p99EsperaAterrizajeMs() { return percentil(esperasAterrizaje, 0.99); }
+    public double mediaEsperaDespegueMs() { return media(esperasDespegue); }
+    public double p99EsperaDespegueMs() { return percentil(esperasDespegue, 0.99); }
+    public double mediaEstanciaMs() { return media(estancias); }
+    public double p99EstanciaMs() { return percentil(estancias, 0.99); }
+
+    /**
+     * Resumen en varias líneas, listo para imprimir.
+     */
+    public String resumen() {
+        double horas = duracionVirtualNs / 3.6e12;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Aviones=%d  Completados=%d  Movimientos=%d  Peticiones perdidas=%d%n",
+                aviones, completados, getMovimientos(), perdidas));
+        sb.append(String.format("Tiempo simulado=%.2f h  Tiempo real=%.2f s  Eventos=%d%n",
+                horas, duracionRealNs / 1e9, eventos));
+        sb.append(String.format("Movimientos/hora=%.0f%n", horas > 0 ? getMovimientos() / horas : 0.0));
+        sb.append(String.format("Espera aterrizaje: media=%.1f ms  p50=%.1f ms  p99=%.1f ms%n",
+                media(esperasAterrizaje), percentil(esperasAterrizaje, 0.50), percentil(esperasAterrizaje, 0.99)));
+        sb.append(String.format("Espera despegue:   media=%.1f ms  p50=%.1f ms  p99=%.1f ms%n",
+                media(esperasDespegue), percentil(esperasDespegue, 0.50), percentil(esperasDespegue, 0.99)));
+        sb.append(String.format("Estancia:          media=%.1f ms  p50=%.1f ms  p99=%.1f ms%n",
+                media(estancias), percentil(estancias, 0.50), percentil(estancias, 0.99)));
+        return sb.toString();
+    }
+
+    private static long[] ordenar(long[] valores) {
+        long[] copia = valores.clone();
+        Arrays.sort(copia);
+        return copia;
+    }
+
+    // Media en milisegundos
+    private static double media(long[] ordenados) {
+        if (ordenados.length == 0) return 0;
+        double suma = 0;
+        for (long v : ordenados) suma += v;
+        return suma / ordenados.length / 1e6;
+    }
+
+    // Percentil en milisegundos
+    private static double percentil(long[] ordenados, double p) {
+        if (ordenados.length == 0) return 0;
+        int i = (int) Math.ceil(p * ordenados.length) - 1;
+        return ordenados[Math.max(0, Math.min(i, ordenados.length - 1))] / 1e6;
+    }
+}
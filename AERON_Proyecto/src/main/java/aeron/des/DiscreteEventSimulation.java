@@ -0,0 +1,245 @@
+package aeron.des;
+
+import aeron.concurrent.Authorization;
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.Request;
+import aeron.concurrent.RingBufferRequestQueue;
+import aeron.concurrent.SchedulingPolicy;
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Motor de SIMULACIÓN POR EVENTOS DISCRETOS: ejecuta el mismo escenario que el modo concurrente
+ * sin hilos ni esperas reales, en un único hilo y con un reloj VIRTUAL.
+ * <p>
+ * FUNCIONAMIENTO:
+ * - Cada Thread.sleep del Avión (vuelo, aterrizaje, pausas, embarque, despegue) y del Operario
+ *   es un evento programado en una {@link EventQueue} para el instante virtual en que terminaría.
+ * - El motor saca siempre el evento más próximo, adelanta el reloj hasta él y lo ejecuta.
+ *   Entre dos eventos no pasa tiempo: un día de tráfico se simula en segundos.
+ * <p>
+ * MISMAS REGLAS QUE EL MODO CON HILOS:
+ * Los aviones son {@link Airplane} normales y recorren la misma máquina de estados
+ * ({@link FlightStatus}); las peticiones pasan por la misma {@link ControlTowerConcurrent}
+ * (cola de entrada, listas de espera, política de reparto). Solo cambia quién espera:
+ * - Los Operarios son "servidores" virtuales: sacan una petición, la procesan y quedan ocupados
+ *   durante su pausa; si la cola está vacía se apuntan como libres hasta que llegue otra.
+ * - En lugar de bloquearse, cada avión recibe un resguardo que, al concederse, programa su
+ *   siguiente fase.
+ * - La Torre fecha las peticiones con el reloj virtual, así que prioridades y envejecimiento
+ *   funcionan igual que con tiempo real.
+ * <p>
+ * Conviene silenciar el Logger (Logger.setSilencioso) antes de ejecutar: la Torre sigue
+ * registrando sus eventos de log.
+ */
+public class DiscreteEventSimulation {
+
+    // Duraciones fijas del ciclo del avión (las mismas que en Airplane.run)
+    private static final long ATERRIZAJE_NS = 100_000_000L;
+    private static final long PAUSA_TECNICA_NS = 50_000_000L;
+    private static final long DESPEGUE_NS = 100_000_000L;
+
+    // Cola de entrada holgada: con cientos de miles de vuelos no queremos perder peticiones
+    private static final int CAPACIDAD_COLA_POR_DEFECTO = 1 << 16;
+
+    private final ControlTowerConcurrent torre;
+    private final RingBufferRequestQueue cola;
+    private final long pausaOperarioNs;
+
+    private final EventQueue eventos = new EventQueue();
+    private final ArrayDeque<String> operariosLibres = new ArrayDeque<>();
+
+    // Reloj virtual (ns desde el inicio de la simulación). La Torre fecha las peticiones con él.
+    private final VirtualClock reloj = new VirtualClock();
+
+    // --- Medidas por avión (índice en la flota) ---
+    private long[] pideAterrizaje;
+    private long[] esperaAterrizaje;
+    private long[] pideDespegue;
+    private long[] esperaDespegue;
+    private long[] estancia;
+    private int completados;
+    private long perdidas;
+
+    /**
+     * Resguardo que, en lugar de despertar a un hilo, programa la siguiente fase del avión.
+     */
+    private final class ResguardoSimulado extends Authorization {
+        private final Airplane avion;
+        private final int indice;
+        private final boolean aterrizaje;
+
+        ResguardoSimulado(Airplane avion, int indice, boolean aterrizaje) {
+            this.avion = avion;
+            this.indice = indice;
+            this.aterrizaje = aterrizaje;
+        }
+
+        @Override
+        public void conceder() {
+            super.conceder();
+            if (aterrizaje) {
+                esperaAterrizaje[indice] = reloj.ahora() - pideAterrizaje[indice];
+                eventos.programar(reloj.ahora(), () -> aterrizar(avion, indice));
+            } else {
+                esperaDespegue[indice] = reloj.ahora() - pideDespegue[indice];
+                eventos.programar(reloj.ahora(), () -> despegar(avion, indice));
+            }
+        }
+    }
+
+    /**
+     * @param pistas Número de pistas.
+     * @param puertas Número de puertas.
+     * @param operarios Número de Operarios de la Torre.
+     * @param pausaOperarioMs Descanso de cada Operario tras una petición (50 ms en el modo con hilos).
+     * @param politica Política de reparto de la Torre.
+     */
+    public DiscreteEventSimulation(int pistas, int puertas, int operarios, long pausaOperarioMs,
+                                   SchedulingPolicy politica) {
+        this.cola = new RingBufferRequestQueue(CAPACIDAD_COLA_POR_DEFECTO);
+        this.torre = new ControlTowerConcurrent(pistas, puertas, cola, politica);
+        this.torre.setReloj(reloj);
+        this.pausaOperarioNs = pausaOperarioMs * 1_000_000L;
+        for (int i = 1; i <= operarios; i++) operariosLibres.add(String.format("OP-%03d", i));
+    }
+
+    /**
+     * Simula todo el tráfico hasta que no queda ningún evento.
+     * Cada motor se usa para una sola ejecución.
+     */
+    public DiscreteEventResult ejecutar(TrafficModel trafico) {
+        int n = trafico.getAviones();
+        long[] lanzamientos = new long[n];
+        List<Airplane> flota = trafico.crearFlota(null, 0, lanzamientos);
+
+        pideAterrizaje = new long[n];
+        esperaAterrizaje = new long[n];
+        pideDespegue = new long[n];
+        esperaDespegue = new long[n];
+        estancia = new long[n];
+        Arrays.fill(esperaAterrizaje, -1);
+        Arrays.fill(esperaDespegue, -1);
+        Arrays.fill(estancia, -1);
+
+        for (int i = 0; i < n; i++) {
+            Airplane avion = flota.get(i);
+            int indice = i;
+            // Como en Airplane.run: vuela hasta el aeropuerto y pide aterrizar
+            eventos.programar(lanzamientos[i] + avion.getRetrasoLlegadaMs() * 1_000_000L,
+                    () -> pedirAterrizaje(avion, indice));
+        }
+
+        long inicioReal = System.nanoTime();
+        EventQueue.Evento evento;
+        long ejecutados = 0;
+        while ((evento = eventos.siguiente()) != null) {
+            reloj.avanzarHasta(evento.getInstante());
+            evento.accion.run();
+            ejecutados++;
+        }
+        long duracionReal = System.nanoTime() - inicioReal;
+
+        return new DiscreteEventResult(n, completados, perdidas, ejecutados, reloj.ahora(), duracionReal,
+                medidos(esperaAterrizaje), medidos(esperaDespegue), medidos(estancia));
+    }
+
+    /**
+     * @return Instante virtual actual (ns desde el inicio de la simulación).
+     */
+    public long getAhora() {
+        return reloj.ahora();
+    }
+
+    public ControlTowerConcurrent getTorre() {
+        return torre;
+    }
+
+    // --- FASES DEL AVIÓN (mismo orden y duraciones que Airplane.run) ---
+
+    private void pedirAterrizaje(Airplane avion, int i) {
+        avion.prepararAutorizacion(new ResguardoSimulado(avion, i, true));
+        avion.setStatus(FlightStatus.LANDING_REQUEST);
+        pideAterrizaje[i] = reloj.ahora();
+        registrar(avion);
+    }
+
+    private void aterrizar(Airplane avion, int i) {
+        avion.setStatus(FlightStatus.LANDING);
+        registrar(avion);
+        eventos.programar(reloj.ahora() + ATERRIZAJE_NS, () -> {
+            avion.setStatus(FlightStatus.LANDED);
+            registrar(avion);
+            eventos.programar(reloj.ahora() + PAUSA_TECNICA_NS, () -> embarcar(avion, i));
+        });
+    }
+
+    private void embarcar(Airplane avion, int i) {
+        avion.setStatus(FlightStatus.BOARDING);
+        eventos.programar(reloj.ahora() + avion.getTiempoEmbarqueMs() * 1_000_000L, () -> {
+            avion.setStatus(FlightStatus.BOARDED);
+            registrar(avion);
+            eventos.programar(reloj.ahora() + PAUSA_TECNICA_NS, () -> pedirDespegue(avion, i));
+        });
+    }
+
+    private void pedirDespegue(Airplane avion, int i) {
+        avion.prepararAutorizacion(new ResguardoSimulado(avion, i, false));
+        avion.setStatus(FlightStatus.TAKEOFF_REQUESTED);
+        pideDespegue[i] = reloj.ahora();
+        registrar(avion);
+    }
+
+    private void despegar(Airplane avion, int i) {
+        avion.setStatus(FlightStatus.DEPARTING);
+        registrar(avion);
+        eventos.programar(reloj.ahora() + DESPEGUE_NS, () -> {
+            avion.setStatus(FlightStatus.DEPARTED);
+            registrar(avion);
+            estancia[i] = reloj.ahora() - pideAterrizaje[i];
+            completados++;
+        });
+    }
+
+    // --- OPERARIOS ---
+
+    // Entrega la petición a la Torre y, si hay un Operario libre, lo pone a trabajar
+    private void registrar(Airplane avion) {
+        int antes = cola.size();
+        if (!torre.registrarPeticion(avion)) {
+            // Cola llena: la Torre la ha rechazado (aquí no se reintenta, se cuenta como perdida)
+            perdidas++;
+            return;
+        }
+        // Estados como LANDING o DEPARTING no generan petición: no hay nada que atender
+        if (cola.size() == antes) return;
+        String operario = operariosLibres.poll();
+        if (operario != null) eventos.programar(reloj.ahora(), () -> trabajar(operario));
+    }
+
+    // Como Operario.run: saca una petición, la procesa y descansa. Sin trabajo, queda libre.
+    private void trabajar(String operario) {
+        if (cola.size() == 0) {
+            operariosLibres.add(operario);
+            return;
+        }
+        try {
+            Request peticion = torre.obtenerSiguientePeticion();
+            torre.procesarPeticion(peticion, operario);
+        } catch (InterruptedException e) {
+            // La cola tenía peticiones y estamos en un solo hilo: obtenerSiguientePeticion no espera
+            Thread.currentThread().interrupt();
+            return;
+        }
+        eventos.programar(reloj.ahora() + pausaOperarioNs, () -> trabajar(operario));
+    }
+
+    // Solo los valores medidos (los aviones que no llegaron a una fase quedan a -1)
+    private static long[] medidos(long[] valores) {
+        return Arrays.stream(valores).filter(v -> v >= 0).toArray();
+    }
+}
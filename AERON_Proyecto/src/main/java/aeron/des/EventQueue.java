@@ -0,0 +1,68 @@
+package aeron.des;
+
+import java.util.PriorityQueue;
+
+/**
+ * Cola de eventos del motor de eventos discretos, ordenada por instante VIRTUAL.
+ * <p>
+ * ESTRUCTURA: montículo binario (PriorityQueue) -> programar() y siguiente() en O(log n).
+ * Dos eventos del mismo instante salen en el orden en que se programaron, así que una
+ * ejecución con la misma semilla recorre siempre la misma secuencia de eventos.
+ * <p>
+ * No es thread-safe: solo la usa el hilo del motor.
+ */
+public final class EventQueue {
+
+    /** Acción programada para un instante virtual. */
+    public static final class Evento implements Comparable<Evento> {
+        final long instante;
+        final long orden;
+        final Runnable accion;
+
+        Evento(long instante, long orden, Runnable accion) {
+            this.instante = instante;
+            this.orden = orden;
+            this.accion = accion;
+        }
+
+        public long getInstante() { return instante; }
+
+        @Override
+        public int compareTo(Evento otro) {
+            if (instante != otro.instante) return instante < otro.instante ? -1 : 1;
+            return Long.compare(orden, otro.orden);
+        }
+    }
+
+    private final PriorityQueue<Evento> monticulo = new PriorityQueue<>();
+    private long programados;
+
+    /**
+     * Programa una acción.
+     * @param instante Instante virtual (ns) en el que debe ejecutarse.
+     */
+    public void programar(long instante, Runnable accion) {
+        monticulo.add(new Evento(instante, programados++, accion));
+    }
+
+    /**
+     * Saca el evento más próximo.
+     * @return El evento, o null si ya no queda ninguno.
+     */
+    public Evento siguiente() {
+        return monticulo.poll();
+    }
+
+    public boolean isEmpty() {
+        return monticulo.isEmpty();
+    }
+
+    public int size() {
+        return monticulo.size();
+    }
+
+    /** Total de eventos programados desde el principio. */
+    public long getProgramados() {
+        return programados;
+    }
+}
@@ -0,0 +1,64 @@
+package aeron.des;
+
+import aeron.model.Airplane;
+import aeron.util.TowerInterface;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tráfico reproducible: a partir de una semilla genera siempre los mismos aviones (tiempos de
+ * vuelo y embarque), las mismas llegadas (proceso de Poisson), las mismas emergencias de
+ * combustible y las mismas salidas programadas.
+ * <p>
+ * Lo usan tanto el motor de eventos discretos como el modo con hilos, así que los dos modos
+ * se pueden comparar con el mismo tráfico.
+ */
+public final class TrafficModel {
+
+    /** Escala programada: desde que el avión despega de su origen hasta su hora de salida. */
+    public static final long ESCALA_PROGRAMADA_NS = 2_500_000_000L;
+
+    private final int aviones;
+    private final long intervaloMedioNs;
+    private final double probabilidadEmergencia;
+    private final long semilla;
+
+    /**
+     * @param aviones Número de aviones.
+     * @param intervaloMedioNs Tiempo medio entre el lanzamiento de dos aviones consecutivos.
+     * @param probabilidadEmergencia Probabilidad de que un avión llegue con emergencia de combustible.
+     * @param semilla Semilla del generador de aleatorios.
+     */
+    public TrafficModel(int aviones, long intervaloMedioNs, double probabilidadEmergencia, long semilla) {
+        this.aviones = aviones;
+        this.intervaloMedioNs = intervaloMedioNs;
+        this.probabilidadEmergencia = probabilidadEmergencia;
+        this.semilla = semilla;
+    }
+
+    /**
+     * Crea la flota. Cada avión lleva su instante de lanzamiento, relativo al origen, en {@code lanzamientos}.
+     * @param torre Torre con la que hablarán los aviones (null si no se van a ejecutar en hilos).
+     * @param origenNs Instante (en la escala del reloj de la Torre) que corresponde al lanzamiento 0.
+     * @param lanzamientos Array de tamaño {@link #getAviones()} que se rellena con los lanzamientos (ns).
+     */
+    public List<Airplane> crearFlota(TowerInterface torre, long origenNs, long[] lanzamientos) {
+        Random random = new Random(semilla);
+        List<Airplane> flota = new ArrayList<>(aviones);
+        long lanzamiento = 0;
+        for (int i = 0; i < aviones; i++) {
+            Airplane avion = new Airplane(String.format("IBE-%06d", i + 1), torre, random);
+            if (random.nextDouble() < probabilidadEmergencia) avion.declararEmergenciaCombustible();
+            avion.setSalidaProgramada(origenNs + lanzamiento + ESCALA_PROGRAMADA_NS);
+            lanzamientos[i] = lanzamiento;
+            flota.add(avion);
+            // Llegadas de Poisson: tiempo entre lanzamientos exponencial
+            lanzamiento += (long) (-Math.log(1 - random.nextDouble()) * intervaloMedioNs);
+        }
+        return flota;
+    }
+
+    public int getAviones() { return aviones; }
+}
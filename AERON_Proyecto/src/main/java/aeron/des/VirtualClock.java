@@ -0,0 +1,69 @@
+package aeron.des;
+
+import aeron.util.SimulationClock;
+
+import java.util.Random;
+
+/**
+ * Reloj VIRTUAL del motor de eventos discretos: la hora es la del evento que se está ejecutando
+ * y solo avanza cuando el motor salta al siguiente.
+ * <p>
+ * Nadie duerme en una simulación por eventos (cada espera es un evento programado), así que
+ * dormir() no hace nada. Los aleatorios salen de la semilla dada.
+ */
+public final class VirtualClock implements SimulationClock {
+
+    // Solo lo usa el hilo del motor
+    private long ahora;
+    private final Random semillas;
+
+    /**
+     * Reloj virtual con aleatorios de semilla 0.
+     */
+    public VirtualClock() {
+        this(0);
+    }
+
+    /**
+     * @param semilla Semilla de los aleatorios que reparte el reloj.
+     */
+    public VirtualClock(long semilla) {
+        this.semillas = new Random(semilla);
+    }
+
+    @Override
+    public long ahora() {
+        return ahora;
+    }
+
+    /**
+     * Adelanta el reloj hasta el instante de un evento. El tiempo nunca retrocede.
+     */
+    void avanzarHasta(long instante) {
+        if (instante < ahora) {
+            throw new IllegalStateException("Evento en el pasado: " + instante + " < " + ahora);
+        }
+        ahora = instante;
+    }
+
+    /**
+     * No hace nada y vuelve enseguida: en la simulación por eventos las esperas se programan como
+     * eventos y el tiempo solo avanza cuando el motor salta al siguiente. Si algún código pensado
+     * para hilos (Operario.run, Airplane.run...) llegara a dormir con este reloj, su espera dura
+     * cero tiempo virtual en lugar de romper la simulación.
+     */
+    @Override
+    public void dormir(long ms) {
+        // Sin efecto (ver arriba)
+    }
+
+    @Override
+    public Random nuevoAleatorio() {
+        return new Random(semillas.nextLong());
+    }
+
+    @Override
+    public String toString() {
+        return "virtual";
+    }
+}
@@ -1,8 +1,13 @@
 package aeron.main;
 
 import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.StandardSchedulingPolicy;
 import aeron.model.Airplane;
 import aeron.net.DashboardServer;
+import aeron.util.RealClock;
+import aeron.util.ScaledClock;
+import aeron.util.SeededClock;
+import aeron.util.SimulationClock;
 
 /**
  * Clase Principal (Main) que orquesta toda la ejecución del proyecto AERON.
@@ -18,8 +23,39 @@ public class Simulation {
     // CAMBIAMOS ESTO PARA PROBAR UN MODO U OTRO
     // El enunciado pide que se pueda elegir aquí
     // DEFENSA: Cambiando esta variable alternamos entre la Práctica 2 y la Práctica 7.
+    // CONCURRENT_VIRTUAL ejecuta el mismo escenario con hilos virtuales.
     private static final SimulationMode MODE = SimulationMode.CONCURRENT;
 
+    // Política de reparto de Pistas y Puertas de la Torre (se puede cambiar con el primer argumento,
+    // ej: "java aeron.main.Simulation fifo"). Para elegir la mejor: PoliticasRepartoBenchmark (benchmarks/)
+    private static final StandardSchedulingPolicy POLITICA = StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES;
+
+    // Velocidad del tiempo simulado en el modo concurrente (1 = tiempo real, 100 = cien veces más rápido)
+    // y semilla del tráfico (SIN_SEMILLA = aleatorio en cada ejecución). Se pueden cambiar con el
+    // segundo y tercer argumento, ej: "java aeron.main.Simulation fifo 100 42".
+    private static final double VELOCIDAD = 1.0;
+    private static final long SIN_SEMILLA = -1;
+    private static final long SEMILLA = SIN_SEMILLA;
+
+    // Tiempo entre el lanzamiento de un avión y su hora de despegue programada
+    private static final long ESCALA_PROGRAMADA_NS = 2_500_000_000L;
+
+    // Escenario por eventos discretos: un día virtual, tráfico reproducible y Operarios como en el modo concurrente
+    private static final long DIA_NS = 24L * 3_600_000_000_000L;
+    private static final long SEMILLA_TRAFICO = 42;
+    private static final long PAUSA_OPERARIO_MS = 50;
+    private static final long UNA_HORA_MS = 3_600_000L;
+
+    // Espera máxima (ms reales) a que los Operarios procesen los últimos avisos antes del resumen
+    private static final long ESPERA_ULTIMAS_PETICIONES_MS = 5_000;
+
+    // Espera máxima (ms reales) a que terminen todos los aviones antes del resumen.
+    // Los que sigan en marcha se interrumpen y cuentan como no completados.
+    private static final long ESPERA_MAXIMA_AVIONES_MS = 60_000;
+
+    // Espera máxima (ms reales) a que los aviones interrumpidos salgan de su hilo
+    private static final long ESPERA_AVIONES_INTERRUMPIDOS_MS = 1_000;
+
     // Referencia estática al servidor para que el Logger pueda acceder a él fácilmente
     // y enviar mensajes de broadcast.
     public static DashboardServer server;
@@ -29,19 +65,66 @@ public class Simulation {
      * Despacha la ejecución según el modo configurado.
      */
     public static void main(String[] args) {
-        if (MODE == SimulationMode.SEQUENTIAL) {
-            runSequential();
-        } else {
-            runConcurrent();
+        StandardSchedulingPolicy politica = args.length > 0 ? StandardSchedulingPolicy.porNombre(args[0]) : POLITICA;
+        double velocidad = args.length > 1 ? Double.parseDouble(args[1]) : VELOCIDAD;
+        long semilla = args.length > 2 ? Long.parseLong(args[2]) : SEMILLA;
+        SimulationClock reloj = crearReloj(velocidad, semilla);
+        switch (MODE) {
+            case SEQUENTIAL:         runSequential(); break;
+            case CONCURRENT:         runConcurrent(false, politica, reloj); break;
+            case CONCURRENT_VIRTUAL: runConcurrent(true, politica, reloj); break;
+            case DISCRETE_EVENT:     runDiscreteEvent(politica); break;
+        }
+    }
+
+    /**
+     * Reloj de los actores según la velocidad y la semilla pedidas.
+     * @param velocidad Factor de aceleración del tiempo (1 = tiempo real).
+     * @param semilla Semilla del tráfico, o SIN_SEMILLA.
+     */
+    public static SimulationClock crearReloj(double velocidad, long semilla) {
+        SimulationClock reloj = velocidad == 1.0 ? RealClock.INSTANCIA : new ScaledClock(velocidad);
+        return semilla == SIN_SEMILLA ? reloj : new SeededClock(reloj, semilla);
+    }
+
+    /**
+     * Arranca una tarea en un hilo nuevo: virtual o de plataforma (nativo) según el modo.
+     * @return El hilo ya arrancado.
+     */
+    public static Thread lanzarHilo(Runnable tarea, boolean hiloVirtual) {
+        if (hiloVirtual) {
+            return Thread.ofVirtual().start(tarea);
+        }
+        Thread hilo = new Thread(tarea);
+        hilo.start(); // .start() inicia un nuevo hilo de ejecución
+        return hilo;
+    }
+
+    /**
+     * Espera a que terminen los hilos, pero como mucho 'maxMs' en total (no por hilo).
+     */
+    private static void esperarHilos(java.util.List<Thread> hilos, long maxMs) throws InterruptedException {
+        long limite = System.nanoTime() + maxMs * 1_000_000L;
+        for (Thread hilo : hilos) {
+            long restanteMs = (limite - System.nanoTime()) / 1_000_000L;
+            if (restanteMs <= 0) return;
+            hilo.join(restanteMs);
         }
     }
 
     /**
      * Configuración del escenario CONCURRENTE (Prácticas 3 a 7).
      * Levanta el sistema completo con Hilos, Semáforos, Monitores y Sockets.
+     * @param hilosVirtuales true para ejecutar Aviones y Operarios en hilos virtuales.
+     * @param politica Política de reparto de Pistas y Puertas de la Torre.
+     * @param reloj Reloj de la Torre, los Operarios y los Aviones (real, acelerado o con semilla).
      */
-    private static void runConcurrent() {
+    private static void runConcurrent(boolean hilosVirtuales, StandardSchedulingPolicy politica,
+                                      SimulationClock reloj) {
         System.out.println("--- INICIANDO MODO CONCURRENTE (SISTEMA DISTRIBUIDO) ---");
+        if (hilosVirtuales) System.out.println("--- Aviones y Operarios en HILOS VIRTUALES ---");
+        System.out.println("--- Política de reparto: " + politica + " ---");
+        System.out.println("--- Reloj: " + reloj + " ---");
 
         // Configuramos los parámetros de la simulación
         int numAviones = 20;
@@ -52,47 +135,44 @@ public class Simulation {
         // 1. INICIAR SERVIDOR (Práctica 7)
         try {
             // Arrancamos el servidor en un hilo aparte para aceptar conexiones del Panel Remoto
-            server = new aeron.net.DashboardServer(9999);
+            // Modo fusionado: cada 50 ms, a cada panel solo el último estado de los vuelos que han cambiado
+            server = new aeron.net.DashboardServer(9999, aeron.net.SlowConsumerPolicy.FUSIONAR, 1024, 50);
             server.start();
             System.out.println("✅ [SERVIDOR] Listo en puerto 9999.");
         } catch (Exception e) {
             System.err.println("❌ [SERVIDOR] Error: " + e.getMessage());
         }
 
-        // =============================================================
-        // ✋ ESPERA AUTOMÁTICA DE CLIENTES (Mejora de Usabilidad)
-        // =============================================================
-        // DEFENSA: Este bloque no lo pide el enunciado explícitamente, pero lo añadimos
-        // para garantizar que el Panel Remoto no pierda los primeros eventos.
-        // La simulación se pausa hasta que detectamos que el cliente se ha conectado.
-        System.out.println("\n┌────────────────────────────────────────────────────────┐");
-        System.out.println("│  ⏳ ESPERANDO AL PANEL REMOTO...                       │");
-        System.out.println("│  --> Ejecuta ahora 'RemotePanel' para continuar.       │");
-        System.out.println("└────────────────────────────────────────────────────────┘");
-
-        // Bucle que comprueba cada medio segundo si alguien se ha conectado
-        while (server.getNumClients() == 0) {
-            try {
-                Thread.sleep(500);
-                System.out.print("."); // Efecto visual de espera
-            } catch (InterruptedException e) {}
-        }
-        System.out.println("\n\n🔌 ¡CLIENTE DETECTADO! LANZANDO SIMULACIÓN... 🚀\n");
-        // =============================================================
+        // Ya no esperamos al Panel Remoto: al conectarse (cuando sea) recibe la foto completa
+        // de los vuelos y después los cambios, así que no se pierde ningún evento.
+        System.out.println("ℹ️  [SERVIDOR] Ejecuta 'RemotePanel' cuando quieras para ver los vuelos.\n");
 
         // 2. INICIAMOS EL LOGGER (Práctica 1 y 6)
         // Preparamos los ficheros y carpetas de logs
-        aeron.util.Logger.setup("CONCURRENT", numAviones, numPistas, numPuertas, numOperarios);
+        SimulationMode modo = hilosVirtuales ? SimulationMode.CONCURRENT_VIRTUAL : SimulationMode.CONCURRENT;
+        aeron.util.Logger.setup(modo.name(), numAviones, numPistas, numPuertas, numOperarios);
+
+        // Tablero binario de vuelos (mapeado en memoria) para monitores externos
+        try {
+            aeron.board.FlightBoard.abrir(java.nio.file.Paths.get("aeropuerto.board"), numAviones);
+        } catch (java.io.IOException e) {
+            System.err.println("❌ [TABLERO] No se ha podido crear aeropuerto.board: " + e.getMessage());
+        }
 
         // 3. CREAMOS LA TORRE (Práctica 4 - Monitor y Semáforos)
         // Nota: La creación de Pistas (PISx) y Puertas (GATE x) se hace DENTRO del constructor de la torre
-        ControlTowerConcurrent tower = new ControlTowerConcurrent(numPistas, numPuertas);
+        ControlTowerConcurrent tower = new ControlTowerConcurrent(numPistas, numPuertas, politica);
+        // Antes de contratar a los Operarios: heredan el reloj de la Torre
+        tower.setReloj(reloj);
+
+        // Tablas de estado (recursos y cola) en el log, como mucho 4 veces por segundo
+        tower.iniciarVolcadoEstado(250);
 
         // CONTRATAR OPERARIOS (Hilos Consumidores)
         // Creamos los hilos que procesarán la cola de peticiones
         for (int i = 1; i <= numOperarios; i++) {
             aeron.concurrent.Operario op = new aeron.concurrent.Operario(tower, i);
-            new Thread(op).start(); // .start() inicia un nuevo hilo de ejecución
+            lanzarHilo(op, hilosVirtuales);
         }
 
         // 4. ABRIMOS LA VENTANA (GUI Swing)
@@ -101,24 +181,102 @@ public class Simulation {
         // Vinculamos la ventana al logger para que reciba los mensajes
         aeron.util.Logger.setWindow(ventana);
 
+        // Panel gráfico de pistas, puertas y colas: fotos de la Torre 10 veces por segundo
+        aeron.util.AirportBoardPanel tablero = new aeron.util.AirportBoardPanel(numPistas, numPuertas);
+        ventana.mostrarTablero(tablero);
+        tablero.seguir(tower, 100);
+
         // 5. LANZAMOS LOS AVIONES (Hilos Productores)
+        // Guardamos aviones e hilos para esperar a que terminen antes del resumen
+        java.util.List<aeron.model.Airplane> flota = new java.util.ArrayList<>(numAviones);
+        java.util.List<Thread> hilosAviones = new java.util.ArrayList<>(numAviones);
+        long inicio = reloj.ahora();
         for (int i = 1; i <= numAviones; i++) {
             // CAMBIO: Formato del PDF "IBE-" seguido de 3 dígitos (001, 002...)
             String flightId = "IBE-" + String.format("%03d", i);
 
             // PRÁCTICA 5: Registramos el avion en el JSON con estado inicial
             aeron.util.AirportJson.actualizarEstado(flightId, "IN_FLIGHT");
+            aeron.board.FlightBoard.actualizar(flightId, aeron.model.FlightStatus.IN_FLIGHT, -1, -1);
 
             // Creamos la instancia y el hilo
-            aeron.model.Airplane avion = new aeron.model.Airplane(flightId, tower);
-            new Thread(avion).start(); // .start() es vital para que sea concurrente
+            aeron.model.Airplane avion = new aeron.model.Airplane(flightId, tower, reloj);
+
+            // Prioridades de la lista de espera: uno de cada diez vuelos llega con emergencia de
+            // combustible y todos tienen una salida programada (llegada + escala típica)
+            if (i % 10 == 0) avion.declararEmergenciaCombustible();
+            avion.setSalidaProgramada(reloj.ahora() + ESCALA_PROGRAMADA_NS);
+            flota.add(avion);
+            hilosAviones.add(lanzarHilo(avion, hilosVirtuales)); // arrancar el hilo es vital para que sea concurrente
 
             // Pequeña pausa para escalonar las llegadas y no saturar el log instantáneamente
-            try { Thread.sleep(50); } catch (InterruptedException e) {}
+            try { reloj.dormir(50); } catch (InterruptedException e) {}
+        }
+
+        // PRÁCTICA 6: Cuando TODOS los aviones han terminado (y la Torre ha procesado sus últimos
+        // avisos) generamos el resumen estadístico con lo que ha medido la Torre
+        int atascados = 0;
+        try {
+            // Con plazo: si un avión no termina (ej: su autorización nunca llega) no bloquea el resumen
+            esperarHilos(hilosAviones, ESPERA_MAXIMA_AVIONES_MS);
+
+            // Los que siguen en marcha se interrumpen: salen de su espera y cuentan como sin terminar
+            for (Thread hilo : hilosAviones) {
+                if (hilo.isAlive()) {
+                    hilo.interrupt();
+                    atascados++;
+                }
+            }
+            if (atascados > 0) esperarHilos(hilosAviones, ESPERA_AVIONES_INTERRUMPIDOS_MS);
+            tower.esperarPeticionesProcesadas(ESPERA_ULTIMAS_PETICIONES_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (atascados > 0) {
+            System.err.println("⚠️  [RESUMEN] " + atascados + " aviones no han terminado en "
+                    + ESPERA_MAXIMA_AVIONES_MS / 1000 + " s: se han interrumpido y cuentan como vuelos sin completar.");
         }
+        long duracion = reloj.ahora() - inicio;
+        int completados = 0;
+        for (aeron.model.Airplane a : flota) {
+            if (a.getStatus() == aeron.model.FlightStatus.DEPARTED) completados++;
+        }
+        aeron.util.AirportStats.generarResumen(numAviones, completados, atascados, numPistas, numPuertas,
+                duracion, tower);
+    }
+
+    /**
+     * Configuración del escenario por EVENTOS DISCRETOS.
+     * Simula un día completo de un aeropuerto muy transitado (~150.000 vuelos en 24 h virtuales)
+     * con la misma Torre que el modo concurrente, en un solo hilo y sin ventana ni Sockets.
+     * @param politica Política de reparto de Pistas y Puertas de la Torre.
+     */
+    private static void runDiscreteEvent(StandardSchedulingPolicy politica) {
+        System.out.println("--- INICIANDO MODO EVENTOS DISCRETOS (" + politica + ") ---");
+
+        int numAviones = 150_000;
+        int numPistas = 3;
+        int numPuertas = 5;
+        int numOperarios = 5;
+
+        // Sin consola, JSON ni Sockets: cientos de miles de eventos de log por segundo
+        aeron.util.Logger.setSilencioso(true);
+        aeron.util.Logger.setPoliticaDesbordamiento(aeron.util.LogOverflowPolicy.DESCARTAR);
+        aeron.util.AirportJson.setModoPersistencia(aeron.util.JsonPersistenceMode.AGRUPADO,
+                UNA_HORA_MS, Integer.MAX_VALUE);
+
+        // Llegadas repartidas a lo largo de 24 horas virtuales, con 1 de cada 10 en emergencia
+        aeron.des.TrafficModel trafico = new aeron.des.TrafficModel(numAviones,
+                DIA_NS / numAviones, 0.1, SEMILLA_TRAFICO);
+        aeron.des.DiscreteEventSimulation motor = new aeron.des.DiscreteEventSimulation(
+                numPistas, numPuertas, numOperarios, PAUSA_OPERARIO_MS, politica);
 
-        // PRÁCTICA 6: Al terminar el lanzamiento, generamos el resumen estadístico
-        aeron.util.AirportStats.generarResumen(numAviones, numPistas);
+        aeron.des.DiscreteEventResult resultado = motor.ejecutar(trafico);
+        System.out.print(resultado.resumen());
+        System.out.print(motor.getTorre().getLatencias().resumen());
+        aeron.util.AirportStats.generarResumen(numAviones, resultado.getCompletados(),
+                numAviones - resultado.getCompletados(), numPistas, numPuertas,
+                resultado.getDuracionVirtualNs(), motor.getTorre());
     }
 
     /**
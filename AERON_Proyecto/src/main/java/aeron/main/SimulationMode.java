@@ -23,5 +23,28 @@ public enum SimulationMode {
      * Se utilizan Semáforos y Monitores para la sincronización.
      * (Corresponde al escenario final del proyecto).
      */
-    CONCURRENT
+    CONCURRENT,
+
+    /**
+     * Igual que CONCURRENT, pero los Aviones y Operarios se ejecutan en HILOS VIRTUALES (Java 21+).
+     * Cada hilo virtual ocupa unos pocos KB en el heap en lugar de una pila nativa,
+     * lo que permite simular cientos de miles de vuelos simultáneos en una sola máquina.
+     * <p>
+     * MEMORIA: con la misma flota el proceso puede ocupar MÁS que con hilos de plataforma, y no
+     * es una fuga. Crear un hilo virtual es tan barato que TODOS los vuelos llegan a estar vivos
+     * a la vez (100.000 de 100.000), mientras que con hilos de plataforma la propia creación frena
+     * el lanzamiento y solo coinciden unos pocos miles. Cada vuelo aparcado guarda su pila en el
+     * heap (StackChunk, ~1 KB), y el GC reserva además margen libre sobre el heap vivo.
+     * Con los mismos vuelos vivos a la vez el modo virtual ocupa alrededor de la mitad
+     * (ver FlotaBenchmark en el módulo benchmarks). Si importa el pico, -XX:MaxHeapFreeRatio=20
+     * recorta ese margen.
+     */
+    CONCURRENT_VIRTUAL,
+
+    /**
+     * Simulación por EVENTOS DISCRETOS (aeron.des): misma Torre y mismos aviones, pero sin hilos
+     * ni esperas reales. Un reloj virtual salta de evento en evento, así que se puede simular
+     * un día entero de tráfico en segundos y con resultados reproducibles (semilla fija).
+     */
+    DISCRETE_EVENT
 }
\ No newline at end of file
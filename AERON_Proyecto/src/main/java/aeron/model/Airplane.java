@@ -1,6 +1,10 @@
 package aeron.model;
 
+import aeron.concurrent.Authorization;
+import aeron.util.LogEventType;
 import aeron.util.Logger;
+import aeron.util.RealClock;
+import aeron.util.SimulationClock;
 import aeron.util.TowerInterface;
 import java.util.Random;
 
@@ -16,27 +20,78 @@ public class Airplane implements Runnable {
     private String id;
 
     // Estado actual del avión (crucial para la máquina de estados de la Torre)
-    private FlightStatus status;
+    // volatile: lo escriben tanto el propio avión como los Operarios de la Torre
+    private volatile FlightStatus status;
+
+    // Resguardo de la petición de aterrizaje/despegue en curso.
+    // La Torre lo completa al asignar recursos y eso despierta a este hilo.
+    private volatile Authorization autorizacion;
 
     // Referencia a la torre (interfaz) para poder enviarle peticiones sin conocer su implementación interna
     private TowerInterface tower;
 
-    // Generador de aleatorios para simular tiempos variables de vuelo y embarque
-    private Random random = new Random();
+    // Reloj con el que el avión mide sus tiempos de vuelo, maniobra y embarque
+    private final SimulationClock reloj;
+
+    // Tiempos variables de vuelo hasta el aeropuerto y de embarque. Se sortean al crear el avión
+    // para que la Torre conozca la escala prevista y el tráfico se pueda reproducir con una semilla.
+    private final int retrasoLlegadaMs;
+    private final int tiempoEmbarqueMs;
 
     // Variables para almacenar los recursos que me asigne el Operario
     // Necesario para mostrar en el log: "Me ha tocado la pista X"
     private String assignedRunwayId;
     private String assignedGateId;
 
+    // Espera antes del primer reintento cuando la Torre rechaza una petición por saturación.
+    // Se dobla en cada rechazo hasta el máximo, para no insistir todos a la vez sobre la cola llena.
+    private static final long REINTENTO_INICIAL_MS = 10;
+    private static final long REINTENTO_MAXIMO_MS = 500;
+
+    /** Valor de la hora de salida cuando el vuelo no tiene una programada. */
+    public static final long SIN_SALIDA_PROGRAMADA = Long.MIN_VALUE;
+
+    // Prioridades ante la Torre: emergencia de combustible (aterrizaje) y hora de salida
+    // programada (despegue, en la escala del reloj de la Torre). Se fijan antes de arrancar el hilo.
+    private volatile boolean emergenciaCombustible;
+    private volatile long salidaProgramada = SIN_SALIDA_PROGRAMADA;
+
     /**
      * Constructor del avión.
      * @param id Identificador del vuelo.
      * @param tower Referencia a la torre de control con la que nos comunicaremos.
      */
     public Airplane(String id, TowerInterface tower) {
+        this(id, tower, RealClock.INSTANCIA);
+    }
+
+    /**
+     * Constructor con el reloj de la simulación (acelerado, con semilla...).
+     * @param reloj Reloj del que el avión saca sus esperas y sus tiempos aleatorios.
+     */
+    public Airplane(String id, TowerInterface tower, SimulationClock reloj) {
+        this(id, tower, reloj, reloj.nuevoAleatorio());
+    }
+
+    /**
+     * Constructor con un generador de aleatorios concreto (tráfico reproducible con semilla).
+     * @param random Generador del que se sortean los tiempos de vuelo y de embarque.
+     */
+    public Airplane(String id, TowerInterface tower, Random random) {
+        this(id, tower, RealClock.INSTANCIA, random);
+    }
+
+    /**
+     * Constructor completo.
+     * @param reloj Reloj con el que el avión mide sus esperas.
+     * @param random Generador del que se sortean los tiempos de vuelo y de embarque.
+     */
+    public Airplane(String id, TowerInterface tower, SimulationClock reloj, Random random) {
         this.id = id;
         this.tower = tower;
+        this.reloj = reloj;
+        this.retrasoLlegadaMs = random.nextInt(1000) + 500;
+        this.tiempoEmbarqueMs = random.nextInt(500);
         // Inicializamos el avión directamente en vuelo antes de llegar al aeropuerto
         this.status = FlightStatus.IN_FLIGHT;
     }
@@ -55,12 +110,56 @@ public class Airplane implements Runnable {
      */
     public void setAssignedGateId(String id) { this.assignedGateId = id; }
 
+    /**
+     * Marca el vuelo con emergencia de combustible: su aterrizaje pasa por delante en la lista de espera.
+     */
+    public void declararEmergenciaCombustible() { this.emergenciaCombustible = true; }
+    public boolean isEmergenciaCombustible() { return emergenciaCombustible; }
+
+    /**
+     * Hora de salida programada del vuelo. Si el despegue se retrasa, gana prioridad en la lista de espera.
+     * @param nanos Instante en la escala del reloj de la Torre (System.nanoTime en tiempo real).
+     */
+    public void setSalidaProgramada(long nanos) { this.salidaProgramada = nanos; }
+    public long getSalidaProgramada() { return salidaProgramada; }
+    public boolean tieneSalidaProgramada() { return salidaProgramada != SIN_SALIDA_PROGRAMADA; }
+
+    /** Tiempo hasta llegar al aeropuerto y pedir aterrizaje. */
+    public int getRetrasoLlegadaMs() { return retrasoLlegadaMs; }
+
+    /** Escala prevista: tiempo que el avión ocupará la puerta embarcando. */
+    public int getTiempoEmbarqueMs() { return tiempoEmbarqueMs; }
+
     public String getId() { return id; }
     public FlightStatus getStatus() { return status; }
 
     // Permite cambiar mi estado (usado por mí mismo o por la Torre para autorizarme)
     public void setStatus(FlightStatus status) { this.status = status; }
 
+    /**
+     * Resguardo de la petición de aterrizaje o despegue que el avión está esperando.
+     * La Torre lo guarda junto a la petición y llama a conceder() al asignar recursos.
+     */
+    public Authorization getAutorizacion() { return autorizacion; }
+
+    /**
+     * Prepara un resguardo nuevo para la próxima petición de aterrizaje o despegue.
+     * Debe llamarse ANTES de registrar la petición en la Torre.
+     * @return El resguardo que la Torre completará al conceder los recursos.
+     */
+    public Authorization prepararAutorizacion() {
+        return prepararAutorizacion(new Authorization());
+    }
+
+    /**
+     * Igual que {@link #prepararAutorizacion()}, pero con un resguardo dado (por ejemplo, uno que
+     * avisa al motor de eventos discretos al concederse en lugar de despertar a un hilo).
+     */
+    public Authorization prepararAutorizacion(Authorization resguardo) {
+        this.autorizacion = resguardo;
+        return resguardo;
+    }
+
     /**
      * Lógica principal del hilo del avión.
      * Ejecuta secuencialmente las fases de Aterrizaje, Embarque y Despegue.
@@ -68,114 +167,131 @@ public class Airplane implements Runnable {
     @Override
     public void run() {
         // Log inicial para trazar que el hilo ha arrancado
-        Logger.logEventos("Avión [" + id + " - " + status + "] Inicia ciclo");
-        Logger.logEventos("Avión [" + id + " - " + status + "] El avión está en vuelo");
+        Logger.evento(LogEventType.AVION_INICIA_CICLO, id, status.name());
+        Logger.evento(LogEventType.AVION_EN_VUELO, id, status.name());
 
         try {
             // Simulamos el tiempo que tarda el avión en llegar al espacio aéreo del aeropuerto
-            Thread.sleep(random.nextInt(1000) + 500);
+            reloj.dormir(retrasoLlegadaMs);
 
             // =============================================================
             // FASE 1: SOLICITUD DE ATERRIZAJE
             // =============================================================
 
-            // 1. Cambio mi estado a "Solicitando Aterrizaje"
+            // 1. Cambio mi estado a "Solicitando Aterrizaje" y preparo el resguardo
+            //    que la Torre completará cuando me asigne Pista y Puerta
+            prepararAutorizacion();
             this.status = FlightStatus.LANDING_REQUEST;
-            Logger.logEventos("Avión [" + id + " - IN_FLIGHT] Solicita aterrizaje a torre de control");
+            Logger.evento(LogEventType.AVION_SOLICITA_ATERRIZAJE, id);
+            if (emergenciaCombustible) Logger.evento(LogEventType.AVION_EMERGENCIA_COMBUSTIBLE, id);
 
             // 2. Productor: Añado mi petición a la cola de la torre
-            // (La torre gestionará la concurrencia y los semáforos internamente)
-            tower.registrarPeticion(this);
+            // (La torre gestionará la concurrencia internamente; si su cola está llena, reintento)
+            notificarTorre();
 
-            Logger.logEventos("Avión [" + id + " - LANDING_REQUEST] Solicitud de aterrizaje en cola");
-            Logger.logEventos("Avión [" + id + " - LANDING_REQUEST] Espera autorización de aterrizaje");
+            Logger.evento(LogEventType.AVION_ATERRIZAJE_EN_COLA, id);
+            Logger.evento(LogEventType.AVION_ESPERA_ATERRIZAJE, id);
 
-            // 3. ESPERA ACTIVA (Punto clave de la defensa):
-            // Me quedo en este bucle "durmiendo" a trocitos hasta que un Operario
-            // procese mi petición y cambie mi estado a LANDING_ASSIGNED.
-            // Usamos sleep(10) para no saturar la CPU mientras esperamos.
-            while (this.status != FlightStatus.LANDING_ASSIGNED) {
-                Thread.sleep(10);
-            }
+            // 3. ESPERA BLOQUEANTE (Punto clave de la defensa):
+            // Me quedo dormido (sin consumir CPU) hasta que un Operario procese mi petición,
+            // cambie mi estado a LANDING_ASSIGNED y complete mi resguardo de autorización.
+            // Ya no hay espera activa: la Torre me despierta en cuanto me concede el permiso.
+            autorizacion.esperar();
 
             // --- AQUÍ YA TENEMOS RECURSOS ASIGNADOS ---
             // Si el código llega aquí, es que el Operario me ha dado Pista y Puerta
-            Logger.logEventos("Avión [" + id + " - LANDING_ASSIGNED] Aterrizaje autorizado");
-            Logger.logEventos("Avión [" + id + " - LANDING_ASSIGNED] Me ha tocado aterrizar en la Pista [" + assignedRunwayId + "]");
-            Logger.logEventos("Avión [" + id + " - LANDING_ASSIGNED] Me ha tocado embarcar en la Puerta [" + assignedGateId + "]");
+            Logger.evento(LogEventType.AVION_ATERRIZAJE_AUTORIZADO, id);
+            Logger.eventoRecursos(LogEventType.AVION_PISTA_ATERRIZAJE, id, assignedRunwayId, null);
+            Logger.eventoRecursos(LogEventType.AVION_PUERTA_EMBARQUE, id, null, assignedGateId);
 
             // 4. Realizamos la maniobra de aterrizaje
             this.status = FlightStatus.LANDING;
-            Logger.logEventos("Avión [" + id + " - LANDING] Aterrizando");
+            Logger.evento(LogEventType.AVION_ATERRIZANDO, id);
 
             // Notificamos a la torre que estamos aterrizando (para actualizar el Panel/JSON)
-            tower.registrarPeticion(this);
+            notificarTorre();
 
             // Simulamos el tiempo que tardo en usar la pista
-            Thread.sleep(100);
+            reloj.dormir(100);
 
             // 5. Fin del aterrizaje
             this.status = FlightStatus.LANDED;
-            Logger.logEventos("Avión [" + id + " - LANDED] Aterrizado");
+            Logger.evento(LogEventType.AVION_ATERRIZADO, id);
 
             // Aviso a la torre de que he aterrizado.
             // IMPORTANTE: Esto hará que el Operario libere mi Pista (pero mantengo la Puerta).
-            tower.registrarPeticion(this);
-            Thread.sleep(50); // Pequeña pausa técnica
+            notificarTorre();
+            reloj.dormir(50); // Pequeña pausa técnica
 
             // =============================================================
             // FASE 2: EMBARQUE (Puerta asignada)
             // =============================================================
 
             this.status = FlightStatus.BOARDING;
-            Logger.logEventos("Avión [" + id + " - BOARDING] Embarcando");
+            Logger.evento(LogEventType.AVION_EMBARCANDO, id);
             // Simulamos el tiempo de carga/descarga de pasajeros
-            Thread.sleep(random.nextInt(500));
+            reloj.dormir(tiempoEmbarqueMs);
 
             this.status = FlightStatus.BOARDED;
-            Logger.logEventos("Avión [" + id + " - BOARDED] Embarcado");
+            Logger.evento(LogEventType.AVION_EMBARCADO, id);
 
             // Aviso a la torre. El Operario liberará mi Puerta.
-            tower.registrarPeticion(this);
-            Thread.sleep(50);
+            notificarTorre();
+            reloj.dormir(50);
 
             // =============================================================
             // FASE 3: SOLICITUD DE DESPEGUE
             // =============================================================
 
+            prepararAutorizacion();
             this.status = FlightStatus.TAKEOFF_REQUESTED;
-            Logger.logEventos("Avión [" + id + " - TAKEOFF_REQUESTED] Solicitud de despegue en cola");
+            Logger.evento(LogEventType.AVION_DESPEGUE_EN_COLA, id);
 
             // Vuelvo a ponerme en la cola, esta vez pidiendo pista de salida
-            tower.registrarPeticion(this);
+            notificarTorre();
 
-            // ESPERA ACTIVA 2: Espero a que me asignen una pista libre para irme
-            while (this.status != FlightStatus.TAKEOFF_ASSIGNED) {
-                Thread.sleep(10);
-            }
+            // ESPERA BLOQUEANTE 2: Duermo hasta que me asignen una pista libre para irme
+            autorizacion.esperar();
 
-            Logger.logEventos("Avión [" + id + " - TAKEOFF_ASSIGNED] Despegue autorizado");
-            Logger.logEventos("Avión [" + id + " - TAKEOFF_ASSIGNED] Me ha tocado despegar en la Pista [" + assignedRunwayId + "]");
+            Logger.evento(LogEventType.AVION_DESPEGUE_AUTORIZADO, id);
+            Logger.eventoRecursos(LogEventType.AVION_PISTA_DESPEGUE, id, assignedRunwayId, null);
 
             // Maniobra de despegue
             this.status = FlightStatus.DEPARTING;
-            Logger.logEventos("Avión [" + id + " - DEPARTING] Despegando");
+            Logger.evento(LogEventType.AVION_DESPEGANDO, id);
             // Actualizo panel
-            tower.registrarPeticion(this);
+            notificarTorre();
 
             // Tiempo ocupando la pista de despegue
-            Thread.sleep(100);
+            reloj.dormir(100);
 
             // Fin del ciclo
             this.status = FlightStatus.DEPARTED;
-            Logger.logEventos("Avión [" + id + " - DEPARTED] El avión ha despegado");
+            Logger.evento(LogEventType.AVION_DESPEGADO, id);
 
             // Último aviso: Libera la pista y salgo de la simulación
-            tower.registrarPeticion(this);
+            notificarTorre();
 
         } catch (InterruptedException e) {
-            // Manejo de interrupciones del hilo
-            e.printStackTrace();
+            // La simulación ha terminado sin nosotros (ej: Simulation agota su plazo de espera):
+            // lo dejamos en el log y salimos conservando la marca de interrupción
+            Logger.evento(LogEventType.AVION_INTERRUMPIDO, id, status.name());
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Envía a la Torre la petición (o el aviso) del estado actual.
+     * Si la Torre está saturada y la rechaza, se reintenta con esperas crecientes: una petición
+     * perdida dejaría al avión dormido para siempre en su resguardo, y un aviso LANDED, BOARDED o
+     * DEPARTED perdido dejaría su Pista o Puerta ocupada sin dueño.
+     */
+    private void notificarTorre() throws InterruptedException {
+        long esperaMs = REINTENTO_INICIAL_MS;
+        while (!tower.registrarPeticion(this)) {
+            Logger.evento(LogEventType.AVION_REINTENTA_PETICION, id, status.name());
+            reloj.dormir(esperaMs);
+            esperaMs = Math.min(esperaMs * 2, REINTENTO_MAXIMO_MS);
         }
     }
 
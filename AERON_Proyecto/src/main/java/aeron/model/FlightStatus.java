@@ -21,7 +21,7 @@ public enum FlightStatus {
     /**
      * ESTADO CRÍTICO DE SINCRONIZACIÓN:
      * La Torre ha asignado recursos (Pista + Puerta) y cambia el avión a este estado.
-     * Esto rompe el bucle 'while' de espera en el hilo del avión.
+     * Junto con el resguardo de autorización, despierta al hilo del avión que esperaba.
      */
     LANDING_ASSIGNED,   // Aterrizaje autorizado (tiene pista y puerta)
 
@@ -46,7 +46,7 @@ public enum FlightStatus {
     /**
      * ESTADO CRÍTICO DE SINCRONIZACIÓN:
      * La Torre ha asignado una Pista libre para salir.
-     * Desbloquea el segundo bucle de espera del avión.
+     * Desbloquea la segunda espera del avión.
      */
     TAKEOFF_ASSIGNED,   // Despegue autorizado
 
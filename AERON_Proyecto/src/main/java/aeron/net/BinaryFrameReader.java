@@ -0,0 +1,142 @@
+package aeron.net;
+
+import aeron.model.FlightStatus;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Lee tramas del protocolo binario ({@link BinaryProtocol}) y avisa al {@link Receptor} de cada
+ * foto y cambio recibido.
+ * <p>
+ * Guarda la tabla de handles anunciados por el servidor: el ID de cada vuelo se crea una sola
+ * vez como String y después se reutiliza en todos sus cambios.
+ */
+public class BinaryFrameReader {
+
+    /**
+     * Quien recibe lo que llega del servidor.
+     * <p>
+     * El estado llega como el nombre del {@link FlightStatus} (ej: "LANDED") y nunca es null: si el
+     * servidor envía un código que esta versión no conoce (un servidor más nuevo), llega
+     * {@link #ESTADO_DESCONOCIDO}, para que el vuelo siga a la vista en lugar de mostrar "null".
+     */
+    public interface Receptor {
+        /** Empieza una foto completa: lo que hubiera antes ya no vale. */
+        void foto(long secuencia);
+
+        /** Estado de un vuelo dentro de la foto. */
+        void estado(String vuelo, String estado);
+
+        /** Un cambio posterior a la foto (o a la reanudación). */
+        void cambio(String vuelo, String estado, long secuencia);
+    }
+
+    /**
+     * Estado que se entrega para un código que esta versión no conoce.
+     */
+    public static final String ESTADO_DESCONOCIDO = "DESCONOCIDO";
+
+    // Nombres de los estados por código (ordinal), creados una vez: leer un estado no reserva memoria
+    private static final String[] ESTADOS = nombres(FlightStatus.values());
+
+    private final DataInputStream in;
+
+    // IDs de vuelo por handle
+    private String[] vuelos = new String[64];
+
+    // Contenido de la trama actual (crece si llega una más grande)
+    private byte[] datos = new byte[8 * 1024];
+
+    // Bytes leídos del socket (cabeceras incluidas)
+    private long bytesLeidos;
+
+    public BinaryFrameReader(InputStream in) {
+        this.in = new DataInputStream(in);
+    }
+
+    /**
+     * Lee una trama completa y la entrega al receptor.
+     * @return false si el servidor ha cerrado la conexión.
+     * @throws IOException Si la conexión falla o la trama no es válida.
+     */
+    public boolean leerTrama(Receptor receptor) throws IOException {
+        int longitud;
+        try {
+            longitud = in.readInt();
+        } catch (EOFException e) {
+            return false;
+        }
+        if (longitud < 0) throw new IOException("Trama no válida");
+        if (longitud > datos.length) datos = new byte[Math.max(longitud, datos.length * 2)];
+        in.readFully(datos, 0, longitud);
+        bytesLeidos += BinaryProtocol.TAM_CABECERA + longitud;
+
+        ByteBuffer b = ByteBuffer.wrap(datos, 0, longitud);
+        while (b.hasRemaining()) {
+            byte tipo = b.get();
+            switch (tipo) {
+                case BinaryProtocol.VUELO: {
+                    int handle = b.getInt();
+                    int n = b.get();
+                    if (handle >= vuelos.length) vuelos = Arrays.copyOf(vuelos, Math.max(handle + 1, vuelos.length * 2));
+                    vuelos[handle] = new String(datos, b.position(), n, StandardCharsets.US_ASCII);
+                    b.position(b.position() + n);
+                    break;
+                }
+                case BinaryProtocol.FOTO:
+                    long secuenciaFoto = b.getLong();
+                    b.getInt(); // Número de vuelos de la foto (llegan a continuación)
+                    receptor.foto(secuenciaFoto);
+                    break;
+                case BinaryProtocol.ESTADO: {
+                    int handle = b.getInt();
+                    receptor.estado(vuelo(handle), estado(b.get()));
+                    break;
+                }
+                case BinaryProtocol.REANUDADO:
+                    b.getLong(); // Los cambios perdidos llegan a continuación
+                    break;
+                case BinaryProtocol.CAMBIO: {
+                    int handle = b.getInt();
+                    long secuencia = b.getLong();
+                    receptor.cambio(vuelo(handle), estado(b.get()), secuencia);
+                    break;
+                }
+                default:
+                    throw new IOException("Tipo de registro desconocido: " + tipo);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Bytes recibidos hasta ahora, cabeceras de trama incluidas.
+     */
+    public long getBytesLeidos() {
+        return bytesLeidos;
+    }
+
+    private String vuelo(int handle) throws IOException {
+        if (handle < 0 || handle >= vuelos.length || vuelos[handle] == null) {
+            throw new IOException("Handle de vuelo no anunciado: " + handle);
+        }
+        return vuelos[handle];
+    }
+
+    // ESTADO_DESCONOCIDO si el servidor envía un estado que esta versión no conoce
+    private static String estado(byte codigo) {
+        return codigo >= 0 && codigo < ESTADOS.length ? ESTADOS[codigo] : ESTADO_DESCONOCIDO;
+    }
+
+    private static String[] nombres(FlightStatus[] estados) {
+        String[] nombres = new String[estados.length];
+        for (int i = 0; i < estados.length; i++) nombres[i] = estados[i].name();
+        return nombres;
+    }
+}
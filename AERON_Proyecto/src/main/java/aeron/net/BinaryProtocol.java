@@ -0,0 +1,83 @@
+package aeron.net;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Protocolo BINARIO entre el {@link DashboardServer} y los Paneles Remotos.
+ * <p>
+ * Es opcional: el panel lo pide en el saludo ("HELLO BIN" o "RESUME 43 BIN"); si no, se usa
+ * el protocolo de texto de siempre. Frente al texto evita crear varios Strings por mensaje:
+ * <ul>
+ *   <li>Cada vuelo se anuncia UNA vez con un número (su "handle") y después solo se envía el número.</li>
+ *   <li>El estado viaja como un byte (el ordinal de {@link aeron.model.FlightStatus}).</li>
+ *   <li>Muchos cambios van juntos en una sola trama.</li>
+ * </ul>
+ * FORMATO (big-endian): cada trama es un int con la longitud del contenido y después una
+ * serie de registros, cada uno empezando por un byte de tipo:
+ * <pre>
+ *   VUELO      handle(int) longitud(byte) id(ASCII)    anuncia el ID de un handle
+ *   FOTO       secuencia(long) vuelos(int)             empieza una foto completa...
+ *   ESTADO     handle(int) estado(byte)                ...con el estado de cada vuelo
+ *   REANUDADO  secuencia(long)                         siguen los cambios desde esa secuencia
+ *   CAMBIO     handle(int) secuencia(long) estado(byte)
+ * </pre>
+ * Los handles no cambian mientras el servidor esté encendido.
+ */
+public final class BinaryProtocol {
+
+    /** Sufijo del saludo con el que el panel pide este protocolo. */
+    public static final String SUFIJO_SALUDO = " BIN";
+
+    public static final byte VUELO = 1;
+    public static final byte FOTO = 2;
+    public static final byte ESTADO = 3;
+    public static final byte REANUDADO = 4;
+    public static final byte CAMBIO = 5;
+
+    /** Estado que no corresponde a ningún FlightStatus. */
+    public static final byte ESTADO_DESCONOCIDO = -1;
+
+    // Longitud máxima de un ID de vuelo (la misma que en el tablero binario)
+    static final int MAX_ID = 35;
+
+    static final int TAM_CABECERA = 4;
+    static final int TAM_VUELO = 1 + 4 + 1 + MAX_ID;
+    static final int TAM_FOTO = 1 + 8 + 4;
+    static final int TAM_ESTADO = 1 + 4 + 1;
+    static final int TAM_REANUDADO = 1 + 8;
+    static final int TAM_CAMBIO = 1 + 4 + 8 + 1;
+
+    private BinaryProtocol() {}
+
+    /**
+     * ID de vuelo en ASCII, recortado a {@link #MAX_ID} caracteres.
+     */
+    static byte[] codificarId(String vuelo) {
+        byte[] id = vuelo.getBytes(StandardCharsets.US_ASCII);
+        if (id.length <= MAX_ID) return id;
+        byte[] recortado = new byte[MAX_ID];
+        System.arraycopy(id, 0, recortado, 0, MAX_ID);
+        return recortado;
+    }
+
+    static void escribirVuelo(ByteBuffer b, int handle, byte[] id) {
+        b.put(VUELO).putInt(handle).put((byte) id.length).put(id);
+    }
+
+    static void escribirFoto(ByteBuffer b, long secuencia, int vuelos) {
+        b.put(FOTO).putLong(secuencia).putInt(vuelos);
+    }
+
+    static void escribirEstado(ByteBuffer b, int handle, byte estado) {
+        b.put(ESTADO).putInt(handle).put(estado);
+    }
+
+    static void escribirReanudado(ByteBuffer b, long secuencia) {
+        b.put(REANUDADO).putLong(secuencia);
+    }
+
+    static void escribirCambio(ByteBuffer b, int handle, long secuencia, byte estado) {
+        b.put(CAMBIO).putInt(handle).putLong(secuencia).put(estado);
+    }
+}
@@ -0,0 +1,223 @@
+package aeron.net;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Estado de UN Panel Remoto conectado al {@link DashboardServer}.
+ * <p>
+ * Cada panel tiene su propio buffer de salida ACOTADO: si no lee, solo se llena su buffer y se
+ * aplica la política de consumidor lento ({@link SlowConsumerPolicy}); los demás paneles y la
+ * Torre no se enteran. Solo lo usa el hilo del bucle de eventos del servidor.
+ * <p>
+ * Un panel recién conectado no recibe nada hasta que envía su saludo (HELLO o RESUME);
+ * a partir de ahí está "activo" y recibe la foto inicial y las actualizaciones, en texto o
+ * en binario ({@link BinaryProtocol}) según haya pedido en el saludo.
+ */
+final class ClientConnection {
+
+    // Bytes listos para el socket (modo escritura: se rellena y se vacía con flip/compact)
+    private static final int TAM_BUFFER = 8 * 1024;
+
+    // Longitud máxima de la línea de saludo
+    private static final int MAX_SALUDO = 64;
+
+    final SocketChannel canal;
+    final SelectionKey clave;
+
+    private final SlowConsumerPolicy politica;
+    private final int capacidad;
+
+    // true cuando el panel ya ha saludado y recibe actualizaciones
+    boolean activo;
+    private final StringBuilder saludo = new StringBuilder();
+
+    // Protocolo binario: qué handles de vuelo ya se le han anunciado a este panel
+    boolean binario;
+    final BitSet anunciados = new BitSet();
+
+    // Bloques de protocolo (foto inicial, reanudación) que van antes que cualquier actualización
+    private final ArrayDeque<byte[]> bloques = new ArrayDeque<>();
+
+    // Actualizaciones pendientes de pasar al buffer de bytes, en orden de llegada
+    private final ArrayDeque<DashboardServer.Actualizacion> cola = new ArrayDeque<>();
+
+    // FUSIONAR: último estado pendiente de cada vuelo cuando la cola se ha llenado
+    private final LinkedHashMap<String, DashboardServer.Actualizacion> fusionados = new LinkedHashMap<>();
+
+    private final ByteBuffer salida = ByteBuffer.allocate(TAM_BUFFER);
+
+    // Lo que se está copiando al buffer y por dónde vamos (un bloque puede no caber de una vez)
+    private byte[] actual;
+    private int desplazamiento;
+
+    // Actualizaciones perdidas o fusionadas por ser lento
+    long descartados;
+
+    // DESCARTAR: se ha perdido algún cambio y el panel necesita una foto nueva antes del siguiente
+    boolean resincronizar;
+
+    ClientConnection(SocketChannel canal, SelectionKey clave, SlowConsumerPolicy politica, int capacidad) {
+        this.canal = canal;
+        this.clave = clave;
+        this.politica = politica;
+        this.capacidad = capacidad;
+    }
+
+    /**
+     * Acumula lo recibido del panel hasta completar la línea de saludo.
+     * @return La línea de saludo (sin salto de línea), o null si aún no ha llegado entera.
+     * @throws IOException Si el panel envía una línea demasiado larga.
+     */
+    String leerSaludo(ByteBuffer recibido) throws IOException {
+        while (recibido.hasRemaining()) {
+            char c = (char) recibido.get();
+            if (c == '\n') return saludo.toString().trim();
+            saludo.append(c);
+            if (saludo.length() > MAX_SALUDO) throw new IOException("Saludo no válido");
+        }
+        return null;
+    }
+
+    /**
+     * Encola un bloque de protocolo completo (foto inicial o reanudación), sin límite de tamaño.
+     */
+    void enviarBloque(byte[] datos) {
+        bloques.add(datos);
+    }
+
+    /**
+     * Encola la foto que devuelve al día a un panel que ha perdido cambios (DESCARTAR).
+     * A partir de aquí vuelve a recibir cambios, todos posteriores a la foto.
+     */
+    void enviarFoto(byte[] foto) {
+        bloques.add(foto);
+        resincronizar = false;
+    }
+
+    /**
+     * Añade una actualización al buffer del panel aplicando la política si está lleno.
+     * @return false si el panel debe desconectarse (política DESCONECTAR).
+     */
+    boolean encolar(DashboardServer.Actualizacion a) {
+        if (resincronizar) {
+            // La foto que espera este panel ya incluirá este cambio
+            descartados++;
+            return true;
+        }
+        if (politica == SlowConsumerPolicy.FUSIONAR && !fusionados.isEmpty()) {
+            // Ya estamos fusionando: mantenemos el orden dejando lo nuevo también en el mapa
+            fusionar(a);
+            return true;
+        }
+        if (cola.size() < capacidad) {
+            cola.add(a);
+            return true;
+        }
+        switch (politica) {
+            case DESCONECTAR:
+                return false;
+            case DESCARTAR:
+                // Con un hueco en la secuencia los cambios pendientes ya no sirven: se tiran
+                // y el panel recibirá una foto completa (ver resincronizar) antes del siguiente
+                descartados += cola.size() + 1;
+                cola.clear();
+                bloques.clear();
+                resincronizar = true;
+                return true;
+            default: // FUSIONAR
+                fusionar(a);
+                return true;
+        }
+    }
+
+    /**
+     * Guarda solo el último estado de cada vuelo, sin límite de mensajes (como mucho hay uno
+     * por vuelo). El vuelo pasa al final para que el envío siga en orden de secuencia.
+     */
+    void fusionar(DashboardServer.Actualizacion a) {
+        if (fusionados.remove(a.vuelo) != null) descartados++;
+        fusionados.put(a.vuelo, a);
+    }
+
+    /**
+     * Envía todo lo que el socket acepte SIN bloquear.
+     * @return true si todo se ha enviado, false si el socket está lleno y queda algo pendiente.
+     */
+    boolean escribir() throws IOException {
+        while (true) {
+            rellenar();
+            if (salida.position() == 0) return true;
+
+            salida.flip();
+            canal.write(salida);
+            boolean completo = !salida.hasRemaining();
+            salida.compact();
+            if (!completo) return false;
+        }
+    }
+
+    // Pasa datos pendientes al buffer de bytes hasta llenarlo: bloques, cola y fusionados, en ese orden
+    private void rellenar() {
+        while (salida.hasRemaining()) {
+            if (actual == null) {
+                actual = bloques.poll();
+                if (actual == null && !binario) {
+                    DashboardServer.Actualizacion a = siguiente();
+                    if (a != null) actual = a.linea();
+                }
+                desplazamiento = 0;
+                if (actual == null) break;
+            }
+            int n = Math.min(salida.remaining(), actual.length - desplazamiento);
+            salida.put(actual, desplazamiento, n);
+            desplazamiento += n;
+            if (desplazamiento == actual.length) actual = null;
+        }
+        if (binario && actual == null) rellenarTrama();
+    }
+
+    // Protocolo binario: todos los cambios que quepan, juntos en una sola trama
+    private void rellenarTrama() {
+        int inicio = salida.position();
+        if (salida.remaining() < BinaryProtocol.TAM_CABECERA + BinaryProtocol.TAM_VUELO + BinaryProtocol.TAM_CAMBIO) return;
+        salida.position(inicio + BinaryProtocol.TAM_CABECERA);
+
+        DashboardServer.Actualizacion a;
+        while (salida.remaining() >= BinaryProtocol.TAM_VUELO + BinaryProtocol.TAM_CAMBIO && (a = siguiente()) != null) {
+            if (!anunciados.get(a.handle)) {
+                BinaryProtocol.escribirVuelo(salida, a.handle, a.id);
+                anunciados.set(a.handle);
+            }
+            BinaryProtocol.escribirCambio(salida, a.handle, a.secuencia, a.codigo);
+        }
+
+        int longitud = salida.position() - inicio - BinaryProtocol.TAM_CABECERA;
+        if (longitud == 0) salida.position(inicio);
+        else salida.putInt(inicio, longitud);
+    }
+
+    private DashboardServer.Actualizacion siguiente() {
+        if (!cola.isEmpty()) return cola.poll();
+        Iterator<DashboardServer.Actualizacion> it = fusionados.values().iterator();
+        if (!it.hasNext()) return null;
+        DashboardServer.Actualizacion a = it.next();
+        it.remove();
+        return a;
+    }
+
+    void cerrar() {
+        clave.cancel();
+        try {
+            canal.close();
+        } catch (IOException e) {
+            // Ya estaba cerrado
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package aeron.net;
 
+import aeron.model.FlightStatus;
+
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.net.ServerSocket;
-import java.net.Socket;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Servidor TCP que implementa la parte distribuidas del sistema (Práctica 7).
@@ -15,77 +30,216 @@ import java.util.List;
  * clientes conectados (los Paneles Remotos). Actúa como un "repetidor" (Broadcaster):
  * cuando la Torre notifica un cambio, este servidor lo reenvía a todos los clientes.
  * <p>
- * CONCURRENCIA:
- * Extiende de 'Thread' para ejecutarse en paralelo a la simulación principal,
- * evitando que el bloqueo de red (esperar conexiones) detenga el movimiento de los aviones.
+ * CONCURRENCIA (NIO, sin bloqueos):
+ * Extiende de 'Thread' y ese único hilo ejecuta un bucle de eventos sobre un {@link Selector}:
+ * acepta conexiones, detecta cierres y escribe en los sockets SIN bloquear.
+ * - broadcastUpdate() solo deja la actualización en una cola concurrente y avisa al bucle:
+ *   el Operario que la llama no toca ningún socket ni espera a ningún panel.
+ * - Cada panel tiene un buffer de salida acotado ({@link ClientConnection}); si un panel se
+ *   atasca se aplica la política de consumidor lento ({@link SlowConsumerPolicy}).
+ * Así un panel lento (o mil paneles) no frenan a la Torre.
+ * <p>
+ * MODO FUSIONADO POR TICKS (tickMs &gt; 0):
+ * El Panel Remoto solo muestra el último estado de cada vuelo, así que no hace falta mandarle
+ * cada transición. En este modo el bucle acumula los cambios y, una vez por tick, envía a cada
+ * panel solo el estado más reciente de los vuelos que han cambiado, en una sola escritura.
+ * El ancho de banda y las llamadas al sistema dependen de los vuelos distintos que cambian en
+ * cada tick, no del ritmo de eventos de la Torre.
+ * <p>
+ * PROTOCOLO (texto, una línea por mensaje):
+ * El servidor guarda la TABLA de estados de todos los vuelos y numera cada cambio con una
+ * secuencia creciente. Al conectar, el panel saluda y el servidor le responde:
+ * <pre>
+ *   Panel:    HELLO                      (primera conexión)
+ *   Servidor: SNAPSHOT 42 3              (foto en la secuencia 42, con 3 vuelos)
+ *             IBE-001:LANDED
+ *             IBE-002:IN_FLIGHT
+ *             IBE-003:BOARDED
+ *             DELTA 43 IBE-002:LANDING_ASSIGNED   (cambios posteriores, uno por línea)
+ *
+ *   Panel:    RESUME 43                  (reconexión: último número de secuencia recibido)
+ *   Servidor: RESUMED 43                 (y solo los DELTA que se perdió, desde el 44)
+ * </pre>
+ * Si la reanudación ya no está en el historial reciente, se responde con un SNAPSHOT completo.
+ * Así un panel puede conectarse o reconectarse en cualquier momento sin perder nada.
+ * <p>
+ * Si el saludo termina en " BIN" ("HELLO BIN", "RESUME 43 BIN"), lo mismo se envía con el
+ * protocolo binario compacto ({@link BinaryProtocol}).
  */
 public class DashboardServer extends Thread {
 
+    // Actualizaciones pendientes por defecto en el buffer de cada panel
+    private static final int CAPACIDAD_POR_DEFECTO = 1024;
+
+    // Cambios recientes que se guardan para reanudar sin foto completa
+    private static final int TAM_HISTORIAL = 8192;
+
+    /**
+     * Una actualización de estado de un vuelo.
+     * La línea del protocolo ("DELTA 43 IBE-001:LANDED\n") la codifica el hilo del servidor la
+     * primera vez que la envía (así no se codifican las que se fusionan) y se comparte entre
+     * todos los paneles. Para el protocolo binario basta con handle, secuencia y código.
+     */
+    static final class Actualizacion {
+        final String vuelo;
+        final String estado;
+
+        // Número de secuencia, handle del vuelo y estado en binario (los asigna el hilo del servidor al recogerla)
+        long secuencia;
+        int handle;
+        byte codigo;
+        byte[] id;
+        private byte[] linea;
+
+        Actualizacion(String vuelo, String estado) {
+            this.vuelo = vuelo;
+            this.estado = estado;
+        }
+
+        // Solo desde el hilo del bucle de eventos
+        byte[] linea() {
+            if (linea == null) {
+                linea = ("DELTA " + secuencia + " " + vuelo + ":" + estado + "\n").getBytes(StandardCharsets.UTF_8);
+            }
+            return linea;
+        }
+    }
+
     // Puerto TCP donde escucharemos (ej: 9999)
     private int port;
 
-    // El socket del servidor que acepta las conexiones
-    private ServerSocket serverSocket;
+    // Política con los paneles lentos y tamaño del buffer de cada uno
+    private final SlowConsumerPolicy politica;
+    private final int capacidadPorCliente;
+
+    // Canal del servidor y selector del bucle de eventos (se abren al arrancar el hilo)
+    private ServerSocketChannel serverChannel;
+    private volatile Selector selector;
+
+    // Paneles conectados. Solo los toca el hilo del bucle de eventos.
+    private final List<ClientConnection> connectedClients = new ArrayList<>();
+    private final AtomicInteger numClientes = new AtomicInteger();
+
+    // RECURSO COMPARTIDO: Aquí dejan sus actualizaciones los hilos de la Simulación
+    private final ConcurrentLinkedQueue<Actualizacion> entrantes = new ConcurrentLinkedQueue<>();
+
+    // true si ya se ha despertado al selector y aún no ha recogido las actualizaciones
+    private final AtomicBoolean avisado = new AtomicBoolean(false);
 
-    // Lista de flujos de salida. Guardamos los 'PrintWriter' de cada cliente conectado
-    // para poder enviarles mensajes más tarde.
-    // RECURSO COMPARTIDO: Se accede desde el hilo del Server (al añadir) y desde los hilos de la Simulación (al enviar).
-    private List<PrintWriter> connectedClients;
+    // Modo fusionado: intervalo entre envíos (0 = enviar cada actualización al llegar)
+    private final long tickNanos;
+
+    // Modo fusionado: último estado de cada vuelo que ha cambiado desde el último tick
+    private final LinkedHashMap<String, Actualizacion> cambiosTick = new LinkedHashMap<>();
+
+    // Tabla autoritativa: último cambio de cada vuelo (solo el hilo del servidor)
+    private final LinkedHashMap<String, Actualizacion> tabla = new LinkedHashMap<>();
+
+    // Protocolo binario: handle de cada vuelo e ID en ASCII de cada handle (solo el hilo del servidor)
+    private final HashMap<String, Integer> handles = new HashMap<>();
+    private final List<byte[]> ids = new ArrayList<>();
+
+    // Último número de secuencia asignado y los cambios más recientes, por secuencia
+    private long secuencia = 0;
+    private final Actualizacion[] historial = new Actualizacion[TAM_HISTORIAL];
+
+    // Buffer para leer lo que envíen los paneles (su saludo)
+    private final ByteBuffer lectura = ByteBuffer.allocate(1024);
 
     /**
      * Constructor del servidor.
+     * Por defecto, un panel lento recibe solo el último estado de cada vuelo (FUSIONAR).
      * @param port El puerto donde se abrirá el servicio.
      */
     public DashboardServer(int port) {
+        this(port, SlowConsumerPolicy.FUSIONAR, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * @param port El puerto donde se abrirá el servicio.
+     * @param politica Qué hacer con los paneles que no leen a tiempo.
+     * @param capacidadPorCliente Actualizaciones que caben en el buffer de cada panel.
+     */
+    public DashboardServer(int port, SlowConsumerPolicy politica, int capacidadPorCliente) {
+        this(port, politica, capacidadPorCliente, 0);
+    }
+
+    /**
+     * @param port El puerto donde se abrirá el servicio.
+     * @param politica Qué hacer con los paneles que no leen a tiempo (solo si tickMs es 0).
+     * @param capacidadPorCliente Actualizaciones que caben en el buffer de cada panel.
+     * @param tickMs Si es mayor que 0, modo fusionado: un envío por panel cada tickMs milisegundos
+     *               con el último estado de cada vuelo que haya cambiado (ej: 50).
+     */
+    public DashboardServer(int port, SlowConsumerPolicy politica, int capacidadPorCliente, long tickMs) {
+        super("aeron-dashboard");
         this.port = port;
-        this.connectedClients = new ArrayList<>();
+        this.politica = politica;
+        this.capacidadPorCliente = Math.max(1, capacidadPorCliente);
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, tickMs));
     }
 
     /**
      * Devuelve el número de clientes conectados actualmente.
-     * Utilizado por la clase 'Simulation' para implementar la espera activa al inicio.
      */
-    // Para saber si hay alguien conectado
     public int getNumClients() {
-        // Sincronizamos el acceso a la lista porque podría estar modificándose
-        // justo cuando preguntamos su tamaño.
-        synchronized (connectedClients) {
-            return connectedClients.size();
-        }
+        return numClientes.get();
     }
 
     /**
-     * Ciclo de vida del hilo del servidor.
-     * Se encarga de aceptar nuevas conexiones y registrarlas.
+     * Ciclo de vida del hilo del servidor: bucle de eventos del Selector.
      */
     @Override
     public void run() {
         try {
-            // Abrimos el puerto TCP
-            serverSocket = new ServerSocket(port);
+            // Abrimos el puerto TCP en modo no bloqueante
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            serverChannel.configureBlocking(false);
+            Selector sel = Selector.open();
+            serverChannel.register(sel, SelectionKey.OP_ACCEPT);
+            selector = sel;
             System.out.println("[SERVIDOR] Escuchando conexiones en puerto " + port);
 
-            // Bucle infinito para aceptar múltiples clientes (pueden conectarse N paneles)
+            long siguienteTick = System.nanoTime() + tickNanos;
             while (true) {
-                // 1. ACEPTAR CONEXIÓN (Bloqueante)
-                // El hilo se detiene aquí hasta que un cliente (RemotePanel) intenta conectarse.
-                Socket clientSocket = serverSocket.accept();
-                System.out.println("[SERVIDOR] Nuevo Panel conectado desde: " + clientSocket.getInetAddress());
-
-                // 2. OBTENER FLUJO DE SALIDA
-                // Creamos un PrintWriter para enviarle texto a este cliente específico.
-                // 'true' activa el auto-flush (envío inmediato sin buffer).
-                PrintWriter out = new PrintWriter(clientSocket.getOutputStream(), true);
-
-                // 3. REGISTRAR CLIENTE (Sección Crítica)
-                // Usamos un bloque synchronized para proteger la lista.
-                // Evitamos conflictos si intentamos añadir un cliente mientras
-                // se está enviando un mensaje broadcast desde otro hilo.
-                synchronized (connectedClients) {
-                    connectedClients.add(out);
+                // 1. Repartimos las actualizaciones nuevas entre todos los paneles
+                boolean quedanMas = false;
+                long espera = 0;
+                if (tickNanos > 0) {
+                    acumularCambios();
+                    long ahora = System.nanoTime();
+                    if (ahora - siguienteTick >= 0) {
+                        publicarTick();
+                        siguienteTick = ahora + tickNanos;
+                    }
+                    espera = Math.max(1, TimeUnit.NANOSECONDS.toMillis(siguienteTick - ahora));
+                } else {
+                    quedanMas = repartir();
+                }
+
+                // 2. Esperamos a que pase algo: conexión, datos, hueco en un socket, aviso de la Torre
+                //    o el siguiente tick (si quedan actualizaciones por repartir, no esperamos)
+                if (quedanMas) sel.selectNow();
+                else sel.select(espera);
+                avisado.set(false);
+
+                // 3. Atendemos los eventos de red
+                Iterator<SelectionKey> it = sel.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey clave = it.next();
+                    it.remove();
+                    if (!clave.isValid()) continue;
+                    if (clave.isAcceptable()) {
+                        aceptar(sel);
+                    } else {
+                        ClientConnection cliente = (ClientConnection) clave.attachment();
+                        if (clave.isReadable()) leer(cliente);
+                        if (clave.isValid() && clave.isWritable()) enviar(cliente);
+                    }
                 }
             }
-        } catch (IOException e) {
+        } catch (IOException | ClosedSelectorException e) {
             System.err.println("[SERVIDOR] Error o cierre del servidor: " + e.getMessage());
         }
     }
@@ -93,22 +247,233 @@ public class DashboardServer extends Thread {
     /**
      * Envía una actualización de estado a TODOS los clientes conectados.
      * Este método es llamado por el Logger/Torre cada vez que ocurre algo relevante.
+     * No bloquea: encola la actualización y el hilo del servidor la envía.
      * * @param flightId ID del avión (ej: IBE-001).
      * @param status Nuevo estado (ej: LANDED).
      */
-    // Metodo que llamará la Torre/Logger para enviar novedades
     public void broadcastUpdate(String flightId, String status) {
-        // Definimos un protocolo de aplicación simple basado en texto: "CLAVE:VALOR"
-        String message = flightId + ":" + status; // Protocolo simple: "IBE-001:LANDED"
-
-        // EXCLUSIÓN MUTUA (Lectores-Escritores):
-        // Bloqueamos la lista para iterarla. Si no lo hiciéramos y llegara un cliente nuevo
-        // justo ahora, saltaría una ConcurrentModificationException.
-        synchronized (connectedClients) {
-            for (PrintWriter out : connectedClients) {
-                // Enviamos el mensaje por la red
-                out.println(message);
+        entrantes.add(new Actualizacion(flightId, status));
+
+        // En modo fusionado el bucle recoge los cambios en el siguiente tick: no hace falta despertarlo
+        if (tickNanos > 0) return;
+
+        // Solo despertamos al selector si nadie lo ha hecho ya (evita una llamada al sistema por mensaje)
+        Selector sel = selector;
+        if (sel != null && avisado.compareAndSet(false, true)) sel.wakeup();
+    }
+
+    // Acepta todas las conexiones pendientes y las registra para lectura
+    private void aceptar(Selector sel) throws IOException {
+        SocketChannel canal;
+        while ((canal = serverChannel.accept()) != null) {
+            canal.configureBlocking(false);
+            canal.socket().setTcpNoDelay(true);
+            SelectionKey clave = canal.register(sel, SelectionKey.OP_READ);
+            ClientConnection cliente = new ClientConnection(canal, clave, politica, capacidadPorCliente);
+            clave.attach(cliente);
+            connectedClients.add(cliente);
+            numClientes.incrementAndGet();
+            System.out.println("[SERVIDOR] Nuevo Panel conectado desde: " + canal.socket().getInetAddress());
+        }
+    }
+
+    // Leemos el saludo del panel (y detectamos que ha cerrado la conexión)
+    private void leer(ClientConnection cliente) {
+        try {
+            lectura.clear();
+            if (cliente.canal.read(lectura) < 0) {
+                desconectar(cliente);
+                return;
             }
+            if (cliente.activo) return; // Tras el saludo no esperamos nada más
+            lectura.flip();
+            String saludo = cliente.leerSaludo(lectura);
+            if (saludo != null) activar(cliente, saludo);
+        } catch (IOException | NumberFormatException e) {
+            desconectar(cliente);
+        }
+    }
+
+    /**
+     * Atiende el saludo del panel: foto completa (HELLO) o solo lo que se perdió (RESUME n).
+     */
+    private void activar(ClientConnection cliente, String saludo) throws IOException {
+        if (saludo.endsWith(BinaryProtocol.SUFIJO_SALUDO)) {
+            cliente.binario = true;
+            saludo = saludo.substring(0, saludo.length() - BinaryProtocol.SUFIJO_SALUDO.length());
+        }
+        long desde = -1;
+        if (saludo.startsWith("RESUME ")) {
+            desde = Long.parseLong(saludo.substring(7).trim());
+        } else if (!saludo.equals("HELLO")) {
+            throw new IOException("Saludo no válido: " + saludo);
+        }
+
+        // ¿Siguen en el historial todos los cambios posteriores a 'desde'?
+        boolean reanudable = desde >= 0 && desde <= secuencia && secuencia - desde <= TAM_HISTORIAL;
+        if (cliente.binario) {
+            cliente.enviarBloque(reanudable ? tramaReanudacion(cliente, desde) : tramaFoto(cliente));
+        } else {
+            cliente.enviarBloque(reanudable ? bloqueReanudacion(desde) : bloqueFoto());
+        }
+        cliente.activo = true;
+        enviar(cliente);
+    }
+
+    // "SNAPSHOT seq n" seguido del estado actual de cada vuelo
+    private byte[] bloqueFoto() {
+        StringBuilder sb = new StringBuilder(32 + tabla.size() * 24);
+        sb.append("SNAPSHOT ").append(secuencia).append(' ').append(tabla.size()).append('\n');
+        for (Actualizacion a : tabla.values()) {
+            sb.append(a.vuelo).append(':').append(a.estado).append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // "RESUMED seq" seguido de los DELTA posteriores a esa secuencia
+    private byte[] bloqueReanudacion(long desde) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("RESUMED ").append(desde).append('\n');
+        for (long s = desde + 1; s <= secuencia; s++) {
+            sb.append(new String(historial[(int) (s % TAM_HISTORIAL)].linea(), StandardCharsets.UTF_8));
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Binario: registro FOTO y el estado de cada vuelo (anunciando todos los handles)
+    private byte[] tramaFoto(ClientConnection cliente) {
+        ByteBuffer b = ByteBuffer.allocate(BinaryProtocol.TAM_CABECERA + BinaryProtocol.TAM_FOTO
+                + tabla.size() * (BinaryProtocol.TAM_VUELO + BinaryProtocol.TAM_ESTADO));
+        b.position(BinaryProtocol.TAM_CABECERA);
+        BinaryProtocol.escribirFoto(b, secuencia, tabla.size());
+        for (Actualizacion a : tabla.values()) {
+            BinaryProtocol.escribirVuelo(b, a.handle, a.id);
+            cliente.anunciados.set(a.handle);
+            BinaryProtocol.escribirEstado(b, a.handle, a.codigo);
+        }
+        return cerrarTrama(b);
+    }
+
+    // Binario: registro REANUDADO y los cambios posteriores a esa secuencia
+    private byte[] tramaReanudacion(ClientConnection cliente, long desde) {
+        ByteBuffer b = ByteBuffer.allocate(BinaryProtocol.TAM_CABECERA + BinaryProtocol.TAM_REANUDADO
+                + (int) (secuencia - desde) * (BinaryProtocol.TAM_VUELO + BinaryProtocol.TAM_CAMBIO));
+        b.position(BinaryProtocol.TAM_CABECERA);
+        BinaryProtocol.escribirReanudado(b, desde);
+        for (long s = desde + 1; s <= secuencia; s++) {
+            Actualizacion a = historial[(int) (s % TAM_HISTORIAL)];
+            if (!cliente.anunciados.get(a.handle)) {
+                BinaryProtocol.escribirVuelo(b, a.handle, a.id);
+                cliente.anunciados.set(a.handle);
+            }
+            BinaryProtocol.escribirCambio(b, a.handle, a.secuencia, a.codigo);
+        }
+        return cerrarTrama(b);
+    }
+
+    // Escribe la longitud en la cabecera y recorta lo que sobre
+    private static byte[] cerrarTrama(ByteBuffer b) {
+        b.putInt(0, b.position() - BinaryProtocol.TAM_CABECERA);
+        return Arrays.copyOf(b.array(), b.position());
+    }
+
+    // Numera el cambio y lo anota en la tabla y en el historial
+    private void registrar(Actualizacion a) {
+        Integer handle = handles.get(a.vuelo);
+        if (handle == null) {
+            handle = ids.size();
+            handles.put(a.vuelo, handle);
+            ids.add(BinaryProtocol.codificarId(a.vuelo));
+        }
+        a.handle = handle;
+        a.id = ids.get(handle);
+        a.codigo = codigo(a.estado);
+        a.secuencia = ++secuencia;
+        tabla.put(a.vuelo, a);
+        historial[(int) (secuencia % TAM_HISTORIAL)] = a;
+    }
+
+    /**
+     * Pasa actualizaciones de la cola de entrada a los buffers de los paneles y envía.
+     * Se reparte por lotes de media capacidad de buffer: entre lote y lote se escribe en los
+     * sockets, así un panel que lee al día nunca llega a llenar su buffer aunque haya una ráfaga.
+     * @return true si han quedado actualizaciones en la cola de entrada.
+     */
+    private boolean repartir() {
+        int lote = Math.max(1, capacidadPorCliente / 2);
+        Actualizacion a;
+        int repartidas = 0;
+        while (repartidas < lote && (a = entrantes.poll()) != null) {
+            repartidas++;
+            registrar(a);
+            for (int i = connectedClients.size() - 1; i >= 0; i--) {
+                ClientConnection cliente = connectedClients.get(i);
+                if (!cliente.activo) continue;
+                if (!cliente.encolar(a)) {
+                    System.out.println("[SERVIDOR] Panel lento desconectado: " + cliente.canal.socket().getInetAddress());
+                    desconectar(cliente);
+                }
+            }
+        }
+        if (repartidas == 0) return false;
+        for (int i = connectedClients.size() - 1; i >= 0; i--) {
+            ClientConnection cliente = connectedClients.get(i);
+            // Si ya espera a OP_WRITE, el selector nos avisará cuando haya hueco
+            if ((cliente.clave.interestOps() & SelectionKey.OP_WRITE) == 0) enviar(cliente);
+        }
+        return !entrantes.isEmpty();
+    }
+
+    // Modo fusionado: de la cola de entrada nos quedamos con el último estado de cada vuelo
+    private void acumularCambios() {
+        Actualizacion a;
+        while ((a = entrantes.poll()) != null) {
+            registrar(a);
+            // El vuelo pasa al final: el tick se envía en orden de secuencia
+            cambiosTick.remove(a.vuelo);
+            cambiosTick.put(a.vuelo, a);
+        }
+    }
+
+    // Modo fusionado: una ráfaga por panel con los vuelos que han cambiado en este tick
+    private void publicarTick() {
+        if (cambiosTick.isEmpty()) return;
+        for (int i = connectedClients.size() - 1; i >= 0; i--) {
+            ClientConnection cliente = connectedClients.get(i);
+            if (!cliente.activo) continue;
+            for (Actualizacion a : cambiosTick.values()) cliente.fusionar(a);
+            if ((cliente.clave.interestOps() & SelectionKey.OP_WRITE) == 0) enviar(cliente);
+        }
+        cambiosTick.clear();
+    }
+
+    // Ordinal del estado para el protocolo binario
+    private static byte codigo(String estado) {
+        try {
+            return (byte) FlightStatus.valueOf(estado).ordinal();
+        } catch (IllegalArgumentException e) {
+            return BinaryProtocol.ESTADO_DESCONOCIDO;
+        }
+    }
+
+    // Escribe sin bloquear; si el socket se llena, pedimos aviso cuando vuelva a haber hueco
+    private void enviar(ClientConnection cliente) {
+        // Un panel que ha perdido cambios recibe una foto al día antes de cualquier otro cambio
+        if (cliente.resincronizar) {
+            cliente.enviarFoto(cliente.binario ? tramaFoto(cliente) : bloqueFoto());
+        }
+        try {
+            boolean completo = cliente.escribir();
+            cliente.clave.interestOps(completo ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            desconectar(cliente);
+        }
+    }
+
+    private void desconectar(ClientConnection cliente) {
+        if (connectedClients.remove(cliente)) {
+            numClientes.decrementAndGet();
+            cliente.cerrar();
         }
     }
 
@@ -117,7 +482,9 @@ public class DashboardServer extends Thread {
      */
     public void close() {
         try {
-            if (serverSocket != null) serverSocket.close();
+            if (serverChannel != null) serverChannel.close();
+            Selector sel = selector;
+            if (sel != null) sel.close();
         } catch (IOException e) {}
     }
-}
\ No newline at end of file
+}
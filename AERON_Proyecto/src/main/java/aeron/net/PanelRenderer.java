@@ -0,0 +1,203 @@
+package aeron.net;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Pinta la tabla del {@link RemotePanel} en la consola, separado de la lectura de red.
+ * <p>
+ * CONCURRENCIA:
+ * El hilo de red solo anota los cambios (métodos synchronized, muy cortos) y sigue leyendo del
+ * socket; un hilo de pintado propio repinta la pantalla a ritmo fijo (FPS), así el panel nunca
+ * se queda atrás aunque lleguen miles de cambios por segundo.
+ * <p>
+ * PINTADO INCREMENTAL:
+ * Los vuelos se guardan ordenados por ID (TreeMap) y cada uno recuerda en qué fila está.
+ * En cada frame solo se reescriben las filas que han cambiado, colocando el cursor con
+ * códigos ANSI. Si aparecen vuelos nuevos solo se repintan las filas desde el primero de ellos
+ * hacia abajo (las de encima no se mueven); como los IDs suelen llegar en orden, casi siempre es
+ * solo la última fila y el pie. La pantalla completa solo se repinta al llegar una foto completa.
+ */
+final class PanelRenderer extends Thread {
+
+    // Líneas de la cabecera de la tabla (la primera fila de vuelos va justo debajo)
+    private static final String[] CABECERA = {
+            "╔════════════════════════════════╗",
+            "║       PANEL DE VUELOS REMOTO   ║",
+            "╠════════════════╤═══════════════╣",
+            "║ VUELO          │ ESTADO        ║",
+            "╠════════════════╪═══════════════╣",
+    };
+    private static final String PIE = "╚════════════════╧═══════════════╝";
+
+    // Códigos ANSI: borrar pantalla, borrar hasta el final de la línea
+    private static final String BORRAR_PANTALLA = "\033[H\033[2J";
+    private static final String BORRAR_LINEA = "\033[K";
+
+    // Estado de un vuelo y su posición en la tabla
+    private static final class Fila {
+        final String vuelo;
+        String estado;
+        int posicion;
+        boolean sucia;
+
+        Fila(String vuelo, String estado) {
+            this.vuelo = vuelo;
+            this.estado = estado;
+        }
+    }
+
+    private final PrintStream salida;
+    private final long periodoMs;
+
+    // "Base de datos" local del panel, ordenada por ID. Protegida por 'this'.
+    private final TreeMap<String, Fila> vuelos = new TreeMap<>();
+    private final List<Fila> sucias = new ArrayList<>();
+    private boolean repintarTodo = true;
+
+    // Menor ID de los vuelos aparecidos desde el último frame (null = ninguno)
+    private String primeraNueva;
+
+    // Línea de estado bajo la tabla (conexión, errores)
+    private String mensaje = "";
+    private boolean mensajeNuevo;
+
+    /**
+     * @param salida Consola donde pintar.
+     * @param fps Frames por segundo (como mucho).
+     */
+    PanelRenderer(PrintStream salida, int fps) {
+        super("aeron-panel-render");
+        setDaemon(true);
+        this.salida = salida;
+        this.periodoMs = 1000 / Math.max(1, fps);
+    }
+
+    /**
+     * Llega una foto completa: lo que había deja de valer.
+     */
+    synchronized void limpiar() {
+        vuelos.clear();
+        sucias.clear();
+        primeraNueva = null;
+        repintarTodo = true;
+    }
+
+    /**
+     * Anota el nuevo estado de un vuelo (se verá en el siguiente frame).
+     */
+    synchronized void actualizar(String vuelo, String estado) {
+        Fila fila = vuelos.get(vuelo);
+        if (fila == null) {
+            // Vuelo nuevo: las filas de debajo cambian de posición
+            vuelos.put(vuelo, new Fila(vuelo, estado));
+            if (primeraNueva == null || vuelo.compareTo(primeraNueva) < 0) primeraNueva = vuelo;
+            return;
+        }
+        fila.estado = estado;
+        if (!fila.sucia) {
+            fila.sucia = true;
+            sucias.add(fila);
+        }
+    }
+
+    /**
+     * Cambia la línea de estado que se muestra bajo la tabla.
+     */
+    synchronized void mensaje(String texto) {
+        mensaje = texto;
+        mensajeNuevo = true;
+    }
+
+    @Override
+    public void run() {
+        StringBuilder sb = new StringBuilder(64 * 1024);
+        while (true) {
+            sb.setLength(0);
+            componerFrame(sb);
+            if (sb.length() > 0) {
+                salida.print(sb);
+                salida.flush();
+            }
+            try {
+                Thread.sleep(periodoMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // Escribe en 'sb' lo que hay que cambiar en pantalla desde el último frame
+    private synchronized void componerFrame(StringBuilder sb) {
+        if (repintarTodo) {
+            repintarTodo = false;
+            primeraNueva = null;
+            sucias.clear();
+            sb.append(BORRAR_PANTALLA);
+            for (String linea : CABECERA) sb.append(linea).append('\n');
+            int posicion = 0;
+            for (Fila fila : vuelos.values()) {
+                fila.posicion = posicion++;
+                fila.sucia = false;
+                escribirFila(sb, fila);
+                sb.append('\n');
+            }
+            sb.append(PIE).append('\n');
+            escribirMensaje(sb);
+            return;
+        }
+
+        if (sucias.isEmpty() && primeraNueva == null && !mensajeNuevo) return;
+        if (primeraNueva != null) {
+            // Las filas de encima del primer vuelo nuevo conservan su posición
+            Map.Entry<String, Fila> anterior = vuelos.lowerEntry(primeraNueva);
+            int posicion = anterior == null ? 0 : anterior.getValue().posicion + 1;
+            moverCursor(sb, CABECERA.length + posicion + 1);
+            for (Fila fila : vuelos.tailMap(primeraNueva, true).values()) {
+                fila.posicion = posicion++;
+                fila.sucia = false;
+                escribirFila(sb, fila);
+                sb.append('\n');
+            }
+            sb.append(PIE).append('\n');
+            primeraNueva = null;
+        }
+        for (Fila fila : sucias) {
+            // Las que ya se han reescrito al desplazarse no hace falta repetirlas
+            if (!fila.sucia) continue;
+            fila.sucia = false;
+            moverCursor(sb, CABECERA.length + fila.posicion + 1);
+            escribirFila(sb, fila);
+        }
+        sucias.clear();
+        moverCursor(sb, CABECERA.length + vuelos.size() + 2);
+        escribirMensaje(sb);
+    }
+
+    // Formato de columnas fijo para mantener la alineación
+    private static void escribirFila(StringBuilder sb, Fila fila) {
+        sb.append("║ ");
+        rellenar(sb, fila.vuelo, 14);
+        sb.append(" │ ");
+        rellenar(sb, fila.estado, 13);
+        sb.append(" ║").append(BORRAR_LINEA);
+    }
+
+    private void escribirMensaje(StringBuilder sb) {
+        mensajeNuevo = false;
+        sb.append(vuelos.size()).append(" vuelos  ").append(mensaje).append(BORRAR_LINEA).append('\n');
+    }
+
+    // Cursor al principio de la línea indicada (la primera es la 1)
+    private static void moverCursor(StringBuilder sb, int linea) {
+        sb.append("\033[").append(linea).append(";1H");
+    }
+
+    private static void rellenar(StringBuilder sb, String texto, int ancho) {
+        sb.append(texto);
+        for (int i = texto.length(); i < ancho; i++) sb.append(' ');
+    }
+}
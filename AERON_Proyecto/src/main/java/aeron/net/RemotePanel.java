@@ -1,11 +1,13 @@
 package aeron.net;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.Socket;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Cliente TCP (Práctica 7) que actúa como Panel de Vuelos Remoto.
@@ -14,85 +16,147 @@ import java.util.Map;
  * Este programa es un proceso totalmente independiente de la simulación principal.
  * Se conecta vía Sockets (TCP/IP) al servidor de la Torre para recibir actualizaciones
  * en tiempo real y mostrar una tabla de vuelos replicada.
+ * <p>
+ * Puede arrancarse en cualquier momento: al conectar recibe la foto completa de los vuelos y,
+ * si la conexión se corta, reconecta y pide solo los cambios que se ha perdido.
+ * <p>
+ * Por defecto usa el protocolo binario ({@link BinaryProtocol}); con el argumento --texto usa
+ * el protocolo de texto original.
+ * <p>
+ * El hilo principal solo lee de la red y anota los cambios; la pantalla la pinta aparte el
+ * {@link PanelRenderer} a ritmo fijo, reescribiendo solo las filas que han cambiado.
  */
 public class RemotePanel {
 
-    // "Base de datos" local del cliente.
-    // Necesitamos este Mapa para guardar el estado de todos los vuelos recibidos,
-    // ya que la pantalla se borra y se repinta completa con cada actualización.
-    private static Map<String, String> vuelos = new HashMap<>();
+    // Tiempo de espera antes de intentar reconectar
+    private static final long ESPERA_RECONEXION_MS = 2000;
+
+    // Frames por segundo de la pantalla
+    private static final int FPS = 10;
 
-    public static void main(String[] args) {
+    // Tabla de vuelos en pantalla (guarda el estado de todos los vuelos recibidos)
+    private static final PanelRenderer pantalla = new PanelRenderer(System.out, FPS);
+
+    // Último número de secuencia aplicado (-1 = aún no tenemos foto del servidor)
+    private static long ultimaSecuencia = -1;
+
+    public static void main(String[] args) throws InterruptedException {
         // Configuración de conexión (Hardcoded a localhost para la práctica)
         String host = "localhost";
         int port = 9999;
+        boolean binario = !(args.length > 0 && args[0].equals("--texto"));
+
+        pantalla.start();
+
+        // Si la conexión se cae (o la simulación aún no ha arrancado), reintentamos.
+        // Al reconectar solo pedimos lo que nos hemos perdido desde 'ultimaSecuencia'.
+        while (true) {
+            pantalla.mensaje("Conectando a " + host + ":" + port + "...");
+            try {
+                escuchar(host, port, binario);
+                pantalla.mensaje("La Torre ha cerrado la conexión.");
+            } catch (IOException e) {
+                // Gestión de errores de red (ej: servidor apagado o conexión rechazada)
+                pantalla.mensaje("Error de conexión (¿Está la simulación encendida?): " + e.getMessage());
+            }
+            Thread.sleep(ESPERA_RECONEXION_MS);
+        }
+    }
 
-        System.out.println("--- PANEL DE VUELOS REMOTO ---");
-        System.out.println("Conectando a " + host + ":" + port + "...");
-
-        // Usamos try-with-resources para asegurar que el socket y el reader se cierren bien
-        try (Socket socket = new Socket(host, port);
-             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()))) {
-
-            System.out.println("¡Conectado! Esperando actualizaciones de la Torre...");
+    /**
+     * Una sesión completa con el servidor: saludo, foto inicial (o reanudación) y cambios.
+     */
+    private static void escuchar(String host, int port, boolean binario) throws IOException {
+        // Usamos try-with-resources para asegurar que el socket se cierre bien
+        try (Socket socket = new Socket(host, port)) {
+            Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8);
+
+            // SALUDO: primera vez, foto completa; si ya teníamos datos, solo lo que falta
+            out.write(ultimaSecuencia < 0 ? "HELLO" : "RESUME " + ultimaSecuencia);
+            out.write(binario ? BinaryProtocol.SUFIJO_SALUDO + "\n" : "\n");
+            out.flush();
+            pantalla.mensaje("Conectado a la Torre" + (binario ? " (binario)" : " (texto)"));
+
+            if (binario) escucharBinario(socket);
+            else escucharTexto(socket);
+        }
+    }
 
-            String inputLine;
+    /**
+     * Protocolo binario: cada trama puede traer muchos cambios.
+     */
+    private static void escucharBinario(Socket socket) throws IOException {
+        BinaryFrameReader lector = new BinaryFrameReader(new BufferedInputStream(socket.getInputStream()));
+        BinaryFrameReader.Receptor receptor = new BinaryFrameReader.Receptor() {
+            @Override
+            public void foto(long secuencia) {
+                pantalla.limpiar();
+                ultimaSecuencia = secuencia;
+            }
 
-            // BUCLE DE ESCUCHA INFINITA:
-            // El método in.readLine() es BLOQUEANTE. El programa se detiene en esta línea
-            // hasta que el Servidor (DashboardServer) envía un mensaje con println().
-            // Cuando el servidor cierra la conexión, readLine() devuelve null y salimos.
-            while ((inputLine = in.readLine()) != null) {
+            @Override
+            public void estado(String vuelo, String estado) {
+                pantalla.actualizar(vuelo, estado);
+            }
 
-                // PROTOCOLO DE APLICACIÓN:
-                // Hemos definido un formato simple de texto: "ID_VUELO:ESTADO"
-                // Ejemplo: "IBE-001:LANDED"
-                String[] partes = inputLine.split(":");
+            @Override
+            public void cambio(String vuelo, String estado, long secuencia) {
+                if (secuencia <= ultimaSecuencia) return; // Ya aplicado
+                ultimaSecuencia = secuencia;
+                pantalla.actualizar(vuelo, estado);
+            }
+        };
 
-                if (partes.length == 2) {
-                    String id = partes[0];
-                    String estado = partes[1];
+        while (lector.leerTrama(receptor)) {
+            // El PanelRenderer pinta los cambios en el siguiente frame
+        }
+    }
 
-                    // 1. Actualizamos nuestra memoria local con el dato fresco
-                    vuelos.put(id, estado);
+    private static void escucharTexto(Socket socket) throws IOException {
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String inputLine;
 
-                    // 2. Refrescamos la interfaz de usuario (Consola)
-                    limpiarConsola();
-                    imprimirTabla();
-                }
+            // BUCLE DE ESCUCHA:
+            // El método in.readLine() es BLOQUEANTE. Cuando el servidor cierra la conexión,
+            // readLine() devuelve null y salimos. Aquí no se pinta nada: solo se anotan los cambios.
+            while ((inputLine = in.readLine()) != null) {
+                procesar(inputLine, in);
             }
-
-        } catch (IOException e) {
-            // Gestión de errores de red (ej: servidor apagado o conexión rechazada)
-            System.err.println("Error de conexión (¿Está la simulación encendida?): " + e.getMessage());
         }
     }
 
     /**
-     * Genera y muestra la tabla ASCII con el estado de todos los vuelos conocidos.
+     * PROTOCOLO DE APLICACIÓN (ver {@link DashboardServer}):
+     * "SNAPSHOT seq n" + n líneas "ID_VUELO:ESTADO", "RESUMED seq" y "DELTA seq ID_VUELO:ESTADO".
      */
-    private static void imprimirTabla() {
-        System.out.println("\n╔════════════════════════════════╗");
-        System.out.println("║       PANEL DE VUELOS REMOTO   ║");
-        System.out.println("╠════════════════╤═══════════════╣");
-        System.out.println("║ VUELO          │ ESTADO        ║");
-        System.out.println("╠════════════════╪═══════════════╣");
-
-        // Ordenamos por ID de vuelo alfabéticamente para que la tabla no baile
-        // cada vez que se repinta.
-        vuelos.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .forEach(entry -> {
-                    // Formato de columnas fijo para mantener la alineación
-                    System.out.printf("║ %-14s │ %-13s ║%n", entry.getKey(), entry.getValue());
-                });
-
-        System.out.println("╚════════════════╧═══════════════╝");
+    private static void procesar(String linea, BufferedReader in) throws IOException {
+        String[] partes = linea.split(" ");
+
+        if (partes[0].equals("SNAPSHOT") && partes.length == 3) {
+            // Foto completa: sustituye a todo lo que teníamos
+            long secuencia = Long.parseLong(partes[1]);
+            int n = Integer.parseInt(partes[2]);
+            pantalla.limpiar();
+            for (int i = 0; i < n; i++) {
+                String vuelo = in.readLine();
+                if (vuelo == null) throw new IOException("Foto inicial incompleta");
+                aplicar(vuelo);
+            }
+            ultimaSecuencia = secuencia;
+            return;
+        }
+        // "RESUMED": los cambios perdidos llegan a continuación como DELTA
+        if (partes[0].equals("DELTA") && partes.length == 3) {
+            long secuencia = Long.parseLong(partes[1]);
+            if (secuencia <= ultimaSecuencia) return; // Ya aplicado
+            ultimaSecuencia = secuencia;
+            aplicar(partes[2]);
+        }
     }
 
-    // Truco simple para "limpiar" consola imprimiendo saltos de línea
-    // (Funciona en cualquier sistema operativo sin comandos complejos)
-    private static void limpiarConsola() {
-        for(int i = 0; i < 5; i++) System.out.println();
+    // Ejemplo: "IBE-001:LANDED"
+    private static void aplicar(String cambio) {
+        String[] partes = cambio.split(":");
+        if (partes.length == 2) pantalla.actualizar(partes[0], partes[1]);
     }
-}
\ No newline at end of file
+}
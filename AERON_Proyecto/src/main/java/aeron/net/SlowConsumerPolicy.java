@@ -0,0 +1,21 @@
+package aeron.net;
+
+/**
+ * Qué hace el DashboardServer con un Panel Remoto que no lee tan rápido como le llegan
+ * actualizaciones (su buffer de salida se ha llenado).
+ */
+public enum SlowConsumerPolicy {
+
+    /** Se cierra la conexión del panel lento. */
+    DESCONECTAR,
+
+    /**
+     * Se pierden las actualizaciones nuevas hasta que el panel haga hueco. Como el panel ya no
+     * puede seguir la secuencia, en cuanto se puede escribir se le envía una foto completa
+     * (SNAPSHOT) y después los cambios posteriores a ella.
+     */
+    DESCARTAR,
+
+    /** Solo se guarda el último estado de cada vuelo: el panel recibe el dato más reciente, sin pasos intermedios. */
+    FUSIONAR
+}
@@ -38,7 +38,7 @@ public class ControlTower implements TowerInterface {
      * * @param avion El objeto avión que realiza la solicitud.
      */
     @Override
-    public void registrarPeticion(Airplane avion) {
+    public boolean registrarPeticion(Airplane avion) {
         // Añadimos el avión a la cola de espera
         peticiones.add(avion);
         Logger.log("Torre: Registrada petición de " + avion.getId() + " [" + avion.getStatus() + "]");
@@ -46,6 +46,7 @@ public class ControlTower implements TowerInterface {
         // Invocamos directamente el procesamiento. En la versión concurrente,
         // esto lo harían los hilos de los Operarios de forma asíncrona.
         procesarPeticionesSecuencial();
+        return true; // La lista no tiene límite: nunca se satura
     }
 
     /**
@@ -64,8 +65,9 @@ public class ControlTower implements TowerInterface {
             if (avion.getStatus() == FlightStatus.LANDING_REQUEST) {
                 // CASO ATERRIZAJE:
                 // Le damos permiso para aterrizar cambiando su estado.
-                // Esto desbloqueará el bucle 'while' que tiene el avión en su método run().
+                // Al completar su resguardo, el avión no llegará a bloquearse en su método run().
                 avion.setStatus(FlightStatus.LANDING_ASSIGNED);
+                avion.getAutorizacion().conceder();
                 Logger.log("Torre: Autorizado aterrizaje para " + avion.getId());
                 // NOTA: En Práctica 4 aquí buscaremos Pista y Puerta libres de verdad.
 
@@ -73,6 +75,7 @@ public class ControlTower implements TowerInterface {
                 // CASO DESPEGUE:
                 // Le damos permiso para despegar inmediatamente.
                 avion.setStatus(FlightStatus.TAKEOFF_ASSIGNED);
+                avion.getAutorizacion().conceder();
                 Logger.log("Torre: Autorizado despegue para " + avion.getId());
             }
         }
@@ -0,0 +1,305 @@
+package aeron.util;
+
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.TowerSnapshot;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Panel gráfico del aeropuerto: cada Pista y cada Puerta es una casilla (verde libre, roja
+ * ocupada, con el avión que la ocupa), las listas de espera se muestran como barras y debajo
+ * los percentiles de lo que tarda la Torre en conceder aterrizajes y despegues.
+ * <p>
+ * ARQUITECTURA:
+ * No lee los logs ni las tablas ASCII de {@link AirportState}: un hilo muestreador toma cada
+ * cierto tiempo una foto de la Torre ({@link ControlTowerConcurrent#capturarEstado}) y solo si
+ * algo ha cambiado se la pasa al Hilo de Eventos de Swing (EDT).
+ * <p>
+ * RENDIMIENTO:
+ * - Como mucho una actualización por periodo de muestreo, y nunca más de una pendiente en el
+ *   EDT (si va atrasado, las fotos intermedias se descartan).
+ * - El EDT compara con lo que está pintado y solo pide repintar las casillas que han cambiado;
+ *   al pintar, solo se dibujan las casillas que tocan la zona sucia.
+ */
+public class AirportBoardPanel extends JPanel implements Scrollable {
+
+    // Tamaño de las casillas y de los márgenes (en píxeles)
+    private static final int ANCHO_CASILLA = 92;
+    private static final int ALTO_CASILLA = 36;
+    private static final int HUECO = 4;
+    private static final int MARGEN = 8;
+    private static final int ALTO_TITULO = 18;
+    private static final int ALTO_BARRA = 14;
+
+    // Ancho de referencia para calcular el alto preferido antes de que la ventana tenga tamaño
+    private static final int ANCHO_PREFERIDO = 780;
+
+    // Longitud de la barra que representa una petición en espera
+    private static final int PIXELES_POR_PETICION = 12;
+
+    // Filas de la zona de colas: tres barras y dos líneas de latencias
+    private static final int FILAS_COLAS = 5;
+
+    private static final Color LIBRE = new Color(0x4CAF50);
+    private static final Color OCUPADO = new Color(0xE53935);
+    private static final Color RESERVADO = new Color(0xFFB300);
+    private static final Color COLA = new Color(0x1E88E5);
+
+    private static final Font FUENTE = new Font("Monospaced", Font.PLAIN, 11);
+    private static final Font FUENTE_TITULO = new Font("SansSerif", Font.BOLD, 12);
+
+    // Lo que está pintado ahora mismo (solo el EDT)
+    private final TowerSnapshot pintado;
+
+    // Nombres de los recursos, con el mismo formato que la Torre (PIS1, GATE 1...)
+    private final String[] nombresPistas;
+    private final String[] nombresPuertas;
+
+    // true mientras haya una foto esperando al EDT
+    private final AtomicBoolean fotoPendiente = new AtomicBoolean(false);
+
+    /**
+     * @param numPistas Número de pistas del aeropuerto.
+     * @param numPuertas Número de puertas del aeropuerto.
+     */
+    public AirportBoardPanel(int numPistas, int numPuertas) {
+        this.pintado = new TowerSnapshot(numPistas, numPuertas);
+        this.nombresPistas = new String[numPistas];
+        this.nombresPuertas = new String[numPuertas];
+        for (int i = 0; i < numPistas; i++) nombresPistas[i] = "PIS" + (i + 1);
+        for (int i = 0; i < numPuertas; i++) nombresPuertas[i] = "GATE " + (i + 1);
+        setBackground(Color.WHITE);
+        setOpaque(true);
+    }
+
+    /**
+     * Empieza a seguir el estado de la Torre con un hilo muestreador (daemon).
+     * @param torre Torre de la que se toman las fotos.
+     * @param periodoMs Tiempo entre muestras (ej: 100 ms = 10 actualizaciones por segundo).
+     */
+    public void seguir(ControlTowerConcurrent torre, long periodoMs) {
+        Thread muestreador = new Thread(() -> {
+            TowerSnapshot anterior = torre.nuevaFoto();
+            TowerSnapshot actual = torre.nuevaFoto();
+            boolean primera = true;
+            while (true) {
+                // Si el EDT aún no ha pintado la anterior, esperamos al siguiente periodo
+                if (!fotoPendiente.get()) {
+                    torre.capturarEstado(actual);
+                    if (primera || !actual.mismoEstado(anterior)) {
+                        primera = false;
+                        anterior.copiarDe(actual);
+                        TowerSnapshot foto = torre.nuevaFoto();
+                        foto.copiarDe(actual);
+                        fotoPendiente.set(true);
+                        SwingUtilities.invokeLater(() -> {
+                            aplicar(foto);
+                            fotoPendiente.set(false);
+                        });
+                    }
+                }
+                try {
+                    Thread.sleep(periodoMs);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "aeron-tablero");
+        muestreador.setDaemon(true);
+        muestreador.start();
+    }
+
+    /**
+     * Aplica una foto nueva: solo se repintan las casillas (y barras) que han cambiado.
+     * Debe llamarse desde el EDT.
+     */
+    public void aplicar(TowerSnapshot foto) {
+        for (int i = 0; i < pintado.pistas.length; i++) {
+            if (!iguales(pintado.pistas[i], foto.pistas[i])) {
+                pintado.pistas[i] = foto.pistas[i];
+                repaint(casillaPista(i));
+            }
+        }
+        for (int i = 0; i < pintado.puertas.length; i++) {
+            if (!iguales(pintado.puertas[i], foto.puertas[i])) {
+                pintado.puertas[i] = foto.puertas[i];
+                repaint(getCasillaPuerta(i));
+            }
+        }
+        if (pintado.enCola != foto.enCola || pintado.aterrizajesPendientes != foto.aterrizajesPendientes
+                || pintado.despeguesPendientes != foto.despeguesPendientes
+                || !Arrays.equals(pintado.latenciaAterrizaje, foto.latenciaAterrizaje)
+                || !Arrays.equals(pintado.latenciaDespegue, foto.latenciaDespegue)) {
+            pintado.enCola = foto.enCola;
+            pintado.aterrizajesPendientes = foto.aterrizajesPendientes;
+            pintado.despeguesPendientes = foto.despeguesPendientes;
+            System.arraycopy(foto.latenciaAterrizaje, 0, pintado.latenciaAterrizaje, 0, pintado.latenciaAterrizaje.length);
+            System.arraycopy(foto.latenciaDespegue, 0, pintado.latenciaDespegue, 0, pintado.latenciaDespegue.length);
+            repaint(zonaColas());
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Rectangle sucio = g.getClipBounds();
+        if (sucio == null) sucio = new Rectangle(0, 0, getWidth(), getHeight());
+        ((Graphics2D) g).setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+        g.setFont(FUENTE_TITULO);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString("Pistas", MARGEN, MARGEN + 12);
+        g.drawString("Peticiones en espera", MARGEN, inicioColas() + 12);
+        g.drawString("Puertas", MARGEN, inicioPuertas() - HUECO - 4);
+
+        g.setFont(FUENTE);
+        pintarCasillas(g, sucio, MARGEN + ALTO_TITULO, nombresPistas, pintado.pistas);
+        if (zonaColas().intersects(sucio)) pintarColas(g);
+        pintarCasillas(g, sucio, inicioPuertas(), nombresPuertas, pintado.puertas);
+    }
+
+    // Pinta solo las filas de casillas que tocan la zona sucia
+    private void pintarCasillas(Graphics g, Rectangle sucio, int inicioY, String[] nombres, String[] aviones) {
+        int columnas = columnas();
+        int alto = ALTO_CASILLA + HUECO;
+        int primeraFila = Math.max(0, (sucio.y - inicioY) / alto);
+        int ultimaFila = Math.min(filas(nombres.length, columnas) - 1, (sucio.y + sucio.height - inicioY) / alto);
+        for (int fila = primeraFila; fila <= ultimaFila; fila++) {
+            int y = inicioY + fila * alto;
+            for (int c = 0; c < columnas; c++) {
+                int i = fila * columnas + c;
+                if (i >= nombres.length) return;
+                int x = MARGEN + c * (ANCHO_CASILLA + HUECO);
+                if (x + ANCHO_CASILLA < sucio.x || x > sucio.x + sucio.width) continue;
+                pintarCasilla(g, x, y, nombres[i], aviones[i]);
+            }
+        }
+    }
+
+    private static void pintarCasilla(Graphics g, int x, int y, String recurso, String avion) {
+        g.setColor(avion == null ? LIBRE : avion.isEmpty() ? RESERVADO : OCUPADO);
+        g.fillRect(x, y, ANCHO_CASILLA, ALTO_CASILLA);
+        g.setColor(Color.WHITE);
+        g.drawString(recurso, x + 4, y + 14);
+        if (avion != null) g.drawString(avion.isEmpty() ? "reservada" : avion, x + 4, y + 29);
+    }
+
+    private void pintarColas(Graphics g) {
+        int y = inicioColas() + ALTO_TITULO;
+        pintarBarra(g, y, "Cola", pintado.enCola);
+        pintarBarra(g, y + ALTO_BARRA + HUECO, "Aterrizajes", pintado.aterrizajesPendientes);
+        pintarBarra(g, y + 2 * (ALTO_BARRA + HUECO), "Despegues", pintado.despeguesPendientes);
+        pintarLatencias(g, y + 3 * (ALTO_BARRA + HUECO), "Concesión aterrizaje", pintado.latenciaAterrizaje);
+        pintarLatencias(g, y + 4 * (ALTO_BARRA + HUECO), "Concesión despegue", pintado.latenciaDespegue);
+    }
+
+    // p50, p99, p99.9 y máximo (ns) en una línea de texto, en milisegundos
+    private static void pintarLatencias(Graphics g, int y, String nombre, long[] latencias) {
+        g.setColor(Color.DARK_GRAY);
+        g.drawString(String.format("%-21s p50 %8.2f ms   p99 %8.2f ms   p99.9 %8.2f ms   max %8.2f ms", nombre,
+                latencias[0] / 1e6, latencias[1] / 1e6, latencias[2] / 1e6, latencias[3] / 1e6),
+                MARGEN, y + ALTO_BARRA - 3);
+    }
+
+    private void pintarBarra(Graphics g, int y, String nombre, int peticiones) {
+        int x = MARGEN + 90;
+        int max = Math.max(0, getWidth() - x - MARGEN - 40);
+        int largo = Math.min(max, peticiones * PIXELES_POR_PETICION);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString(nombre, MARGEN, y + ALTO_BARRA - 3);
+        g.setColor(COLA);
+        g.fillRect(x, y, largo, ALTO_BARRA);
+        g.setColor(Color.DARK_GRAY);
+        g.drawString(String.valueOf(peticiones), x + largo + 4, y + ALTO_BARRA - 3);
+    }
+
+    // --- SCROLL: el ancho sigue a la ventana y el alto depende de cuántas casillas caben por fila ---
+
+    @Override
+    public Dimension getPreferredSize() {
+        return new Dimension(ANCHO_PREFERIDO, alturaNecesaria(getWidth() > 0 ? getWidth() : ANCHO_PREFERIDO));
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visible, int orientacion, int direccion) {
+        return ALTO_CASILLA + HUECO;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visible, int orientacion, int direccion) {
+        return orientacion == SwingConstants.VERTICAL ? visible.height : visible.width;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return true;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return false;
+    }
+
+    // --- GEOMETRÍA: dónde está cada casilla según el ancho actual del panel ---
+
+    private int columnas(int ancho) {
+        return Math.max(1, (ancho - 2 * MARGEN + HUECO) / (ANCHO_CASILLA + HUECO));
+    }
+
+    private int columnas() {
+        return columnas(getWidth() > 0 ? getWidth() : ANCHO_PREFERIDO);
+    }
+
+    private static int filas(int elementos, int columnas) {
+        return (elementos + columnas - 1) / columnas;
+    }
+
+    private Rectangle casilla(int inicioY, int indice) {
+        int columnas = columnas();
+        return new Rectangle(MARGEN + (indice % columnas) * (ANCHO_CASILLA + HUECO),
+                inicioY + (indice / columnas) * (ALTO_CASILLA + HUECO), ANCHO_CASILLA, ALTO_CASILLA);
+    }
+
+    private Rectangle casillaPista(int i) {
+        return casilla(MARGEN + ALTO_TITULO, i);
+    }
+
+    /**
+     * @return Zona del panel (en píxeles) que ocupa la casilla de la puerta indicada.
+     */
+    public Rectangle getCasillaPuerta(int i) {
+        return casilla(inicioPuertas(), i);
+    }
+
+    private int inicioColas() {
+        return MARGEN + ALTO_TITULO + filas(pintado.pistas.length, columnas()) * (ALTO_CASILLA + HUECO) + MARGEN;
+    }
+
+    private Rectangle zonaColas() {
+        return new Rectangle(0, inicioColas() + ALTO_TITULO, Math.max(getWidth(), ANCHO_PREFERIDO),
+                FILAS_COLAS * (ALTO_BARRA + HUECO));
+    }
+
+    private int inicioPuertas() {
+        return inicioColas() + ALTO_TITULO + FILAS_COLAS * (ALTO_BARRA + HUECO) + MARGEN + ALTO_TITULO;
+    }
+
+    private int alturaNecesaria(int ancho) {
+        int columnas = columnas(ancho);
+        return MARGEN + ALTO_TITULO + filas(pintado.pistas.length, columnas) * (ALTO_CASILLA + HUECO) + MARGEN
+                + ALTO_TITULO + FILAS_COLAS * (ALTO_BARRA + HUECO) + MARGEN + ALTO_TITULO
+                + filas(pintado.puertas.length, columnas) * (ALTO_CASILLA + HUECO) + MARGEN;
+    }
+
+    private static boolean iguales(String a, String b) {
+        return a == null ? b == null : a.equals(b);
+    }
+}
@@ -1,10 +1,20 @@
 package aeron.util;
 
-import java.io.FileWriter;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.HashMap;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Clase de utilidad que gestiona la persistencia del estado del aeropuerto.
@@ -16,66 +26,169 @@ import java.util.stream.Collectors;
  * CONCURRENCIA (Tema 5 - Monitores):
  * Dado que el fichero 'aeropuerto.json' es un RECURSO COMPARTIDO crítico (escrito por
  * múltiples hilos de la Torre/Aviones), protegemos su acceso mediante un MONITOR
- * utilizando la palabra clave 'synchronized'.
+ * implementado con un ReentrantLock (compatible con hilos virtuales).
+ * <p>
+ * VOLCADO AGRUPADO (modo por defecto):
+ * Reescribir el fichero entero en cada cambio cuesta O(n log n) más una escritura completa
+ * por evento. En modo {@link JsonPersistenceMode#AGRUPADO} actualizarEstado() solo apunta el
+ * cambio en memoria (coste constante) y un hilo de fondo ("aeron-json") escribe una instantánea
+ * cada cierto intervalo o en cuanto se acumulan demasiados cambios.
+ * <p>
+ * CONSISTENCIA:
+ * La instantánea se escribe en un fichero temporal y se renombra sobre 'aeropuerto.json'
+ * de forma atómica: quien lea el fichero ve siempre el JSON anterior o el nuevo, nunca uno a medias.
  */
 public class AirportJson {
 
     // "Memoria caché" de los estados. Usamos un Mapa para acceso rápido por ID de avión.
     // Evita tener que leer el fichero antes de escribir; solo sobreescribimos.
-    private static Map<String, String> estadosAviones = new HashMap<>();
+    private static final Map<String, String> estadosAviones = new ConcurrentHashMap<>();
+
+    // Ruta del fichero de salida que simula la base de datos del panel (y su temporal)
+    private static final Path FILE_PATH = Paths.get("aeropuerto.json");
+    private static final Path TMP_PATH = Paths.get("aeropuerto.json.tmp");
+
+    // Cerrojo del monitor. No usamos 'synchronized' porque dentro se escribe en disco y un
+    // hilo virtual bloqueado en E/S dentro de synchronized clavaría su hilo portador.
+    private static final ReentrantLock cerrojo = new ReentrantLock();
+
+    // --- VOLCADO AGRUPADO ---
 
-    // Ruta del fichero de salida que simula la base de datos del panel
-    private static final String FILE_PATH = "aeropuerto.json";
+    private static volatile JsonPersistenceMode modo = JsonPersistenceMode.AGRUPADO;
+    private static volatile long intervaloVolcadoNanos = TimeUnit.MILLISECONDS.toNanos(200);
+    private static volatile int maxCambiosPendientes = 1_000;
+
+    // Número de cambios registrados (versión del mapa) y versión que ya está en disco
+    private static final AtomicLong cambios = new AtomicLong();
+    private static volatile long cambiosVolcados = 0;
+
+    // Hilo de fondo que escribe las instantáneas
+    private static final Thread hiloVolcado;
+
+    static {
+        hiloVolcado = new Thread(AirportJson::bucleVolcado, "aeron-json");
+        hiloVolcado.setDaemon(true);
+        hiloVolcado.start();
+        // Al terminar la JVM escribimos los últimos cambios que quedasen en memoria
+        Runtime.getRuntime().addShutdownHook(new Thread(AirportJson::volcar, "aeron-json-cierre"));
+    }
+
+    /**
+     * Elige cómo se persisten los cambios.
+     * @param nuevoModo INMEDIATO (un volcado por cambio) o AGRUPADO (volcado de fondo).
+     * @param intervaloMs Tiempo máximo entre volcados en modo AGRUPADO.
+     * @param maxCambios Cambios acumulados que fuerzan un volcado sin esperar al intervalo.
+     */
+    public static void setModoPersistencia(JsonPersistenceMode nuevoModo, long intervaloMs, int maxCambios) {
+        modo = nuevoModo;
+        intervaloVolcadoNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloMs));
+        maxCambiosPendientes = Math.max(1, maxCambios);
+        LockSupport.unpark(hiloVolcado);
+    }
 
     /**
      * Metodo público para registrar un cambio de estado.
      * <p>
      * IMPLEMENTACIÓN DEL MONITOR:
-     * Al poner 'synchronized', Java garantiza EXCLUSIÓN MUTUA.
-     * Solo un hilo (sea un Avión o un Operario de la Torre) puede ejecutar este metodo a la vez.
-     * Si otro hilo intenta entrar mientras se está escribiendo el fichero, Java lo pone en espera.
+     * En modo INMEDIATO el cerrojo garantiza EXCLUSIÓN MUTUA sobre el fichero: solo un hilo
+     * (sea un Avión o un Operario de la Torre) puede escribirlo a la vez.
+     * En modo AGRUPADO aquí no se toca el disco: el cambio queda en el mapa concurrente
+     * y el hilo de fondo lo escribirá (también bajo el cerrojo) en el siguiente volcado.
      * * @param flightId Identificador del avión (ej: IBE-001).
      * @param nuevoEstado El nuevo estado a registrar (ej: LANDED).
      */
-    public static synchronized void actualizarEstado(String flightId, String nuevoEstado) {
-        // 1. Actualizamos la estructura de datos en memoria (rápido)
+    public static void actualizarEstado(String flightId, String nuevoEstado) {
+        // 1. Actualizamos la estructura de datos en memoria (rápido, O(1))
         estadosAviones.put(flightId, nuevoEstado);
+        long version = cambios.incrementAndGet();
+
+        if (modo == JsonPersistenceMode.INMEDIATO) {
+            // 2. Persistimos los cambios en el disco (lento y crítico)
+            volcar();
+        } else if (version - cambiosVolcados >= maxCambiosPendientes) {
+            // Demasiados cambios sin escribir: adelantamos el volcado
+            LockSupport.unpark(hiloVolcado);
+        }
+    }
+
+    /**
+     * Escribe en disco, ya mismo, el estado actual si tiene cambios sin volcar.
+     * Útil al final de la simulación para no esperar al siguiente intervalo.
+     */
+    public static void volcar() {
+        cerrojo.lock();
+        try {
+            long version = cambios.get();
+            if (version == cambiosVolcados) return;
+            escribirJson();
+            cambiosVolcados = version;
+        } finally {
+            cerrojo.unlock();
+        }
+    }
 
-        // 2. Persistimos los cambios en el disco (lento y crítico)
-        escribirJson();
+    // Bucle del hilo de fondo: duerme un intervalo (o hasta que le avisen) y vuelca si hay cambios
+    private static void bucleVolcado() {
+        while (true) {
+            LockSupport.parkNanos(intervaloVolcadoNanos);
+            if (modo == JsonPersistenceMode.AGRUPADO && cambios.get() != cambiosVolcados) {
+                volcar();
+            }
+        }
     }
 
     /**
      * Metodo auxiliar privado que realiza la escritura física en el disco.
      * <p>
      * SEGURIDAD:
-     * Este metodo NO necesita ser synchronized explícitamente porque es privado
-     * y SOLO se llama desde 'actualizarEstado', que ya posee el bloqueo del monitor.
+     * Este metodo NO necesita adquirir el cerrojo porque es privado
+     * y SOLO se llama desde 'volcar', que ya posee el bloqueo del monitor.
      */
     private static void escribirJson() {
-        try (FileWriter writer = new FileWriter(FILE_PATH)) {
-            writer.write("{\n");
+        // Instantánea ordenada por ID. Los cambios que lleguen mientras copiamos
+        // entrarán en esta instantánea o en la siguiente, nunca se pierden.
+        Map<String, String> instantanea = new TreeMap<>(estadosAviones);
 
-            // Convertimos el mapa a una cadena con formato JSON "bonito" (pretty print).
-            // Usamos Streams de Java 8 para ordenar por ID y formatear "Clave": "Valor".
-            String jsonBody = estadosAviones.entrySet().stream()
-                    .sorted(Map.Entry.comparingByKey())
-                    .map(entry -> "  \"" + entry.getKey() + "\": \"" + entry.getValue() + "\"")
-                    .collect(Collectors.joining(",\n"));
-
-            writer.write(jsonBody);
+        try (BufferedWriter writer = Files.newBufferedWriter(TMP_PATH, StandardCharsets.UTF_8)) {
+            // Formato JSON "bonito" (pretty print): "Clave": "Valor"
+            writer.write("{\n");
+            boolean primero = true;
+            for (Map.Entry<String, String> entry : instantanea.entrySet()) {
+                if (!primero) writer.write(",\n");
+                writer.write("  \"");
+                writer.write(entry.getKey());
+                writer.write("\": \"");
+                writer.write(entry.getValue());
+                writer.write('"');
+                primero = false;
+            }
             writer.write("\n}");
-
         } catch (IOException e) {
+            notificarError();
+            return;
+        }
+
+        try {
+            // Sustitución atómica del fichero anterior
             try {
-                // Si falla la escritura en disco (ej: permisos, disco lleno),
-                // lanzamos nuestra excepción personalizada definida en el paquete 'exceptions'.
-                throw new aeron.exceptions.FlightPanelException();
-            } catch (aeron.exceptions.FlightPanelException ex) {
-                // Imprimimos el mensaje oficial requerido por el enunciado:
-                // "No se ha actualizado el panel de vuelos. Fichero JSON no encontrado"
-                System.err.println(ex.getMessage());
+                Files.move(TMP_PATH, FILE_PATH, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(TMP_PATH, FILE_PATH, StandardCopyOption.REPLACE_EXISTING);
             }
+        } catch (IOException e) {
+            notificarError();
+        }
+    }
+
+    private static void notificarError() {
+        try {
+            // Si falla la escritura en disco (ej: permisos, disco lleno),
+            // lanzamos nuestra excepción personalizada definida en el paquete 'exceptions'.
+            throw new aeron.exceptions.FlightPanelException();
+        } catch (aeron.exceptions.FlightPanelException ex) {
+            // Imprimimos el mensaje oficial requerido por el enunciado:
+            // "No se ha actualizado el panel de vuelos. Fichero JSON no encontrado"
+            System.err.println(ex.getMessage());
         }
     }
-}
\ No newline at end of file
+}
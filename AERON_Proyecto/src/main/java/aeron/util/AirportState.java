@@ -2,6 +2,7 @@ package aeron.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.IntFunction;
 
 // importa clase de Request (peticiones)
 import aeron.concurrent.Request;
@@ -19,36 +20,55 @@ import aeron.util.Gate;
  * Su única responsabilidad es tomar el estado actual de los objetos (colas, pistas, puertas)
  * y convertirlos en Strings formateados (ASCII Art) con bordes y emojis.
  * Esto facilita enormemente la depuración visual de la concurrencia.
+ * <p>
+ * Cada tabla tiene dos versiones: la que devuelve un String nuevo (showX) y la que escribe
+ * en un StringBuilder que le pasamos (appendX), para que quien dibuja a menudo reutilice
+ * siempre el mismo buffer. Los bordes y rellenos se escriben directamente en el buffer.
  */
 public class AirportState {
 
+    // Iconos de ocupación (🟢 = libre, 🔴 = ocupado). Ambos ocupan lo mismo.
+    private static final String ICONO_LIBRE = "🟢";
+    private static final String ICONO_OCUPADO = "🔴";
+
+    // Separación entre columnas de las filas de pistas y puertas
+    private static final String SEPARADOR = "   ";
+
     /**
      * Muestra el contenido de la cola de peticiones (FIFO) con una separación
      * visible arriba y abajo para que se vea claramente la cola.
-     * <p>
-     * Recorre la lista de peticiones y traduce los ENUMs técnicos a iconos visuales
-     * para que sea más fácil entender qué está esperando cada avión.
      * * @param requestQueue La lista de peticiones a dibujar (copia segura pasada por la Torre).
      * @return String formateado con el cuadro.
      */
     public static String showRequestQueue(List<Request> requestQueue) {
+        StringBuilder sb = new StringBuilder();
+        appendRequestQueue(sb, requestQueue);
+        return sb.toString();
+    }
+
+    /**
+     * Igual que {@link #showRequestQueue}, pero escribiendo el cuadro al final de 'sb'.
+     * <p>
+     * Recorre la lista de peticiones y traduce los ENUMs técnicos a iconos visuales
+     * para que sea más fácil entender qué está esperando cada avión.
+     */
+    public static void appendRequestQueue(StringBuilder sb, List<Request> requestQueue) {
         int n = requestQueue.size();
-        List<String> lines = new ArrayList<>();
         String title = "Cola de peticiones (" + n + ")";
 
         // Caso base: Si la cola está vacía, mostramos un mensaje simple
         if (n == 0) {
             String empty = title + ": vacía";
             // sin márgenes laterales, el ancho es justo el de la línea
-            int innerWidth = empty.length();
-            String border = repeat('═', innerWidth);
-            StringBuilder sbEmpty = new StringBuilder();
-            sbEmpty.append("╔").append(border).append("╗\n");
-            sbEmpty.append(empty).append("\n");
-            sbEmpty.append("╚").append(border).append("╝");
-            return sbEmpty.toString();
+            sb.append("╔");
+            repeat(sb, '═', empty.length());
+            sb.append("╗\n").append(empty).append("\n╚");
+            repeat(sb, '═', empty.length());
+            sb.append("╝");
+            return;
         }
 
+        List<String> lines = new ArrayList<>(n + 1);
         lines.add(title + ":");
         int i = 1;
         // Iteramos sobre las peticiones para formatear cada línea
@@ -87,34 +107,9 @@ public class AirportState {
         }
 
         // Construimos el cuadro final
-        String border = repeat('═', max);
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n");
-        sb.append("╔").append(border).append("╗\n");
-        for (String l : lines) {
-            sb.append(l);
-            // rellenar espacios a la derecha para que coincida con el ancho del borde
-            int padding = max - l.length();
-            if (padding > 0) {
-                sb.append(repeat(' ', padding));
-            }
-            sb.append("\n");
-        }
-        sb.append("╚").append(border).append("╝");
-
-        return sb.toString();
-    }
-
-    /**
-     * Método auxiliar privado para repetir un carácter N veces.
-     * Útil para generar los bordes horizontales de las tablas (══════).
-     */
-    private static String repeat(char ch, int count) {
-        StringBuilder sb = new StringBuilder(count);
-        for (int i = 0; i < count; i++) {
-            sb.append(ch);
-        }
-        return sb.toString();
+        abrirCuadro(sb, max);
+        for (String l : lines) linea(sb, l, max);
+        cerrarCuadro(sb, max);
     }
 
     /**
@@ -126,116 +121,102 @@ public class AirportState {
      */
     // metodo para ver el estado de las pistas y de las puertas
     public static String showResourcesStatus(List<Runway> runways, List<Gate> gates) {
-        List<String> lines = new ArrayList<>();
-        lines.add("Estado de recursos:");
+        StringBuilder sb = new StringBuilder();
+        appendResourcesStatus(sb, runways, gates);
+        return sb.toString();
+    }
+
+    /**
+     * Igual que {@link #showResourcesStatus}, pero escribiendo el cuadro al final de 'sb'.
+     * Pistas y puertas van en dos filas (IDs e iconos justo debajo, alineados por columna).
+     */
+    public static void appendResourcesStatus(StringBuilder sb, List<Runway> runways, List<Gate> gates) {
+        int nR = runways.size();
+        int nG = gates.size();
+        IntFunction<String> idsR = i -> runways.get(i).getId();
+        IntFunction<String> idsG = i -> gates.get(i).getId();
+        // 🟢 = Disponible, 🔴 = Ocupada (en las puertas la lógica es inversa: isOccupied())
+        IntFunction<String> iconosR = i -> runways.get(i).isAvailable() ? ICONO_LIBRE : ICONO_OCUPADO;
+        IntFunction<String> iconosG = i -> gates.get(i).isOccupied() ? ICONO_OCUPADO : ICONO_LIBRE;
+
+        // Ancho del cuadro: la línea más larga (sin construirlas antes)
+        int max = "Estado de recursos:".length();
+        max = Math.max(max, nR == 0 ? "Pistas: (vacías)".length() : anchoFila(nR, idsR));
+        max = Math.max(max, nG == 0 ? "Puertas: (vacías)".length() : anchoFila(nG, idsG));
+
+        abrirCuadro(sb, max);
+        linea(sb, "Estado de recursos:", max);
 
         // --- SECCIÓN PISTAS ---
-        // Pistas: ids en una línea, iconos justo debajo alineados por columna
-        if (runways.isEmpty()) {
-            lines.add("Pistas: (vacías)");
+        if (nR == 0) {
+            linea(sb, "Pistas: (vacías)", max);
         } else {
-            lines.add("Pistas:");
-            int nR = runways.size();
-            String[] idsR = new String[nR];
-            String[] iconsR = new String[nR];
-            int[] colW = new int[nR];
-
-            // Preparamos los datos
-            for (int i = 0; i < nR; i++) {
-                Runway r = runways.get(i);
-                idsR[i] = r.getId();
-                // 🟢 = Disponible (True), 🔴 = Ocupada (False)
-                iconsR[i] = r.isAvailable() ? "🟢" : "🔴";
-                colW[i] = Math.max(idsR[i].length(), iconsR[i].length());
-            }
-
-            // Construimos las dos líneas (Cabeceras y Estado)
-            StringBuilder idLine = new StringBuilder();
-            StringBuilder iconLine = new StringBuilder();
-            for (int i = 0; i < nR; i++) {
-                idLine.append(idsR[i]);
-                iconLine.append(iconsR[i]);
-                // Ajuste de espaciado (padding) para alinear columnas
-                int padId = colW[i] - idsR[i].length();
-                int padIcon = colW[i] - iconsR[i].length();
-                if (padId > 0)
-                    idLine.append(repeat(' ', padId));
-                if (padIcon > 0)
-                    iconLine.append(repeat(' ', padIcon));
-                if (i < nR - 1) {
-                    idLine.append("   "); // separación entre columnas
-                    iconLine.append("   ");
-                }
-            }
-            lines.add(idLine.toString());
-            lines.add(iconLine.toString());
+            linea(sb, "Pistas:", max);
+            fila(sb, nR, idsR, idsR, max);
+            fila(sb, nR, idsR, iconosR, max);
         }
 
         // Separador visual entre secciones
-        lines.add("");
+        linea(sb, "", max);
 
         // --- SECCIÓN PUERTAS ---
-        // Puertas: mismo formato que pistas, pero comprobando isOccupied()
-        if (gates.isEmpty()) {
-            lines.add("Puertas: (vacías)");
+        if (nG == 0) {
+            linea(sb, "Puertas: (vacías)", max);
         } else {
-            lines.add("Puertas:");
-            int nG = gates.size();
-            String[] idsG = new String[nG];
-            String[] iconsG = new String[nG];
-            int[] colWg = new int[nG];
-
-            for (int i = 0; i < nG; i++) {
-                Gate g = gates.get(i);
-                idsG[i] = g.getId();
-                // Aquí la lógica es inversa: isOccupied() true -> Rojo
-                iconsG[i] = g.isOccupied() ? "🔴" : "🟢";
-                colWg[i] = Math.max(idsG[i].length(), iconsG[i].length());
-            }
-
-            StringBuilder idLineG = new StringBuilder();
-            StringBuilder iconLineG = new StringBuilder();
-            for (int i = 0; i < nG; i++) {
-                idLineG.append(idsG[i]);
-                iconLineG.append(iconsG[i]);
-                int padId = colWg[i] - idsG[i].length();
-                int padIcon = colWg[i] - iconsG[i].length();
-                if (padId > 0)
-                    idLineG.append(repeat(' ', padId));
-                if (padIcon > 0)
-                    iconLineG.append(repeat(' ', padIcon));
-                if (i < nG - 1) {
-                    idLineG.append("   ");
-                    iconLineG.append("   ");
-                }
-            }
-            lines.add(idLineG.toString());
-            lines.add(iconLineG.toString());
+            linea(sb, "Puertas:", max);
+            fila(sb, nG, idsG, idsG, max);
+            fila(sb, nG, idsG, iconosG, max);
         }
+        cerrarCuadro(sb, max);
+    }
 
-        // calcular ancho máximo de las líneas para la barra superior/inferior
-        int max = 0;
-        for (String l : lines) {
-            if (l.length() > max)
-                max = l.length();
-        }
+    // Ancho de una fila de columnas (cada columna mide lo que el más ancho de ID e icono)
+    private static int anchoFila(int n, IntFunction<String> ids) {
+        int ancho = SEPARADOR.length() * (n - 1);
+        for (int i = 0; i < n; i++) ancho += Math.max(ids.apply(i).length(), ICONO_LIBRE.length());
+        return ancho;
+    }
 
-        // Enmarcar todo en un cuadro
-        String border = repeat('═', max);
-        StringBuilder sb = new StringBuilder();
-        sb.append("\n");
-        sb.append("╔").append(border).append("╗\n");
-        for (String l : lines) {
-            sb.append(l);
-            int padding = max - l.length();
-            if (padding > 0) {
-                sb.append(repeat(' ', padding));
-            }
-            sb.append("\n");
+    // Escribe una fila de celdas alineadas por columna y la rellena hasta el ancho del cuadro
+    private static void fila(StringBuilder sb, int n, IntFunction<String> ids, IntFunction<String> celdas, int max) {
+        int inicio = sb.length();
+        for (int i = 0; i < n; i++) {
+            String celda = celdas.apply(i);
+            sb.append(celda);
+            // Ajuste de espaciado (padding) para alinear columnas
+            repeat(sb, ' ', Math.max(ids.apply(i).length(), ICONO_LIBRE.length()) - celda.length());
+            if (i < n - 1) sb.append(SEPARADOR);
         }
-        sb.append("╚").append(border).append("╝");
+        repeat(sb, ' ', max - (sb.length() - inicio));
+        sb.append('\n');
+    }
 
-        return sb.toString();
+    private static void abrirCuadro(StringBuilder sb, int max) {
+        sb.append("\n╔");
+        repeat(sb, '═', max);
+        sb.append("╗\n");
+    }
+
+    // rellenar espacios a la derecha para que coincida con el ancho del borde
+    private static void linea(StringBuilder sb, String l, int max) {
+        sb.append(l);
+        repeat(sb, ' ', max - l.length());
+        sb.append('\n');
     }
 
-}
\ No newline at end of file
+    private static void cerrarCuadro(StringBuilder sb, int max) {
+        sb.append("╚");
+        repeat(sb, '═', max);
+        sb.append("╝");
+    }
+
+    /**
+     * Método auxiliar privado para repetir un carácter N veces directamente en el buffer.
+     * Útil para generar los bordes horizontales de las tablas (══════) y los rellenos.
+     */
+    private static void repeat(StringBuilder sb, char ch, int count) {
+        for (int i = 0; i < count; i++) {
+            sb.append(ch);
+        }
+    }
+}
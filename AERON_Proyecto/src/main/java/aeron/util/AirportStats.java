@@ -1,5 +1,11 @@
 package aeron.util;
 
+import aeron.concurrent.ControlTowerConcurrent;
+import aeron.concurrent.LatencyHistogram;
+import aeron.concurrent.LatencyPhase;
+import aeron.concurrent.RequestType;
+import aeron.concurrent.TowerCounters;
+import aeron.concurrent.TowerLatencies;
 import aeron.exceptions.SimulationSummaryException;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -8,19 +14,37 @@ import java.io.IOException;
  * Clase de utilidad encargada de generar las estadísticas finales de la simulación.
  * <p>
  * FUNCIONALIDAD (Práctica 6):
- * Al terminar la ejecución, vuelca los datos resumen (número de aviones, pistas, etc.)
- * a un archivo de texto con formato CSV (Comma Separated Values) para su posterior análisis.
+ * Al terminar la ejecución, vuelca los datos resumen a un archivo de texto con formato CSV
+ * (Comma Separated Values) para su posterior análisis.
+ * <p>
+ * ORIGEN DE LOS DATOS:
+ * Todo sale de lo que ha medido la Torre durante la ejecución: sus contadores
+ * ({@link TowerCounters}: movimientos, ocupación, máximos de las colas, saturaciones,
+ * peticiones pospuestas) y sus histogramas de latencia ({@link TowerLatencies}). Aquí solo
+ * se leen y se combinan, una vez, cuando ya han terminado todos los aviones.
  */
 public class AirportStats {
 
+    private static final String[] NOMBRES_PERCENTILES = {"p50", "p99", "p99.9", "max"};
+
     /**
      * Genera el archivo 'resumen_simulacion.csv'.
-     * Este metodo se invoca al finalizar el bucle principal en Simulation.java.
-     * * @param numAviones Cantidad total de aviones procesados en la simulación.
+     * Este metodo se invoca en Simulation.java cuando todos los aviones han terminado su ciclo
+     * y la Torre ha procesado sus últimas peticiones.
+     * @param numAviones Cantidad total de aviones lanzados en la simulación.
+     * @param completados Aviones que han llegado a despegar (DEPARTED).
+     * @param sinTerminar Aviones que seguían en marcha al agotarse la espera y se interrumpieron
+     *                    (en la simulación por eventos, los que no completaron su ciclo).
      * @param numPistas Número de pistas que se configuraron.
+     * @param numPuertas Número de puertas que se configuraron.
+     * @param duracionNs Duración de la simulación (ns, con el reloj de la Torre).
+     * @param torre Torre de la que se leen contadores y latencias.
      */
-    public static void generarResumen(int numAviones, int numPistas) {
+    public static void generarResumen(int numAviones, int completados, int sinTerminar, int numPistas,
+                                      int numPuertas, long duracionNs, ControlTowerConcurrent torre) {
         String fileName = "resumen_simulacion.csv";
+        TowerCounters c = torre.getContadores();
+        double minutos = duracionNs / 60e9;
 
         // Usamos la estructura 'try-with-resources' (Java 7+).
         // Esto garantiza que el FileWriter se cierre automáticamente al terminar el bloque,
@@ -30,10 +54,40 @@ public class AirportStats {
             // Escribimos la cabecera del CSV con separador de punto y coma (;)
             writer.write("Concepto;Valor\n");
 
-            // Escribimos los datos dinámicos de la simulación
+            // Configuración y resultado de la simulación
             writer.write("Total Aviones;" + numAviones + "\n");
+            writer.write("Aviones Completados;" + completados + "\n");
+            writer.write("Aviones Sin Terminar;" + sinTerminar + "\n");
             writer.write("Total Pistas;" + numPistas + "\n");
-            writer.write("Estado;Finalizado con Éxito\n");
+            writer.write("Total Puertas;" + numPuertas + "\n");
+            writer.write(String.format("Duración (s);%.3f%n", duracionNs / 1e9));
+
+            // Rendimiento
+            writer.write("Aterrizajes;" + c.getAterrizajes() + "\n");
+            writer.write("Despegues;" + c.getDespegues() + "\n");
+            writer.write("Movimientos Totales;" + c.getMovimientos() + "\n");
+            writer.write(String.format("Movimientos por Minuto;%.2f%n",
+                    minutos > 0 ? c.getMovimientos() / minutos : 0.0));
+
+            // Uso de los recursos: tiempo ocupado / tiempo disponible
+            writer.write(String.format("Utilización Pistas (%%);%.2f%n",
+                    porcentaje(c.getOcupacionPistasNs(), duracionNs * (double) numPistas)));
+            writer.write(String.format("Utilización Puertas (%%);%.2f%n",
+                    porcentaje(c.getOcupacionPuertasNs(), duracionNs * (double) numPuertas)));
+
+            // Presión sobre las colas
+            writer.write("Máximo Cola de Entrada;" + c.getMaxCola() + "\n");
+            writer.write("Máximo Aterrizajes en Espera;" + c.getMaxAterrizajesPendientes() + "\n");
+            writer.write("Máximo Despegues en Espera;" + c.getMaxDespeguesPendientes() + "\n");
+            writer.write("Peticiones Rechazadas (Saturación);" + c.getSaturaciones() + "\n");
+            writer.write("Aterrizajes Pospuestos;" + c.getAterrizajesPospuestos() + "\n");
+            writer.write("Despegues Pospuestos;" + c.getDespeguesPospuestos() + "\n");
+
+            // Tiempos de espera por tipo de petición y tramo
+            escribirLatencias(writer, torre.getLatencias());
+
+            writer.write("Estado;" + (completados == numAviones ? "Finalizado con Éxito"
+                    : "Finalizado con " + (numAviones - completados) + " vuelos sin completar") + "\n");
 
             System.out.println("Resumen CSV generado correctamente.");
 
@@ -49,4 +103,24 @@ public class AirportStats {
             }
         }
     }
-}
\ No newline at end of file
+
+    // Una fila por percentil de cada tipo de petición y tramo con medidas (ej: "Latencia LANDING TOTAL p99 (ms);1,250")
+    private static void escribirLatencias(FileWriter writer, TowerLatencies latencias) throws IOException {
+        long[] valores = new long[NOMBRES_PERCENTILES.length];
+        for (RequestType tipo : RequestType.values()) {
+            for (LatencyPhase fase : LatencyPhase.values()) {
+                LatencyHistogram h = latencias.getHistograma(tipo, fase);
+                if (h.getCuenta() == 0) continue;
+                latencias.percentiles(tipo, fase, valores);
+                for (int i = 0; i < NOMBRES_PERCENTILES.length; i++) {
+                    writer.write(String.format("Latencia %s %s %s (ms);%.3f%n",
+                            tipo, fase, NOMBRES_PERCENTILES[i], valores[i] / 1e6));
+                }
+            }
+        }
+    }
+
+    private static double porcentaje(double parte, double total) {
+        return total > 0 ? Math.min(100.0, 100.0 * parte / total) : 0.0;
+    }
+}
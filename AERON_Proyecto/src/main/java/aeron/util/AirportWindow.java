@@ -2,23 +2,104 @@ package aeron.util;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Ventana gráfica (GUI) basada en Swing para visualizar la simulación.
  * <p>
  * Su objetivo es mostrar en tiempo real los mismos mensajes que aparecen en la consola,
  * facilitando el seguimiento visual de los eventos sin perder el historial gracias al scroll.
+ * <p>
+ * MEMORIA Y RENDIMIENTO:
+ * - Solo se guardan las últimas {@link #MAX_LINEAS_POR_DEFECTO} líneas en un buffer circular
+ *   ({@link LogListModel}): en una simulación larga la memoria no crece sin límite.
+ * - Se muestran con un JList "virtualizado": solo se pintan las líneas visibles en pantalla.
+ * - Las líneas que llegan se acumulan y el Hilo de Eventos de Swing (EDT) las recoge de golpe
+ *   una vez por frame, en lugar de una tarea 'invokeLater' por mensaje.
  */
 public class AirportWindow extends JFrame {
 
-    // Componente de texto multilínea donde iremos acumulando los logs
-    private JTextArea logArea;
+    /** Líneas que se conservan en la ventana (las más antiguas se descartan). */
+    public static final int MAX_LINEAS_POR_DEFECTO = 10_000;
+
+    // Intervalo entre actualizaciones de la ventana (~30 frames por segundo)
+    private static final int PERIODO_FRAME_MS = 33;
+
+    /**
+     * Modelo del JList: buffer circular con las últimas líneas. Solo se usa desde el EDT.
+     */
+    static final class LogListModel extends AbstractListModel<String> {
+        private final String[] lineas;
+        private int inicio;
+        private int tamano;
+
+        LogListModel(int capacidad) {
+            this.lineas = new String[capacidad];
+        }
+
+        @Override
+        public int getSize() {
+            return tamano;
+        }
+
+        @Override
+        public String getElementAt(int index) {
+            return lineas[(inicio + index) % lineas.length];
+        }
+
+        /**
+         * Añade las líneas del lote (si no caben, se descartan las más antiguas) y avisa al
+         * JList con un solo evento de borrado y uno de inserción.
+         */
+        void anadir(List<String> lote) {
+            int n = lote.size();
+            if (n == 0) return;
+            // Si el lote solo ya llena el buffer, solo nos interesan sus últimas líneas
+            int desde = Math.max(0, n - lineas.length);
+            n -= desde;
+
+            int sobran = Math.max(0, tamano + n - lineas.length);
+            if (sobran > 0) {
+                for (int i = 0; i < sobran; i++) lineas[(inicio + i) % lineas.length] = null;
+                inicio = (inicio + sobran) % lineas.length;
+                tamano -= sobran;
+                fireIntervalRemoved(this, 0, sobran - 1);
+            }
+            int primera = tamano;
+            for (int i = desde; i < lote.size(); i++) {
+                lineas[(inicio + tamano) % lineas.length] = lote.get(i);
+                tamano++;
+            }
+            fireIntervalAdded(this, primera, tamano - 1);
+        }
+    }
+
+    // Lista de líneas de log (solo pinta las visibles)
+    private final JList<String> logList;
+    private final JScrollPane scrollPane;
+    private final LogListModel modelo;
+    private final int maxLineas;
+
+    // RECURSO COMPARTIDO: bloques de texto pendientes de pasar a la ventana. Protegido por 'this'.
+    private ArrayDeque<String> pendientes = new ArrayDeque<>();
+    private int lineasPendientes;
 
     /**
      * Constructor de la ventana.
      * Configuramos el tamaño, título y disposición de los elementos.
      */
     public AirportWindow() {
+        this(MAX_LINEAS_POR_DEFECTO);
+    }
+
+    /**
+     * @param maxLineas Número máximo de líneas de log que se conservan en la ventana.
+     */
+    public AirportWindow(int maxLineas) {
+        this.maxLineas = Math.max(1, maxLineas);
+
         // Configuramos las propiedades básicas de la ventana principal
         setTitle("Simulación Aeropuerto AERON");
         setSize(800, 600);
@@ -29,35 +110,89 @@ public class AirportWindow extends JFrame {
         // Usamos un BorderLayout para que el texto ocupe todo el espacio central
         setLayout(new BorderLayout());
 
-        // Inicializamos el área de texto
-        logArea = new JTextArea();
-        logArea.setEditable(false); // Bloqueamos la edición para que sea solo de lectura
+        modelo = new LogListModel(this.maxLineas);
+        logList = new JList<>(modelo);
 
         // Usamos fuente monoespaciada para que las tablas ASCII (Practica 7) se alineen bien
-        logArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+        logList.setFont(new Font("Monospaced", Font.PLAIN, 12));
 
-        // Envolvemos el área de texto en un ScrollPane para tener barras de desplazamiento
-        JScrollPane scrollPane = new JScrollPane(logArea);
+        // Alto de fila fijo: el JList no tiene que medir cada línea para calcular el scroll
+        logList.setFixedCellHeight(logList.getFontMetrics(logList.getFont()).getHeight());
+        logList.setPrototypeCellValue("X".repeat(120));
+
+        // Envolvemos la lista en un ScrollPane para tener barras de desplazamiento
+        scrollPane = new JScrollPane(logList);
         add(scrollPane, BorderLayout.CENTER);
 
+        // Una actualización por frame en el EDT con todo lo recibido mientras tanto
+        new Timer(PERIODO_FRAME_MS, e -> volcarPendientes()).start();
+
         // Hacemos visible la ventana en la pantalla
         setVisible(true);
     }
 
     /**
      * Metodo thread-safe para añadir texto a la ventana desde cualquier hilo.
-     * @param text El mensaje de log a mostrar.
+     * Solo deja el texto pendiente; el EDT lo mostrará en el siguiente frame.
+     * @param text El mensaje de log a mostrar (puede tener varias líneas).
      */
     public void addLog(String text) {
         // IMPORTANTE: Swing no es Thread-Safe (no es seguro para hilos).
-        // Como este metodo lo llaman los hilos de los Aviones y Operarios,
-        // no podemos tocar el JTextArea directamente o la interfaz podría corromperse.
-        // Usamos 'invokeLater' para encolar la actualización en el Hilo de Eventos de Swing (EDT).
-        SwingUtilities.invokeLater(() -> {
-            logArea.append(text + "\n");
-
-            // Hacemos auto-scroll hacia abajo para ver siempre el mensaje más reciente
-            logArea.setCaretPosition(logArea.getDocument().getLength());
-        });
+        // Como este metodo lo llaman otros hilos, no tocamos el JList: lo hará el Timer en el EDT.
+        int lineas = contarLineas(text);
+        synchronized (this) {
+            pendientes.add(text);
+            lineasPendientes += lineas;
+            // Si el EDT no da abasto, lo más antiguo no llegaría a verse: lo descartamos ya
+            while (pendientes.size() > 1 && lineasPendientes - contarLineas(pendientes.peekFirst()) >= maxLineas) {
+                lineasPendientes -= contarLineas(pendientes.pollFirst());
+            }
+        }
+    }
+
+    /**
+     * Añade el panel gráfico del aeropuerto encima del log (ambos con su propio scroll).
+     * @param tablero Panel con las pistas, puertas y colas de la Torre.
+     */
+    public void mostrarTablero(AirportBoardPanel tablero) {
+        remove(scrollPane);
+        JSplitPane division = new JSplitPane(JSplitPane.VERTICAL_SPLIT, new JScrollPane(tablero), scrollPane);
+        division.setResizeWeight(0.5);
+        add(division, BorderLayout.CENTER);
+        revalidate();
+    }
+
+    // Se ejecuta en el EDT una vez por frame
+    private void volcarPendientes() {
+        ArrayDeque<String> bloques;
+        synchronized (this) {
+            if (pendientes.isEmpty()) return;
+            bloques = pendientes;
+            pendientes = new ArrayDeque<>();
+            lineasPendientes = 0;
+        }
+
+        List<String> lote = new ArrayList<>(bloques.size());
+        for (String bloque : bloques) {
+            int desde = 0;
+            for (int i = bloque.indexOf('\n'); i >= 0; i = bloque.indexOf('\n', desde)) {
+                lote.add(bloque.substring(desde, i));
+                desde = i + 1;
+            }
+            lote.add(bloque.substring(desde));
+        }
+
+        // Auto-scroll hacia abajo solo si el usuario estaba viendo el final
+        JScrollBar barra = scrollPane.getVerticalScrollBar();
+        boolean alFinal = barra.getValue() + barra.getVisibleAmount() >= barra.getMaximum() - logList.getFixedCellHeight();
+
+        modelo.anadir(lote);
+        if (alFinal) logList.ensureIndexIsVisible(modelo.getSize() - 1);
+    }
+
+    private static int contarLineas(String text) {
+        int lineas = 1;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', i + 1)) lineas++;
+        return lineas;
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,47 @@
 package aeron.util;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Representa una Puerta de Embarque (Gate) en el aeropuerto.
  * Es un recurso compartido limitado (tenemos 5 puertas para 20 aviones).
  * <p>
- * NOTA DE DEFENSA: Al igual que Runway, esta clase no es Thread-Safe por sí misma
- * porque no lo necesita. La concurrencia se controla en la Torre antes de llamar
- * a estos métodos.
+ * NOTA DE DEFENSA: Al igual que Runway, la ocupación se hace con un CAS sobre
+ * su propio estado, de modo que dos Operarios nunca pueden coger la misma puerta.
  */
 public class Gate {
 
     // Identificador de la puerta (ej: "GATE 1")
     private String id;
 
+    // Posición de la puerta en la lista de la Torre (0, 1, 2...), -1 si no pertenece a ninguna
+    private final int indice;
+
     // Estado de la puerta: true = libre, false = ocupada.
-    private boolean libre = true;
+    private final AtomicBoolean libre = new AtomicBoolean(true);
 
     /**
      * Constructor de la puerta.
      * @param id Nombre identificativo.
      */
     public Gate(String id) {
+        this(id, -1);
+    }
+
+    /**
+     * Constructor usado por la Torre.
+     * @param id Nombre identificativo.
+     * @param indice Posición de la puerta en la lista de la Torre.
+     */
+    public Gate(String id, int indice) {
         this.id = id;
+        this.indice = indice;
     }
 
     public String getId() { return id; }
 
+    public int getIndice() { return indice; }
+
     /**
      * Comprueba si la puerta está ocupada.
      * @return true si hay un avión en la puerta, false si está libre.
@@ -34,16 +50,24 @@ public class Gate {
     // Aquí la lógica es inversa a Runway (allí es isAvailable).
     // Simplemente devuelve el inverso del flag 'libre'.
     public boolean isOccupied() {
-        return !libre;
+        return !libre.get();
     }
 
     /**
-     * Cambia el estado de ocupación de la puerta.
-     * @param libre true para liberar, false para ocupar.
+     * Intenta ocupar la puerta de forma atómica (libre -> ocupada).
+     * @return true si la hemos ocupado nosotros, false si ya estaba ocupada.
      */
     // Necesario para que la Torre (el Operario) la ocupe/libere.
-    public void setLibre(boolean libre) {
-        this.libre = libre;
+    public boolean intentarOcupar() {
+        return libre.compareAndSet(true, false);
+    }
+
+    /**
+     * Libera la puerta de forma atómica (ocupada -> libre).
+     * @return true si estaba ocupada y la hemos liberado, false si ya estaba libre.
+     */
+    public boolean liberar() {
+        return libre.compareAndSet(false, true);
     }
 
     @Override
@@ -0,0 +1,13 @@
+package aeron.util;
+
+/**
+ * Cuándo se reescribe 'aeropuerto.json' tras un cambio de estado de un vuelo.
+ */
+public enum JsonPersistenceMode {
+
+    /** En cada cambio, dentro del monitor (comportamiento original de la Práctica 5). */
+    INMEDIATO,
+
+    /** Los cambios se agrupan en memoria y un hilo de fondo vuelca una instantánea por intervalo o tamaño. */
+    AGRUPADO
+}
@@ -0,0 +1,43 @@
+package aeron.util;
+
+/**
+ * Casilla REUTILIZABLE del anillo de logs ({@link LogRing}).
+ * <p>
+ * Los objetos se crean una sola vez al arrancar y se van rellenando y vaciando en cada vuelta
+ * del anillo: el productor (Avión, Operario...) escribe los campos y el hilo escritor del
+ * Logger los lee y los vuelca a fichero, consola y ventana.
+ * <p>
+ * El evento es ESTRUCTURADO: solo guarda referencias a cadenas que ya existen (ID del vuelo,
+ * de la pista, nombre del estado...). El texto final lo compone el hilo escritor con la
+ * plantilla de {@link LogEventType}, así que registrar un evento no reserva memoria.
+ */
+public class LogEvent {
+
+    // Tipo de evento (decide la plantilla del mensaje)
+    LogEventType tipo;
+
+    // Campos que rellenan la plantilla (cualquiera puede ser null)
+    String vuelo;
+    String pista;
+    String puerta;
+    String operario;
+    String detalle;
+
+    // Instante (System.nanoTime) en el que se generó el evento
+    long nanos;
+
+    // Compone la línea de log al final de 'destino' (solo desde el hilo escritor)
+    void formatear(StringBuilder destino) {
+        tipo.formatear(this, destino);
+    }
+
+    // Deja la casilla vacía para la siguiente vuelta del anillo (no retener referencias)
+    void limpiar() {
+        tipo = null;
+        vuelo = null;
+        pista = null;
+        puerta = null;
+        operario = null;
+        detalle = null;
+    }
+}
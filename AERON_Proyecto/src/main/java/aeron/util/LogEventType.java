@@ -0,0 +1,114 @@
+package aeron.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Catálogo de eventos ESTRUCTURADOS del log.
+ * <p>
+ * En lugar de construir cada línea con concatenaciones ("Avión [" + id + ...) en el hilo que
+ * la genera, el productor solo rellena los campos de un {@link LogEvent} reutilizable
+ * (vuelo, pista, puerta, operario, detalle). El texto se compone más tarde, en el hilo
+ * escritor del Logger, a partir de la plantilla de cada tipo.
+ * <p>
+ * Marcadores de las plantillas:
+ * {V} vuelo, {P} pista, {G} puerta, {O} operario, {D} detalle (estado, tipo de petición o texto libre).
+ * Un campo nulo se escribe como "-".
+ */
+public enum LogEventType {
+
+    // --- TEXTO LIBRE (compatibilidad con log(String), logTorre, logEventos) ---
+    TEXTO("{D}"),
+    TEXTO_AVION("[AVION] {D}"),
+    TEXTO_TORRE("[TORRE] {D}"),
+
+    // --- CICLO DE VIDA DEL AVIÓN ---
+    AVION_INICIA_CICLO("[AVION] Avión [{V} - {D}] Inicia ciclo"),
+    AVION_EN_VUELO("[AVION] Avión [{V} - {D}] El avión está en vuelo"),
+    AVION_SOLICITA_ATERRIZAJE("[AVION] Avión [{V} - IN_FLIGHT] Solicita aterrizaje a torre de control"),
+    AVION_EMERGENCIA_COMBUSTIBLE("[AVION] Avión [{V} - LANDING_REQUEST] EMERGENCIA de combustible: solicita prioridad"),
+    AVION_ATERRIZAJE_EN_COLA("[AVION] Avión [{V} - LANDING_REQUEST] Solicitud de aterrizaje en cola"),
+    AVION_ESPERA_ATERRIZAJE("[AVION] Avión [{V} - LANDING_REQUEST] Espera autorización de aterrizaje"),
+    AVION_ATERRIZAJE_AUTORIZADO("[AVION] Avión [{V} - LANDING_ASSIGNED] Aterrizaje autorizado"),
+    AVION_PISTA_ATERRIZAJE("[AVION] Avión [{V} - LANDING_ASSIGNED] Me ha tocado aterrizar en la Pista [{P}]"),
+    AVION_PUERTA_EMBARQUE("[AVION] Avión [{V} - LANDING_ASSIGNED] Me ha tocado embarcar en la Puerta [{G}]"),
+    AVION_ATERRIZANDO("[AVION] Avión [{V} - LANDING] Aterrizando"),
+    AVION_ATERRIZADO("[AVION] Avión [{V} - LANDED] Aterrizado"),
+    AVION_EMBARCANDO("[AVION] Avión [{V} - BOARDING] Embarcando"),
+    AVION_EMBARCADO("[AVION] Avión [{V} - BOARDED] Embarcado"),
+    AVION_DESPEGUE_EN_COLA("[AVION] Avión [{V} - TAKEOFF_REQUESTED] Solicitud de despegue en cola"),
+    AVION_DESPEGUE_AUTORIZADO("[AVION] Avión [{V} - TAKEOFF_ASSIGNED] Despegue autorizado"),
+    AVION_PISTA_DESPEGUE("[AVION] Avión [{V} - TAKEOFF_ASSIGNED] Me ha tocado despegar en la Pista [{P}]"),
+    AVION_DESPEGANDO("[AVION] Avión [{V} - DEPARTING] Despegando"),
+    AVION_DESPEGADO("[AVION] Avión [{V} - DEPARTED] El avión ha despegado"),
+    AVION_REINTENTA_PETICION("[AVION] Avión [{V} - {D}] Torre saturada: reintenta la petición"),
+    AVION_INTERRUMPIDO("[AVION] Avión [{V} - {D}] Interrumpido: abandona la simulación sin terminar"),
+
+    // --- COLA DE PETICIONES (Productor) ---
+    PETICION_ATERRIZAJE_ENCOLADA("[AVION] Avión [{V} - LANDING_REQUESTED] Solicitud de aterrizaje en cola"),
+    PETICION_DESPEGUE_ENCOLADA("[AVION] Avión [{V} - TAKEOFF_REQUESTED] Solicitud de despegue en cola"),
+
+    // --- TORRE Y OPERARIOS (Consumidor) ---
+    OPERARIO_ESPERANDO("[TORRE] Operario [{O}] esperando nueva petición..."),
+    OPERARIO_COGE_PETICION("[TORRE] Operario [{O}] ha cogido una petición de tipo {D} para Avión [{V} - {D}]"),
+    PROCESANDO_PETICION("[TORRE] Procesando petición de {D} de Avión [{V} - {D}]"),
+    OPERARIO_COMPLETA_PETICION("[TORRE] Operario [{O}] ha completado la petición de tipo {D} para Avión [{V} - {D}]"),
+    OPERARIO_COMPLETA_ATERRIZAJE("[TORRE] Operario [{O}] ha completado la petición de tipo LANDING para Avión [{V} - LANDING_ASSIGNED]"),
+    OPERARIO_COMPLETA_DESPEGUE("[TORRE] Operario [{O}] ha completado la petición de tipo TAKEOFF para Avión [{V} - TAKEOFF_ASSIGNED]"),
+    ATERRIZAJE_POSPUESTO("[TORRE] Petición POSPUESTA por falta de recursos."),
+    DESPEGUE_POSPUESTO("[TORRE] Despegue POSPUESTO (Pistas llenas)."),
+    RECUPERA_ATERRIZAJE("[TORRE] Recuperando petición pendiente de {V}"),
+    RECUPERA_DESPEGUE("[TORRE] Recuperando despegue pendiente de {V}"),
+    PISTA_OCUPADA_ATERRIZAJE("[TORRE] Pista [{P}] pasa a estar ocupada por el avión Avión [{V} - IN_FLIGHT]"),
+    PUERTA_OCUPADA("[TORRE] Puerta [{G}] pasa a estar ocupada por el avión Avión [{V} - IN_FLIGHT]"),
+    AUTORIZADO_ATERRIZAR("[TORRE] Avión [{V} - LANDING_REQUEST] autorizado para aterrizar en Pista [{P}]"),
+    AUTORIZADO_EMBARCAR("[TORRE] Avión [{V} - LANDING_REQUEST] autorizado para embarcar en Puerta [{G}]"),
+    PISTA_OCUPADA_DESPEGUE("[TORRE] Pista [{P}] pasa a estar ocupada por el avión Avión [{V} - TAKEOFF_REQUESTED]"),
+    AUTORIZADO_DESPEGAR("[TORRE] Avión [{V} - TAKEOFF_REQUESTED] autorizado para despegar en Pista [{P}]"),
+    PISTA_LIBERADA_ATERRIZAJE("[TORRE] Pista [{P}] se libera"),
+    PUERTA_LIBERADA("[TORRE] Puerta liberada por {V}"),
+    PISTA_LIBERADA_DESPEGUE("[TORRE] Pista liberada. Avión [{V} - DEPARTED] fuera del sistema."),
+
+    // --- PANEL DE VUELOS ---
+    PANEL("[PANEL] Avión: {V} | Estado: {D} | Pista: {P} | Puerta: {G}");
+
+    // Plantilla troceada al arrancar: trozos de texto fijo y, entre ellos, el campo a insertar
+    private final String[] trozos;
+    private final char[] campos;
+
+    LogEventType(String plantilla) {
+        List<String> t = new ArrayList<>();
+        StringBuilder c = new StringBuilder();
+        int desde = 0;
+        for (int i = 0; i + 2 < plantilla.length(); i++) {
+            if (plantilla.charAt(i) == '{' && plantilla.charAt(i + 2) == '}') {
+                t.add(plantilla.substring(desde, i));
+                c.append(plantilla.charAt(i + 1));
+                desde = i + 3;
+                i += 2;
+            }
+        }
+        t.add(plantilla.substring(desde));
+        this.trozos = t.toArray(new String[0]);
+        this.campos = c.toString().toCharArray();
+    }
+
+    /**
+     * Compone el texto del evento al final de 'destino' (lo llama el hilo escritor, no el productor).
+     */
+    void formatear(LogEvent e, StringBuilder destino) {
+        for (int i = 0; i < campos.length; i++) {
+            destino.append(trozos[i]);
+            String valor;
+            switch (campos[i]) {
+                case 'V': valor = e.vuelo; break;
+                case 'P': valor = e.pista; break;
+                case 'G': valor = e.puerta; break;
+                case 'O': valor = e.operario; break;
+                default:  valor = e.detalle; break;
+            }
+            destino.append(valor != null ? valor : "-");
+        }
+        destino.append(trozos[campos.length]);
+    }
+}
@@ -0,0 +1,13 @@
+package aeron.util;
+
+/**
+ * Cuándo vuelca a disco el hilo escritor del Logger lo que tiene en el buffer del fichero.
+ */
+public enum LogFlushPolicy {
+
+    /** Tras escribir cada lote de mensajes (más seguro ante un cierre brusco). */
+    POR_LOTE,
+
+    /** Como mucho una vez cada intervalo configurado (menos escrituras al disco). */
+    PERIODICO
+}
@@ -0,0 +1,14 @@
+package aeron.util;
+
+/**
+ * Qué hace el Logger cuando su anillo de mensajes está lleno
+ * (el hilo escritor no da abasto con lo que producen Aviones y Operarios).
+ */
+public enum LogOverflowPolicy {
+
+    /** El hilo que escribe espera a que haya hueco (contrapresión). No se pierde ningún mensaje. */
+    BLOQUEAR,
+
+    /** El mensaje se descarta y se cuenta (ver Logger.getDescartados()). Nunca frena a la simulación. */
+    DESCARTAR
+}
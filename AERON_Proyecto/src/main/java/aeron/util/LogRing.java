@@ -0,0 +1,91 @@
+package aeron.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Anillo lock-free de MÚLTIPLES productores y UN consumidor para los mensajes del Logger.
+ * <p>
+ * Las casillas ({@link LogEvent}) se crean al principio y se reutilizan: publicar un mensaje
+ * no reserva memoria para la estructura. Cada casilla lleva un número de secuencia:
+ * - secuencia == pos       -> libre para el productor que reserve la posición 'pos'.
+ * - secuencia == pos + 1   -> publicada, lista para el consumidor.
+ * Uso por parte del productor: reservar() -> rellenar evento(pos) -> publicar(pos).
+ */
+class LogRing {
+
+    private final int capacidad;
+    private final int mascara;
+    private final LogEvent[] casillas;
+    private final AtomicLongArray secuencias;
+
+    // Siguiente posición a reservar por los productores
+    private final AtomicLong cola = new AtomicLong();
+
+    // Siguiente posición a leer. Solo la toca el hilo consumidor.
+    private long cabeza = 0;
+
+    /**
+     * @param capacidadMinima Se redondea a la siguiente potencia de 2.
+     */
+    LogRing(int capacidadMinima) {
+        int c = Integer.highestOneBit(Math.max(2, capacidadMinima - 1)) << 1;
+        this.capacidad = c;
+        this.mascara = c - 1;
+        this.casillas = new LogEvent[c];
+        this.secuencias = new AtomicLongArray(c);
+        for (int i = 0; i < c; i++) {
+            casillas[i] = new LogEvent();
+            secuencias.set(i, i);
+        }
+    }
+
+    /**
+     * Reserva una casilla para escribir (productores).
+     * @return La posición reservada, o -1 si el anillo está lleno.
+     */
+    long reservar() {
+        long pos = cola.get();
+        while (true) {
+            long diferencia = secuencias.get((int) (pos & mascara)) - pos;
+            if (diferencia == 0) {
+                if (cola.compareAndSet(pos, pos + 1)) return pos;
+                pos = cola.get();
+            } else if (diferencia < 0) {
+                return -1;
+            } else {
+                pos = cola.get();
+            }
+        }
+    }
+
+    LogEvent evento(long pos) {
+        return casillas[(int) (pos & mascara)];
+    }
+
+    /**
+     * Hace visible al consumidor la casilla ya rellenada.
+     */
+    void publicar(long pos) {
+        secuencias.set((int) (pos & mascara), pos + 1);
+    }
+
+    /**
+     * Consulta la siguiente casilla publicada sin consumirla (solo el consumidor).
+     * @return El evento, o null si no hay nada publicado todavía.
+     */
+    LogEvent consultar() {
+        int indice = (int) (cabeza & mascara);
+        return secuencias.get(indice) == cabeza + 1 ? casillas[indice] : null;
+    }
+
+    /**
+     * Devuelve a los productores la casilla leída con consultar() (solo el consumidor).
+     */
+    void consumir() {
+        int indice = (int) (cabeza & mascara);
+        casillas[indice].limpiar();
+        secuencias.set(indice, cabeza + capacidad);
+        cabeza++;
+    }
+}
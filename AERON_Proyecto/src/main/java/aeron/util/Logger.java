@@ -1,35 +1,95 @@
 package aeron.util;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import aeron.main.Simulation;
 
 /**
  * Clase de utilidad estática encargada de centralizar todas las salidas del sistema.
  * Gestiona la escritura en consola, en el fichero de log, en la ventana gráfica
  * y coordina la actualización del Panel de Vuelos (JSON y Sockets).
+ * <p>
+ * LOG ASÍNCRONO (Productor-Consumidor):
+ * Los hilos que llaman a log() (Aviones, Operarios...) solo dejan el mensaje en un anillo
+ * lock-free ({@link LogRing}) y siguen con su trabajo. Un único hilo escritor ("aeron-logger")
+ * recoge los mensajes por LOTES y hace la E/S real: fichero, consola y ventana.
+ * Así la escritura en disco deja de ser el techo de rendimiento de la Torre.
+ * <p>
+ * Los mensajes se registran como eventos ESTRUCTURADOS ({@link LogEventType}): el productor
+ * solo copia referencias (vuelo, pista, puerta...) y el texto se compone en el hilo escritor.
  */
 public class Logger {
-    // Objeto para escribir en el fichero de texto
-    private static PrintWriter writer;
+    // Objeto para escribir en el fichero de texto (con buffer, lo vacía el hilo escritor)
+    private static volatile PrintWriter writer;
 
     // Referencia a la ventana gráfica para mostrar los mensajes en la GUI
-    private static AirportWindow window;
+    private static volatile AirportWindow window;
+
+    // Modo silencioso para pruebas de carga: no se escribe en consola ni se actualiza el panel
+    private static volatile boolean silencioso = false;
+
+    // --- LOG ASÍNCRONO ---
+
+    // Capacidad del anillo y tamaño máximo de cada lote que escribe el hilo escritor
+    private static final int CAPACIDAD_ANILLO = 1 << 16;
+    private static final int TAM_LOTE = 512;
+
+    // Buffer compartido entre productores y el hilo escritor
+    private static final LogRing anillo = new LogRing(CAPACIDAD_ANILLO);
+
+    // Políticas configurables (ver setPoliticaDesbordamiento / setPoliticaVolcado)
+    private static volatile LogOverflowPolicy politicaDesbordamiento = LogOverflowPolicy.BLOQUEAR;
+    private static volatile LogFlushPolicy politicaVolcado = LogFlushPolicy.POR_LOTE;
+    private static volatile long intervaloVolcadoNanos = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Mensajes perdidos con la política DESCARTAR (contador "striped", barato con muchos hilos)
+    private static final LongAdder descartados = new LongAdder();
+
+    // true mientras el hilo escritor está aparcado esperando mensajes
+    private static volatile boolean escritorDormido = false;
+
+    // Petición de cierre pendiente: el hilo escritor la atiende cuando ha vaciado el anillo
+    private static volatile CountDownLatch cierrePendiente;
+
+    // Hilo consumidor único. No se crea al cargar la clase: lo arranca setup() o el primer mensaje
+    private static volatile Thread hiloEscritor;
+
+    /**
+     * Arranca el hilo escritor (una sola vez) y registra el cierre ordenado al terminar la JVM.
+     * Cargar la clase no tiene efectos: una prueba o un programa que no registra nada no deja
+     * hilos ni ganchos de cierre.
+     */
+    private static synchronized void arrancarEscritor() {
+        if (hiloEscritor != null) return;
+        Thread hilo = new Thread(Logger::bucleEscritor, "aeron-logger");
+        hilo.setDaemon(true);
+        hilo.start();
+        // Si la JVM termina (System.exit, fin del main...) vaciamos antes lo pendiente
+        Runtime.getRuntime().addShutdownHook(new Thread(Logger::close, "aeron-logger-cierre"));
+        hiloEscritor = hilo;
+    }
 
     /**
      * Configura el sistema de logs al inicio de la simulación.
      * Crea las carpetas necesarias y establece el nombre del fichero según el formato del PDF.
-     * * @param mode Modo de ejecución ("SEQUENTIAL" o "CONCURRENT").
+     * * @param mode Modo de ejecución (nombre de SimulationMode: "SEQUENTIAL", "CONCURRENT", "CONCURRENT_VIRTUAL"...).
      * @param nAviones Número total de aviones.
      * @param nPistas Número de pistas.
      * @param nPuertas Número de puertas.
      * @param nOperarios Número de operarios (0 si es secuencial).
      */
     public static void setup(String mode, int nAviones, int nPistas, int nPuertas, int nOperarios) {
+        arrancarEscritor();
+
         // Generamos una marca de tiempo única para el nombre del fichero
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
         String fileName;
@@ -45,7 +105,8 @@ public class Logger {
         }
 
         // Construimos el nombre del fichero siguiendo la nomenclatura estricta del enunciado
-        if (mode.equalsIgnoreCase("CONCURRENT")) {
+        // (todos los modos con Operarios, también el de hilos virtuales, llevan su número)
+        if (!mode.equalsIgnoreCase("SEQUENTIAL")) {
             fileName = String.format("aeron-%s-%dAV-%dPIS-%dPUE-%dOPE-%s.log",
                     mode, nAviones, nPistas, nPuertas, nOperarios, timestamp);
         } else {
@@ -54,8 +115,9 @@ public class Logger {
         }
 
         try {
-            // Inicializamos el escritor en modo "append" (añadir al final) y con auto-flush
-            writer = new PrintWriter(new FileWriter(folder + fileName, true), true);
+            // Inicializamos el escritor en modo "append" (añadir al final) y SIN auto-flush:
+            // el hilo escritor vacía el buffer según la política de volcado.
+            writer = new PrintWriter(new BufferedWriter(new FileWriter(folder + fileName, true), 64 * 1024), false);
             System.out.println("Log iniciado en: " + folder + fileName);
 
         } catch (IOException e) {
@@ -77,6 +139,43 @@ public class Logger {
         window = w;
     }
 
+    /**
+     * Activa o desactiva el modo silencioso (pruebas de carga con miles de aviones).
+     * En modo silencioso no se escribe en consola, no se actualizan el JSON ni los Sockets
+     * y la Torre no dibuja las tablas de estado; el fichero de log y la ventana, si están
+     * configurados, siguen recibiendo el resto de mensajes.
+     */
+    public static void setSilencioso(boolean activo) {
+        silencioso = activo;
+    }
+
+    public static boolean isSilencioso() { return silencioso; }
+
+    /**
+     * Elige qué hacer cuando el anillo de mensajes está lleno.
+     * BLOQUEAR (por defecto) no pierde nada; DESCARTAR nunca frena a quien escribe.
+     */
+    public static void setPoliticaDesbordamiento(LogOverflowPolicy politica) {
+        politicaDesbordamiento = politica;
+    }
+
+    /**
+     * Elige cuándo se vuelca a disco el fichero de log.
+     * @param politica POR_LOTE o PERIODICO.
+     * @param intervaloMs Intervalo máximo entre volcados (y entre comprobaciones del hilo escritor).
+     */
+    public static void setPoliticaVolcado(LogFlushPolicy politica, long intervaloMs) {
+        politicaVolcado = politica;
+        intervaloVolcadoNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, intervaloMs));
+    }
+
+    /**
+     * @return Número de mensajes descartados por tener el anillo lleno (política DESCARTAR).
+     */
+    public static long getDescartados() {
+        return descartados.sum();
+    }
+
     // --- MÉTODOS DE APOYO PARA FORMATO ---
 
     /**
@@ -84,7 +183,7 @@ public class Logger {
      * Añade el prefijo [AVION] automáticamente.
      */
     public static void logEventos(String message) {
-        log("[AVION] " + message);
+        evento(LogEventType.TEXTO_AVION, null, null, null, null, message);
     }
 
     /**
@@ -92,7 +191,7 @@ public class Logger {
      * Añade el prefijo [TORRE] automáticamente.
      */
     public static void logTorre(String message) {
-        log("[TORRE] " + message);
+        evento(LogEventType.TEXTO_TORRE, null, null, null, null, message);
     }
 
     /**
@@ -104,12 +203,11 @@ public class Logger {
      * @param puerta Puerta asignada (o "-" si no aplica).
      */
     public static void updatePanel(String id, String estado, String pista, String puerta) {
-        // 1. Generamos el mensaje formateado para el log visual
-        String msg = String.format("[PANEL] Avión: %s | Estado: %s | Pista: %s | Puerta: %s",
-                id, estado, pista != null ? pista : "-", puerta != null ? puerta : "-");
-        log(msg);
+        // 1. Registramos el evento del panel (el texto lo compone el hilo escritor)
+        evento(LogEventType.PANEL, id, pista, puerta, null, estado);
+        if (silencioso) return;
 
-        // 2. PRÁCTICA 5: Actualizamos el fichero JSON mediante Monitor (synchronized)
+        // 2. PRÁCTICA 5: Actualizamos el fichero JSON mediante Monitor (exclusión mutua)
         AirportJson.actualizarEstado(id, estado);
 
         // 3. PRÁCTICA 7: Enviamos el cambio de estado al servidor de Sockets (si está activo)
@@ -120,27 +218,197 @@ public class Logger {
     }
 
     /**
-     * Metodo núcleo de escritura. Es SYNCHRONIZED para garantizar la exclusión mutua.
-     * Evita que los mensajes se mezclen cuando múltiples hilos (Aviones/Operarios) intentan escribir a la vez.
-     * Escribe simultáneamente en Fichero, Consola y Ventana.
+     * Metodo núcleo de escritura de texto libre.
+     * No escribe nada directamente: deja el mensaje en el anillo lock-free y vuelve enseguida.
+     * El hilo escritor lo volcará (en orden de llegada) a Fichero, Consola y Ventana.
+     */
+    public static void log(String message) {
+        evento(LogEventType.TEXTO, null, null, null, null, message);
+    }
+
+    // --- EVENTOS ESTRUCTURADOS (sin concatenar cadenas en el hilo que registra) ---
+
+    /**
+     * Registra un evento de un vuelo (ej: AVION_ATERRIZANDO, RECUPERA_DESPEGUE).
+     */
+    public static void evento(LogEventType tipo, String vuelo) {
+        evento(tipo, vuelo, null, null, null, null);
+    }
+
+    /**
+     * Registra un evento de un vuelo con un detalle (estado o tipo de petición).
+     */
+    public static void evento(LogEventType tipo, String vuelo, String detalle) {
+        evento(tipo, vuelo, null, null, null, detalle);
+    }
+
+    /**
+     * Registra un evento en el que intervienen una Pista y/o una Puerta.
+     */
+    public static void eventoRecursos(LogEventType tipo, String vuelo, String pista, String puerta) {
+        evento(tipo, vuelo, pista, puerta, null, null);
+    }
+
+    /**
+     * Registra un evento de un Operario sobre la petición de un vuelo.
+     */
+    public static void eventoOperario(LogEventType tipo, String operario, String vuelo, String detalle) {
+        evento(tipo, vuelo, null, null, operario, detalle);
+    }
+
+    /**
+     * Metodo núcleo de registro.
+     * Rellena la casilla preasignada del anillo con referencias a los datos del evento y la
+     * publica. No crea objetos ni cadenas: el hilo escritor compone el texto con la plantilla
+     * del tipo de evento justo antes de volcarlo.
+     */
+    public static void evento(LogEventType tipo, String vuelo, String pista, String puerta,
+                              String operario, String detalle) {
+        if (hiloEscritor == null) arrancarEscritor();
+        long pos = reservarCasilla();
+        if (pos < 0) return; // Descartado (política DESCARTAR)
+
+        LogEvent evento = anillo.evento(pos);
+        evento.tipo = tipo;
+        evento.vuelo = vuelo;
+        evento.pista = pista;
+        evento.puerta = puerta;
+        evento.operario = operario;
+        evento.detalle = detalle;
+        evento.nanos = System.nanoTime();
+        anillo.publicar(pos);
+
+        if (escritorDormido) LockSupport.unpark(hiloEscritor);
+    }
+
+    // Reserva una casilla aplicando la política de desbordamiento. Devuelve -1 si se descarta.
+    private static long reservarCasilla() {
+        long pos = anillo.reservar();
+        int intentos = 0;
+        while (pos < 0) {
+            if (politicaDesbordamiento == LogOverflowPolicy.DESCARTAR) {
+                descartados.increment();
+                return -1;
+            }
+            // Contrapresión: esperamos a que el hilo escritor libere hueco
+            LockSupport.unpark(hiloEscritor);
+            if (++intentos < 100) Thread.onSpinWait();
+            else LockSupport.parkNanos(50_000);
+            pos = anillo.reservar();
+        }
+        return pos;
+    }
+
+    /**
+     * Bucle del hilo escritor (CONSUMIDOR único).
+     * Recoge los mensajes por lotes y hace una sola escritura por lote en cada destino.
      */
-    public static synchronized void log(String message) {
+    private static void bucleEscritor() {
+        StringBuilder lote = new StringBuilder(64 * 1024);
+        boolean hayDatosSinVolcar = false;
+        long ultimoVolcado = System.nanoTime();
+
+        while (true) {
+            // 1. Recogemos un lote de mensajes publicados
+            int n = 0;
+            LogEvent evento;
+            while (n < TAM_LOTE && (evento = anillo.consultar()) != null) {
+                evento.formatear(lote);
+                lote.append('\n');
+                anillo.consumir();
+                n++;
+            }
+
+            // 2. Una escritura por destino para todo el lote
+            if (n > 0) {
+                escribirLote(lote);
+                lote.setLength(0);
+                hayDatosSinVolcar = true;
+            }
+
+            // 3. Volcado a disco según la política
+            long ahora = System.nanoTime();
+            if (hayDatosSinVolcar && (politicaVolcado == LogFlushPolicy.POR_LOTE
+                    || ahora - ultimoVolcado >= intervaloVolcadoNanos)) {
+                PrintWriter w = writer;
+                if (w != null) w.flush();
+                hayDatosSinVolcar = false;
+                ultimoVolcado = ahora;
+            }
+
+            if (n == 0) {
+                // 4. Anillo vacío: atendemos un posible cierre y, si no, nos dormimos
+                CountDownLatch cierre = cierrePendiente;
+                if (cierre != null && anillo.consultar() == null) {
+                    PrintWriter w = writer;
+                    writer = null;
+                    if (w != null) w.close();
+                    cierrePendiente = null;
+                    cierre.countDown();
+                    continue;
+                }
+                escritorDormido = true;
+                // Volvemos a mirar DESPUÉS de marcarnos dormidos para no perder un aviso
+                if (anillo.consultar() == null && cierrePendiente == null) {
+                    LockSupport.parkNanos(intervaloVolcadoNanos);
+                }
+                escritorDormido = false;
+            }
+        }
+    }
+
+    // Escribe un lote completo (líneas terminadas en salto de línea) en los tres destinos.
+    // Cada destino va por separado: si uno falla (ej: la ventana lanza una excepción) el error
+    // se avisa por System.err y los demás destinos, y el propio hilo escritor, siguen adelante.
+    private static void escribirLote(StringBuilder lote) {
         // Escribir en fichero
-        if (writer != null) {
-            writer.println(message);
+        PrintWriter w = writer;
+        if (w != null) {
+            try {
+                w.append(lote);
+            } catch (RuntimeException e) {
+                avisarFallo("fichero", e);
+            }
         }
         // Escribir en consola del IDE
-        System.out.println(message);
-        // Escribir en la ventana gráfica Swing
-        if (window != null) {
-            window.addLog(message);
+        if (!silencioso) {
+            try {
+                System.out.append(lote);
+            } catch (RuntimeException e) {
+                avisarFallo("consola", e);
+            }
+        }
+        // Escribir en la ventana gráfica Swing (una sola actualización por lote)
+        AirportWindow v = window;
+        if (v != null) {
+            try {
+                v.addLog(lote.substring(0, lote.length() - 1));
+            } catch (RuntimeException e) {
+                avisarFallo("ventana", e);
+            }
         }
     }
 
+    // Un destino ha fallado: no podemos usar el propio log, así que va directo a la salida de error
+    private static void avisarFallo(String destino, RuntimeException e) {
+        System.err.println("[LOGGER] Error al escribir en " + destino + ": " + e);
+    }
+
     /**
      * Cierra el flujo de escritura del fichero al finalizar la simulación.
+     * Antes espera a que el hilo escritor haya volcado TODOS los mensajes registrados hasta ahora.
      */
     public static void close() {
-        if (writer != null) writer.close();
+        // Sin hilo escritor no se ha registrado nada que volcar
+        if (hiloEscritor == null) return;
+        CountDownLatch cierre = new CountDownLatch(1);
+        cierrePendiente = cierre;
+        LockSupport.unpark(hiloEscritor);
+        try {
+            // Límite de seguridad por si el hilo escritor estuviera atascado en la E/S
+            cierre.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
-}
\ No newline at end of file
+}
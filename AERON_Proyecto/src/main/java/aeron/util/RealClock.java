@@ -0,0 +1,35 @@
+package aeron.util;
+
+import java.util.Random;
+
+/**
+ * Reloj en tiempo real: System.nanoTime, Thread.sleep y aleatorios sin semilla.
+ * Es el reloj por defecto de todos los actores.
+ */
+public final class RealClock implements SimulationClock {
+
+    /** Única instancia (no tiene estado). */
+    public static final RealClock INSTANCIA = new RealClock();
+
+    private RealClock() {}
+
+    @Override
+    public long ahora() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void dormir(long ms) throws InterruptedException {
+        Thread.sleep(ms);
+    }
+
+    @Override
+    public Random nuevoAleatorio() {
+        return new Random();
+    }
+
+    @Override
+    public String toString() {
+        return "tiempo real";
+    }
+}
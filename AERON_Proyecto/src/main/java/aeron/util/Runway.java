@@ -1,55 +1,77 @@
 package aeron.util;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Representa una Pista de Aterrizaje/Despegue física en el aeropuerto.
  * Es un recurso compartido limitado (SCARCE RESOURCE).
  * <p>
- * NOTA DE DISEÑO: Esta clase es un POJO (Plain Old Java Object) simple.
- * No tiene lógica de sincronización propia porque la exclusión mutua
- * para acceder a ella la gestiona la clase ControlTowerConcurrent.
+ * NOTA DE DISEÑO: La Torre ya no tiene un monitor global, así que cada Pista protege
+ * su propio estado con una operación atómica (CAS). Ocupar una pista es un
+ * "test-and-set": solo UN Operario puede ganar la carrera por una pista libre.
  */
 public class Runway {
 
     // Identificador de la pista (ej: "PIS1")
     private String id;
 
+    // Posición de la pista en la lista de la Torre (0, 1, 2...), -1 si no pertenece a ninguna
+    private final int indice;
+
     // Estado del recurso: true = libre (verde), false = ocupada (rojo)
-    private boolean libre = true;
+    private final AtomicBoolean libre = new AtomicBoolean(true);
 
     /**
      * Constructor para inicializar la pista.
      * @param id Nombre identificativo de la pista.
      */
     public Runway(String id) {
+        this(id, -1);
+    }
+
+    /**
+     * Constructor usado por la Torre, que identifica cada pista también por su posición.
+     * @param id Nombre identificativo de la pista.
+     * @param indice Posición de la pista en la lista de la Torre.
+     */
+    public Runway(String id, int indice) {
         this.id = id;
+        this.indice = indice;
     }
 
     public String getId() { return id; }
 
+    public int getIndice() { return indice; }
+
     /**
      * Consulta el estado de la pista.
      * @return true si la pista está libre, false si hay un avión usándola.
      */
     // Necesario para AirportState
     public boolean isAvailable() {
-        return libre;
+        return libre.get();
+    }
+
+    /**
+     * Intenta ocupar la pista de forma atómica (libre -> ocupada).
+     * @return true si la hemos ocupado nosotros, false si ya estaba ocupada.
+     */
+    // Necesario para que la Torre (el Operario) la reserve sin monitor global.
+    public boolean intentarOcupar() {
+        return libre.compareAndSet(true, false);
     }
 
     /**
-     * Cambia el estado de ocupación de la pista.
-     * @param libre true para liberar, false para ocupar.
+     * Libera la pista de forma atómica (ocupada -> libre).
+     * @return true si estaba ocupada y la hemos liberado, false si ya estaba libre.
      */
-    // Necesario para que la Torre la ocupe/libere.
-    // Este metodo es llamado EXCLUSIVAMENTE por el Operario dentro de la Torre.
-    // Como el Operario ya está dentro de una sección crítica (monitor o semáforo),
-    // es seguro cambiar este booleano sin riesgo de condición de carrera aquí.
-    public void setLibre(boolean libre) {
-        this.libre = libre;
+    public boolean liberar() {
+        return libre.compareAndSet(false, true);
     }
 
     // Opcional: para imprimir bonito
     @Override
     public String toString() {
-        return "Pista " + id + (libre ? " (Libre)" : " (Ocupada)");
+        return "Pista " + id + (libre.get() ? " (Libre)" : " (Ocupada)");
     }
 }
\ No newline at end of file
@@ -0,0 +1,51 @@
+package aeron.util;
+
+import java.util.Random;
+
+/**
+ * Reloj ACELERADO: el tiempo simulado pasa {@code velocidad} veces más rápido que el real.
+ * <p>
+ * Con velocidad 100, un avión que "tarda" 1,5 s en llegar duerme 15 ms reales, y la Torre
+ * fecha sus peticiones en tiempo simulado, así que prioridades, envejecimiento y salidas
+ * programadas se comportan igual que a velocidad normal (mientras los Operarios den abasto:
+ * el trabajo de CPU no se acelera).
+ */
+public final class ScaledClock implements SimulationClock {
+
+    private final double velocidad;
+
+    // Instante real en que se creó el reloj: a partir de él se escala el tiempo
+    private final long origen = System.nanoTime();
+
+    /**
+     * @param velocidad Factor de aceleración (mayor que 0; 1 = tiempo real).
+     */
+    public ScaledClock(double velocidad) {
+        if (!(velocidad > 0)) throw new IllegalArgumentException("Velocidad no válida: " + velocidad);
+        this.velocidad = velocidad;
+    }
+
+    @Override
+    public long ahora() {
+        long real = System.nanoTime();
+        return origen + (long) ((real - origen) * velocidad);
+    }
+
+    @Override
+    public void dormir(long ms) throws InterruptedException {
+        long nanos = (long) (ms * 1_000_000L / velocidad);
+        if (nanos > 0) Thread.sleep(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+    }
+
+    @Override
+    public Random nuevoAleatorio() {
+        return new Random();
+    }
+
+    public double getVelocidad() { return velocidad; }
+
+    @Override
+    public String toString() {
+        return "x" + velocidad;
+    }
+}
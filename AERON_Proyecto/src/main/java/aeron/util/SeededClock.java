@@ -0,0 +1,53 @@
+package aeron.util;
+
+import java.util.Random;
+
+/**
+ * Reloj DETERMINISTA: toma la hora y las esperas de otro reloj (real o acelerado), pero reparte
+ * aleatorios sacados de una semilla. Los actores reciben sus generadores en el orden en que se
+ * crean (el hilo principal crea los aviones uno a uno), así que con la misma semilla el tráfico
+ * (tiempos de vuelo y embarque) es idéntico en cada ejecución.
+ * <p>
+ * El orden exacto en que los hilos se reparten las pistas sigue dependiendo del planificador
+ * del sistema; para una ejecución repetible evento a evento está el modo DISCRETE_EVENT.
+ */
+public final class SeededClock implements SimulationClock {
+
+    private final SimulationClock base;
+    private final long semilla;
+
+    // RECURSO COMPARTIDO: generador de semillas. Protegido por 'this'.
+    private final Random semillas;
+
+    /**
+     * @param base Reloj del que se toman la hora y las esperas.
+     * @param semilla Semilla del tráfico.
+     */
+    public SeededClock(SimulationClock base, long semilla) {
+        this.base = base;
+        this.semilla = semilla;
+        this.semillas = new Random(semilla);
+    }
+
+    @Override
+    public long ahora() {
+        return base.ahora();
+    }
+
+    @Override
+    public void dormir(long ms) throws InterruptedException {
+        base.dormir(ms);
+    }
+
+    @Override
+    public synchronized Random nuevoAleatorio() {
+        return new Random(semillas.nextLong());
+    }
+
+    public long getSemilla() { return semilla; }
+
+    @Override
+    public String toString() {
+        return base + ", semilla " + semilla;
+    }
+}
@@ -0,0 +1,37 @@
+package aeron.util;
+
+import java.util.Random;
+
+/**
+ * Reloj de la simulación: de aquí sacan los actores (Aviones, Operarios, Torre) la hora,
+ * sus esperas y sus números aleatorios, en lugar de llamar directamente a System.nanoTime,
+ * Thread.sleep y new Random().
+ * <p>
+ * DISEÑO: inyectando el reloj, el mismo código de los actores sirve para:
+ * - {@link RealClock}: tiempo real (el comportamiento de siempre).
+ * - {@link ScaledClock}: tiempo acelerado (ej: x100), para que las pruebas de carga acaben antes.
+ * - {@link SeededClock}: aleatorios con semilla sobre cualquiera de los anteriores, para repetir
+ *   exactamente el mismo tráfico.
+ * - aeron.des.VirtualClock: el reloj virtual del motor de eventos discretos.
+ * <p>
+ * Todos los tiempos son SIMULADOS: con un reloj acelerado x100, dormir(100) duerme 1 ms real
+ * y ahora() avanza 100 ms por cada milisegundo real.
+ */
+public interface SimulationClock {
+
+    /**
+     * @return Instante simulado actual en nanosegundos (solo sirve para restar instantes, como System.nanoTime).
+     */
+    long ahora();
+
+    /**
+     * Duerme el hilo actual durante un tiempo simulado.
+     * @param ms Milisegundos simulados.
+     */
+    void dormir(long ms) throws InterruptedException;
+
+    /**
+     * Generador de aleatorios para un actor nuevo (ej: tiempos de vuelo y embarque de un avión).
+     */
+    Random nuevoAleatorio();
+}
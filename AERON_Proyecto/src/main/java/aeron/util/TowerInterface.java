@@ -18,9 +18,12 @@ public interface TowerInterface {
      * El avión invoca este metodo para solicitar operaciones (Aterrizaje, Despegue)
      * o para notificar cambios de estado (Embarcado, Despegado).
      * * @param avion El objeto avión que realiza la petición.
+     * @return false si la Torre está saturada y NO ha admitido la petición: el avión debe volver
+     *         a enviarla más tarde (nadie completará su resguardo ni liberará sus recursos si no).
+     *         true en cualquier otro caso.
      */
     // En la versión Concurrente, este metodo es el que gestiona el acceso a la cola protegida por semáforos.
-    void registrarPeticion(Airplane avion);
+    boolean registrarPeticion(Airplane avion);
 
     /**
      * metodo explícito para liberar una pista.
@@ -0,0 +1,185 @@
+package aeron.concurrent;
+
+import aeron.model.Airplane;
+import aeron.model.FlightStatus;
+import aeron.util.Logger;
+import aeron.util.ScaledClock;
+import aeron.util.SimulationClock;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControlTowerConcurrentTest {
+
+    @BeforeAll
+    static void silenciarLog() {
+        Logger.setSilencioso(true);
+    }
+
+    // Pone al avión en 'estado', registra su petición y la procesa un Operario
+    private static void procesar(ControlTowerConcurrent torre, Airplane avion, FlightStatus estado)
+            throws InterruptedException {
+        avion.setStatus(estado);
+        if (estado == FlightStatus.LANDING_REQUEST || estado == FlightStatus.TAKEOFF_REQUESTED) {
+            avion.prepararAutorizacion();
+        }
+        assertTrue(torre.registrarPeticion(avion));
+        torre.procesarPeticion(torre.obtenerSiguientePeticion(), "OP-001");
+    }
+
+    @Test
+    void cadaAvisoLiberaExactamenteLosRecursosDeSuAvion() throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(2, 2, new RingBufferRequestQueue(4));
+        Airplane primero = new Airplane("IBE-001", torre);
+        Airplane segundo = new Airplane("VLG-002", torre);
+        procesar(torre, primero, FlightStatus.LANDING_REQUEST);
+        procesar(torre, segundo, FlightStatus.LANDING_REQUEST);
+        String pistaPrimero = torre.getOcupacion().getPistaDe("IBE-001").getId();
+        String pistaSegundo = torre.getOcupacion().getPistaDe("VLG-002").getId();
+        String puertaPrimero = torre.getOcupacion().getPuertaDe("IBE-001").getId();
+        String puertaSegundo = torre.getOcupacion().getPuertaDe("VLG-002").getId();
+
+        // Aterriza el SEGUNDO: se libera su pista, no la primera que se ocupó
+        procesar(torre, segundo, FlightStatus.LANDED);
+        assertNull(torre.getOcupacion().getTitular(pistaSegundo));
+        assertEquals("IBE-001", torre.getOcupacion().getTitular(pistaPrimero));
+
+        // Embarca el PRIMERO: solo su puerta queda libre
+        procesar(torre, primero, FlightStatus.LANDED);
+        procesar(torre, primero, FlightStatus.BOARDED);
+        assertNull(torre.getOcupacion().getTitular(puertaPrimero));
+        assertEquals("VLG-002", torre.getOcupacion().getTitular(puertaSegundo));
+    }
+
+    @Test
+    void elDespegueSeConcedeAunqueSuPistaDeAterrizajeSigaOcupada() throws InterruptedException {
+        // Con varios Operarios el TAKEOFF puede procesarse antes que el LANDED del mismo avión
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(2, 1, new RingBufferRequestQueue(4));
+        Airplane avion = new Airplane("IBE-001", torre);
+        procesar(torre, avion, FlightStatus.LANDING_REQUEST);
+        String pistaAterrizaje = torre.getOcupacion().getPistaDe("IBE-001").getId();
+
+        procesar(torre, avion, FlightStatus.TAKEOFF_REQUESTED);
+        assertEquals(FlightStatus.TAKEOFF_ASSIGNED, avion.getStatus());
+        String pistaDespegue = torre.getOcupacion().getPistaDe("IBE-001").getId();
+        assertNotEquals(pistaAterrizaje, pistaDespegue);
+        assertEquals("IBE-001", torre.getOcupacion().getTitular(pistaAterrizaje));
+
+        // El LANDED atrasado suelta la de aterrizaje y el DEPARTED la de despegue
+        procesar(torre, avion, FlightStatus.LANDED);
+        assertNull(torre.getOcupacion().getTitular(pistaAterrizaje));
+        assertEquals("IBE-001", torre.getOcupacion().getTitular(pistaDespegue));
+        procesar(torre, avion, FlightStatus.BOARDED);
+        procesar(torre, avion, FlightStatus.DEPARTED);
+        assertNull(torre.getOcupacion().getTitular(pistaDespegue));
+    }
+
+    @Test
+    void unaAsignacionImposibleNoTumbaAlOperarioYQuedaPendiente() throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(2, 1, new RingBufferRequestQueue(4));
+        Airplane avion = new Airplane("IBE-001", torre);
+        procesar(torre, avion, FlightStatus.LANDING_REQUEST);
+        procesar(torre, avion, FlightStatus.LANDED);
+        procesar(torre, avion, FlightStatus.TAKEOFF_REQUESTED);
+        String pistaDespegue = torre.getOcupacion().getPistaDe("IBE-001").getId();
+
+        // Un TAKEOFF duplicado: el avión ya tiene pista de despegue y no puede anotarse otra
+        procesar(torre, avion, FlightStatus.TAKEOFF_REQUESTED);
+        assertEquals(FlightStatus.TAKEOFF_REQUESTED, avion.getStatus(), "no se le despierta");
+        assertEquals(pistaDespegue, torre.getOcupacion().getPistaDe("IBE-001").getId());
+        for (String pista : new String[] {"PIS1", "PIS2"}) {
+            if (!pista.equals(pistaDespegue)) assertNull(torre.getOcupacion().getTitular(pista), pista);
+        }
+
+        // Sigue en espera: al liberarse la primera pista de despegue se le concede
+        procesar(torre, avion, FlightStatus.DEPARTED);
+        assertNotNull(torre.getOcupacion().getPistaDe("IBE-001"));
+        assertEquals(FlightStatus.TAKEOFF_ASSIGNED, avion.getStatus());
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void esperarPeticionesProcesadasDespiertaConLaUltimaYCaducaSinOperarios() throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(1, 1, new RingBufferRequestQueue(4));
+        assertTrue(torre.esperarPeticionesProcesadas(0), "sin peticiones no hay nada que esperar");
+
+        Airplane avion = new Airplane("IBE-001", torre);
+        avion.prepararAutorizacion();
+        avion.setStatus(FlightStatus.LANDING_REQUEST);
+        assertTrue(torre.registrarPeticion(avion));
+        assertFalse(torre.esperarPeticionesProcesadas(50), "nadie procesa la petición");
+
+        // Un Operario la procesa mientras esperamos: nos despierta sin agotar el plazo
+        Thread operario = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+                torre.procesarPeticion(torre.obtenerSiguientePeticion(), "OP-001");
+            } catch (InterruptedException e) {
+                // Fin de la prueba
+            }
+        });
+        operario.start();
+        long inicio = System.nanoTime();
+        assertTrue(torre.esperarPeticionesProcesadas(20_000));
+        assertTrue(System.nanoTime() - inicio < TimeUnit.SECONDS.toNanos(10));
+        operario.join();
+    }
+
+    @Test
+    void conLaColaLlenaLaPeticionSeRechazaYSeAvisaAlAvion() throws InterruptedException {
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(2, 2, new RingBufferRequestQueue(2));
+        Airplane[] aviones = new Airplane[3];
+        for (int i = 0; i < aviones.length; i++) {
+            aviones[i] = new Airplane("IBE-00" + i, torre);
+            aviones[i].prepararAutorizacion();
+            aviones[i].setStatus(FlightStatus.LANDING_REQUEST);
+        }
+
+        assertTrue(torre.registrarPeticion(aviones[0]));
+        assertTrue(torre.registrarPeticion(aviones[1]));
+        assertFalse(torre.registrarPeticion(aviones[2]));
+        assertEquals(1, torre.getContadores().getSaturaciones());
+
+        // En cuanto hay sitio, el reintento entra
+        torre.procesarPeticion(torre.obtenerSiguientePeticion(), "OP-001");
+        assertTrue(torre.registrarPeticion(aviones[2]));
+    }
+
+    @Test
+    @Timeout(value = 60, unit = TimeUnit.SECONDS)
+    void losAvionesRechazadosReintentanYTodosTerminan() throws InterruptedException {
+        // Cola de DOS peticiones para muchos aviones: casi todos se encuentran la Torre saturada
+        SimulationClock reloj = new ScaledClock(100);
+        ControlTowerConcurrent torre = new ControlTowerConcurrent(2, 2, new RingBufferRequestQueue(2));
+        torre.setReloj(reloj);
+        Thread operario = new Thread(new Operario(torre, 1, 0, reloj));
+        operario.start();
+
+        List<Airplane> flota = new ArrayList<>();
+        List<Thread> hilos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            Airplane avion = new Airplane(String.format("IBE-%03d", i), torre, reloj);
+            flota.add(avion);
+            Thread t = new Thread(avion);
+            t.start();
+            hilos.add(t);
+        }
+        for (Thread t : hilos) t.join();
+        assertTrue(torre.esperarPeticionesProcesadas(10_000));
+        operario.interrupt();
+        operario.join();
+
+        for (Airplane avion : flota) assertEquals(FlightStatus.DEPARTED, avion.getStatus(), avion.getId());
+        assertTrue(torre.getContadores().getSaturaciones() > 0, "la prueba debe forzar rechazos");
+        // Ningún aviso LANDED, BOARDED o DEPARTED se ha perdido: todo queda libre
+        for (String recurso : new String[] {"PIS1", "PIS2", "GATE 1", "GATE 2"}) {
+            assertNull(torre.getOcupacion().getTitular(recurso), recurso);
+        }
+    }
+}
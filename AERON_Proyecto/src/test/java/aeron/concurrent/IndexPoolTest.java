@@ -0,0 +1,104 @@
+package aeron.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de las dos bolsas de recursos libres: {@link FreeIndexPool} (pila) y
+ * {@link RotatingIndexPool} (por turnos).
+ */
+class IndexPoolTest {
+
+    @Test
+    void pilaSeAgotaYReutilizaElUltimoLiberado() {
+        FreeIndexPool bolsa = new FreeIndexPool(3);
+        assertEquals(0, bolsa.adquirir());
+        assertEquals(1, bolsa.adquirir());
+        assertEquals(2, bolsa.adquirir());
+        assertEquals(-1, bolsa.adquirir());
+        assertTrue(bolsa.isVacio());
+
+        bolsa.liberar(1);
+        bolsa.liberar(0);
+        assertFalse(bolsa.isVacio());
+        assertEquals(0, bolsa.adquirir());
+        assertEquals(1, bolsa.adquirir());
+        assertEquals(-1, bolsa.adquirir());
+    }
+
+    @Test
+    void pilaSinRecursosEstaVacia() {
+        FreeIndexPool bolsa = new FreeIndexPool(0);
+        assertTrue(bolsa.isVacio());
+        assertEquals(-1, bolsa.adquirir());
+    }
+
+    @Test
+    void turnosDaElRecursoQueLlevaMasTiempoLibre() {
+        RotatingIndexPool bolsa = new RotatingIndexPool(3);
+        assertEquals(0, bolsa.adquirir());
+        bolsa.liberar(0);
+        // El 0 vuelve al final: salen antes el 1 y el 2
+        assertEquals(1, bolsa.adquirir());
+        assertEquals(2, bolsa.adquirir());
+        assertEquals(0, bolsa.adquirir());
+        assertEquals(-1, bolsa.adquirir());
+        assertTrue(bolsa.isVacio());
+    }
+
+    @Test
+    void turnosDetectaUnaDobleLiberacion() {
+        RotatingIndexPool bolsa = new RotatingIndexPool(2);
+        assertThrows(IllegalStateException.class, () -> bolsa.liberar(0));
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void pilaNuncaEntregaElMismoRecursoADosHilos() throws InterruptedException {
+        comprobarExclusion(new FreeIndexPool(4), 4);
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void turnosNuncaEntregaElMismoRecursoADosHilos() throws InterruptedException {
+        comprobarExclusion(new RotatingIndexPool(4), 4);
+    }
+
+    // Varios hilos adquieren y liberan sin parar: un recurso no puede estar en dos manos a la vez
+    // (con ABA o una casilla mal reciclada, dos hilos acabarían con el mismo índice)
+    private static void comprobarExclusion(IndexPool bolsa, int recursos) throws InterruptedException {
+        AtomicIntegerArray enUso = new AtomicIntegerArray(recursos);
+        AtomicBoolean solapados = new AtomicBoolean();
+        List<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < 8; h++) {
+            hilos.add(new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    int r = bolsa.adquirir();
+                    if (r < 0) continue;
+                    if (!enUso.compareAndSet(r, 0, 1)) solapados.set(true);
+                    enUso.set(r, 0);
+                    bolsa.liberar(r);
+                }
+            }));
+        }
+        for (Thread t : hilos) t.start();
+        for (Thread t : hilos) t.join();
+        assertFalse(solapados.get());
+
+        // Al final están todos libres, cada uno una sola vez
+        Set<Integer> libres = new HashSet<>();
+        int r;
+        while ((r = bolsa.adquirir()) >= 0) assertTrue(libres.add(r));
+        assertEquals(recursos, libres.size());
+    }
+}
@@ -0,0 +1,66 @@
+package aeron.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    // Error relativo máximo de un cubo: 1 / 64
+    private static final double ERROR_RELATIVO = 1.0 / 64;
+
+    @Test
+    void sinMedidasTodoEsCero() {
+        LatencyHistogram h = new LatencyHistogram();
+        assertEquals(0, h.getCuenta());
+        assertEquals(0, h.percentil(0.99));
+        assertEquals(0, h.getMaximo());
+    }
+
+    @Test
+    void cadaValorCaeEnUnCuboQueLoContiene() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100_000; i++) {
+            long valor = random.nextLong(1L << 40);
+            int cubo = LatencyHistogram.cubo(valor);
+            assertTrue(LatencyHistogram.limiteSuperior(cubo) >= valor, "límite superior del cubo de " + valor);
+            if (cubo > 0) assertTrue(LatencyHistogram.limiteSuperior(cubo - 1) < valor, "cubo anterior de " + valor);
+        }
+        // Los valores enormes van al último cubo
+        assertEquals(LatencyHistogram.NUM_CUBOS - 1, LatencyHistogram.cubo(Long.MAX_VALUE));
+    }
+
+    @Test
+    void losPercentilesQuedanDentroDelAnchoDelCubo() {
+        LatencyHistogram h = new LatencyHistogram();
+        Random random = new Random(42);
+        long[] valores = new long[50_000];
+        for (int i = 0; i < valores.length; i++) {
+            // Latencias entre 10 µs y 50 ms
+            valores[i] = 10_000 + (long) (random.nextDouble() * 50_000_000);
+            h.registrar(valores[i]);
+        }
+        Arrays.sort(valores);
+        assertEquals(valores.length, h.getCuenta());
+        assertEquals(valores[valores.length - 1], h.getMaximo());
+
+        for (double p : new double[] {0.5, 0.9, 0.99, 0.999}) {
+            long exacto = valores[(int) Math.ceil(p * valores.length) - 1];
+            long medido = h.percentil(p);
+            assertTrue(medido >= exacto, "p" + p + " no puede quedar por debajo del valor real");
+            assertTrue(medido <= exacto + exacto * ERROR_RELATIVO + 1, "p" + p + " fuera del ancho del cubo");
+        }
+        assertEquals(h.getMaximo(), h.percentil(1.0));
+    }
+
+    @Test
+    void losValoresNegativosCuentanComoCero() {
+        LatencyHistogram h = new LatencyHistogram();
+        h.registrar(-5);
+        assertEquals(1, h.getCuenta());
+        assertEquals(0, h.percentil(0.5));
+    }
+}
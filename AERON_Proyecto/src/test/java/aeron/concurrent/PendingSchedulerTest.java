@@ -0,0 +1,59 @@
+package aeron.concurrent;
+
+import aeron.model.Airplane;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PendingSchedulerTest {
+
+    private static final long SEGUNDO = 1_000_000_000L;
+
+    private static Request aterrizaje(String id, long instante, boolean emergencia) {
+        Airplane avion = new Airplane(id, null);
+        avion.prepararAutorizacion();
+        if (emergencia) avion.declararEmergenciaCombustible();
+        return new Request(avion, RequestType.LANDING, instante);
+    }
+
+    @Test
+    void vaciaDevuelveNull() {
+        PendingScheduler espera = new PendingScheduler();
+        assertTrue(espera.isEmpty());
+        assertNull(espera.poll());
+        assertNull(espera.peek());
+    }
+
+    @Test
+    void sinPrioridadRespetaElOrdenDeLlegada() {
+        PendingScheduler espera = new PendingScheduler();
+        espera.add(aterrizaje("A", 5 * SEGUNDO, false));
+        espera.add(aterrizaje("B", 5 * SEGUNDO, false));
+        espera.add(aterrizaje("C", 6 * SEGUNDO, false));
+        assertEquals(3, espera.size());
+        assertEquals("A", espera.peek().plane.getId());
+        assertEquals("A", espera.poll().plane.getId());
+        assertEquals("B", espera.poll().plane.getId());
+        assertEquals("C", espera.poll().plane.getId());
+        assertTrue(espera.isEmpty());
+    }
+
+    @Test
+    void unaEmergenciaAdelantaALasQueLlevanPocoEsperando() {
+        PendingScheduler espera = new PendingScheduler();
+        espera.add(aterrizaje("NORMAL", 100 * SEGUNDO, false));
+        espera.add(aterrizaje("EMERGENCIA", 110 * SEGUNDO, true));
+        assertEquals("EMERGENCIA", espera.poll().plane.getId());
+        assertEquals("NORMAL", espera.poll().plane.getId());
+    }
+
+    @Test
+    void envejecimientoUnaEmergenciaNoAdelantaAQuienLlevaMasQueElCreditoMaximo() {
+        PendingScheduler espera = new PendingScheduler();
+        long credito = StandardSchedulingPolicy.PRIORIDAD_ATERRIZAJES.getCreditoMaximo();
+        espera.add(aterrizaje("ANTIGUO", 0, false));
+        espera.add(aterrizaje("EMERGENCIA", credito + SEGUNDO, true));
+        assertEquals("ANTIGUO", espera.poll().plane.getId());
+        assertEquals("EMERGENCIA", espera.poll().plane.getId());
+    }
+}
@@ -0,0 +1,120 @@
+package aeron.concurrent;
+
+import aeron.model.Airplane;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferRequestQueueTest {
+
+    private static Request peticion(long instante) {
+        return new Request(new Airplane("IBE-" + instante, null), RequestType.LANDED, instante);
+    }
+
+    @Test
+    void vaciaDevuelveNull() {
+        RingBufferRequestQueue cola = new RingBufferRequestQueue(4);
+        assertNull(cola.poll());
+        assertEquals(0, cola.size());
+        assertTrue(cola.snapshot().isEmpty());
+    }
+
+    @Test
+    void llenaRechazaSinBloquearYRespetaLaCapacidadExacta() {
+        RingBufferRequestQueue cola = new RingBufferRequestQueue(3);
+        assertTrue(cola.offer(peticion(1)));
+        assertTrue(cola.offer(peticion(2)));
+        assertTrue(cola.offer(peticion(3)));
+        assertFalse(cola.offer(peticion(4)));
+        assertEquals(3, cola.size());
+
+        // Al sacar una, vuelve a haber sitio
+        assertEquals(1, cola.poll().instante);
+        assertTrue(cola.offer(peticion(5)));
+        assertFalse(cola.offer(peticion(6)));
+    }
+
+    @Test
+    void conDosCasillasNoSobrescribeLaPeticionSinConsumir() {
+        RingBufferRequestQueue cola = new RingBufferRequestQueue(2);
+        assertTrue(cola.offer(peticion(1)));
+        assertTrue(cola.offer(peticion(2)));
+        assertFalse(cola.offer(peticion(3)));
+        assertEquals(1, cola.poll().instante);
+        assertEquals(2, cola.poll().instante);
+        assertNull(cola.poll());
+    }
+
+    @Test
+    void unaSolaCasillaNoEsUnaCapacidadValida() {
+        // Con una casilla el número de secuencia no distingue "llena" de "libre en la siguiente vuelta"
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferRequestQueue(1));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferRequestQueue(0));
+    }
+
+    @Test
+    void mantieneElOrdenAlDarVariasVueltasAlAnillo() {
+        RingBufferRequestQueue cola = new RingBufferRequestQueue(4);
+        long siguiente = 0;
+        long esperado = 0;
+        for (int vuelta = 0; vuelta < 10; vuelta++) {
+            for (int i = 0; i < 3; i++) assertTrue(cola.offer(peticion(siguiente++)));
+            List<Request> foto = cola.snapshot();
+            assertEquals(3, foto.size());
+            assertEquals(esperado, foto.get(0).instante);
+            for (int i = 0; i < 3; i++) assertEquals(esperado++, cola.poll().instante);
+            assertNull(cola.poll());
+        }
+    }
+
+    @Test
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void variosProductoresYConsumidoresNoPierdenNiDuplicanPeticiones() throws InterruptedException {
+        int productores = 4, consumidores = 4, porProductor = 20_000;
+        int total = productores * porProductor;
+        RingBufferRequestQueue cola = new RingBufferRequestQueue(64);
+        ConcurrentHashMap<Long, Boolean> recibidas = new ConcurrentHashMap<>();
+        AtomicInteger duplicadas = new AtomicInteger();
+        AtomicInteger pendientes = new AtomicInteger(total);
+
+        List<Thread> hilos = new ArrayList<>();
+        for (int c = 0; c < consumidores; c++) {
+            hilos.add(new Thread(() -> {
+                try {
+                    while (pendientes.get() > 0) {
+                        Request r = cola.take();
+                        if (recibidas.put(r.instante, Boolean.TRUE) != null) duplicadas.incrementAndGet();
+                        pendientes.decrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    // Fin de la prueba
+                }
+            }));
+        }
+        for (int p = 0; p < productores; p++) {
+            long base = (long) p * porProductor;
+            hilos.add(new Thread(() -> {
+                for (long i = base; i < base + porProductor; i++) {
+                    Request r = peticion(i);
+                    // Cola llena: reintentamos (los consumidores la van vaciando)
+                    while (!cola.offer(r)) Thread.onSpinWait();
+                }
+            }));
+        }
+        for (Thread t : hilos) t.start();
+        while (pendientes.get() > 0) Thread.sleep(10);
+        for (Thread t : hilos) t.interrupt();
+        for (Thread t : hilos) t.join();
+
+        assertEquals(0, duplicadas.get());
+        assertEquals(total, recibidas.size());
+        assertEquals(0, cola.size());
+    }
+}
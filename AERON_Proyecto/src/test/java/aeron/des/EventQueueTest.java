@@ -0,0 +1,55 @@
+package aeron.des;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventQueueTest {
+
+    @Test
+    void vaciaDevuelveNull() {
+        EventQueue eventos = new EventQueue();
+        assertTrue(eventos.isEmpty());
+        assertNull(eventos.siguiente());
+    }
+
+    @Test
+    void salenPorInstanteYLosEmpatesEnOrdenDeProgramacion() {
+        EventQueue eventos = new EventQueue();
+        List<String> ejecutados = new ArrayList<>();
+        eventos.programar(30, () -> ejecutados.add("C"));
+        eventos.programar(10, () -> ejecutados.add("A1"));
+        eventos.programar(20, () -> ejecutados.add("B"));
+        eventos.programar(10, () -> ejecutados.add("A2"));
+        eventos.programar(10, () -> ejecutados.add("A3"));
+        assertEquals(5, eventos.size());
+
+        long anterior = Long.MIN_VALUE;
+        EventQueue.Evento e;
+        while ((e = eventos.siguiente()) != null) {
+            assertTrue(e.getInstante() >= anterior);
+            anterior = e.getInstante();
+            e.accion.run();
+        }
+        assertEquals(List.of("A1", "A2", "A3", "B", "C"), ejecutados);
+        assertEquals(5, eventos.getProgramados());
+    }
+
+    @Test
+    void unEventoPuedeProgramarOtroParaElMismoInstante() {
+        EventQueue eventos = new EventQueue();
+        List<String> ejecutados = new ArrayList<>();
+        eventos.programar(5, () -> {
+            ejecutados.add("primero");
+            eventos.programar(5, () -> ejecutados.add("encadenado"));
+        });
+        eventos.programar(5, () -> ejecutados.add("segundo"));
+
+        EventQueue.Evento e;
+        while ((e = eventos.siguiente()) != null) e.accion.run();
+        assertEquals(List.of("primero", "segundo", "encadenado"), ejecutados);
+    }
+}
@@ -0,0 +1,114 @@
+package aeron.net;
+
+import aeron.model.FlightStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ida y vuelta del protocolo binario: lo que escribe {@link BinaryProtocol} lo entiende
+ * {@link BinaryFrameReader}.
+ */
+class BinaryProtocolTest {
+
+    // Anota lo que entrega el lector, una línea por llamada
+    private static final class Anotador implements BinaryFrameReader.Receptor {
+        final List<String> llamadas = new ArrayList<>();
+
+        @Override
+        public void foto(long secuencia) {
+            llamadas.add("FOTO " + secuencia);
+        }
+
+        @Override
+        public void estado(String vuelo, String estado) {
+            llamadas.add("ESTADO " + vuelo + ":" + estado);
+        }
+
+        @Override
+        public void cambio(String vuelo, String estado, long secuencia) {
+            llamadas.add("CAMBIO " + secuencia + " " + vuelo + ":" + estado);
+        }
+    }
+
+    // Añade a 'salida' una trama (cabecera con la longitud + contenido)
+    private static void trama(ByteArrayOutputStream salida, ByteBuffer contenido) {
+        int longitud = contenido.position();
+        salida.writeBytes(ByteBuffer.allocate(BinaryProtocol.TAM_CABECERA).putInt(longitud).array());
+        salida.write(contenido.array(), 0, longitud);
+    }
+
+    @Test
+    void fotoYCambiosLleganComoSeEscribieron() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+
+        ByteBuffer b = ByteBuffer.allocate(256);
+        BinaryProtocol.escribirVuelo(b, 0, BinaryProtocol.codificarId("IBE-001"));
+        BinaryProtocol.escribirVuelo(b, 1, BinaryProtocol.codificarId("VLG-002"));
+        BinaryProtocol.escribirFoto(b, 41, 2);
+        BinaryProtocol.escribirEstado(b, 0, (byte) FlightStatus.LANDED.ordinal());
+        BinaryProtocol.escribirEstado(b, 1, (byte) FlightStatus.IN_FLIGHT.ordinal());
+        trama(salida, b);
+
+        b = ByteBuffer.allocate(256);
+        BinaryProtocol.escribirReanudado(b, 41);
+        BinaryProtocol.escribirCambio(b, 1, 42, (byte) FlightStatus.LANDING_REQUEST.ordinal());
+        BinaryProtocol.escribirCambio(b, 0, 43, (byte) FlightStatus.BOARDING.ordinal());
+        trama(salida, b);
+
+        byte[] bytes = salida.toByteArray();
+        BinaryFrameReader lector = new BinaryFrameReader(new ByteArrayInputStream(bytes));
+        Anotador receptor = new Anotador();
+        assertTrue(lector.leerTrama(receptor));
+        assertTrue(lector.leerTrama(receptor));
+        assertFalse(lector.leerTrama(receptor), "fin de la conexión");
+
+        assertEquals(List.of(
+                "FOTO 41",
+                "ESTADO IBE-001:LANDED",
+                "ESTADO VLG-002:IN_FLIGHT",
+                "CAMBIO 42 VLG-002:LANDING_REQUEST",
+                "CAMBIO 43 IBE-001:BOARDING"), receptor.llamadas);
+        assertEquals(bytes.length, lector.getBytesLeidos());
+    }
+
+    @Test
+    void unEstadoDesconocidoLlegaComoMarcaVisible() throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ByteBuffer b = ByteBuffer.allocate(64);
+        BinaryProtocol.escribirVuelo(b, 0, BinaryProtocol.codificarId("IBE-001"));
+        BinaryProtocol.escribirCambio(b, 0, 1, BinaryProtocol.ESTADO_DESCONOCIDO);
+        BinaryProtocol.escribirCambio(b, 0, 2, (byte) 120);
+        trama(salida, b);
+
+        Anotador receptor = new Anotador();
+        new BinaryFrameReader(new ByteArrayInputStream(salida.toByteArray())).leerTrama(receptor);
+        assertEquals(List.of(
+                "CAMBIO 1 IBE-001:" + BinaryFrameReader.ESTADO_DESCONOCIDO,
+                "CAMBIO 2 IBE-001:" + BinaryFrameReader.ESTADO_DESCONOCIDO), receptor.llamadas);
+    }
+
+    @Test
+    void losIdsLargosSeRecortan() {
+        String largo = "X".repeat(BinaryProtocol.MAX_ID + 10);
+        assertEquals(BinaryProtocol.MAX_ID, BinaryProtocol.codificarId(largo).length);
+    }
+
+    @Test
+    void unHandleNoAnunciadoEsUnaTramaNoValida() {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        ByteBuffer b = ByteBuffer.allocate(64);
+        BinaryProtocol.escribirCambio(b, 7, 1, (byte) 0);
+        trama(salida, b);
+
+        BinaryFrameReader lector = new BinaryFrameReader(new ByteArrayInputStream(salida.toByteArray()));
+        assertThrows(IOException.class, () -> lector.leerTrama(new Anotador()));
+    }
+}
@@ -0,0 +1,67 @@
+package aeron.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LogRingTest {
+
+    @Test
+    void vacioNoTieneNadaQueConsultar() {
+        assertNull(new LogRing(4).consultar());
+    }
+
+    @Test
+    void llenoRechazaLaReservaHastaQueSeConsume() {
+        LogRing anillo = new LogRing(4);
+        for (int i = 0; i < 4; i++) {
+            long pos = anillo.reservar();
+            assertEquals(i, pos);
+            anillo.publicar(pos);
+        }
+        assertEquals(-1, anillo.reservar());
+
+        assertNotNull(anillo.consultar());
+        anillo.consumir();
+        assertEquals(4, anillo.reservar());
+    }
+
+    @Test
+    void laCapacidadSeRedondeaAPotenciaDeDos() {
+        LogRing anillo = new LogRing(5);
+        int reservadas = 0;
+        while (anillo.reservar() >= 0) reservadas++;
+        assertEquals(8, reservadas);
+    }
+
+    @Test
+    void elConsumidorEsperaALaCasillaNoPublicadaAunqueLasSiguientesLoEsten() {
+        LogRing anillo = new LogRing(4);
+        long primera = anillo.reservar();
+        long segunda = anillo.reservar();
+        anillo.evento(segunda).vuelo = "B";
+        anillo.publicar(segunda);
+        assertNull(anillo.consultar());
+
+        anillo.evento(primera).vuelo = "A";
+        anillo.publicar(primera);
+        assertEquals("A", anillo.consultar().vuelo);
+        anillo.consumir();
+        assertEquals("B", anillo.consultar().vuelo);
+    }
+
+    @Test
+    void reutilizaLasCasillasLimpiasAlDarLaVuelta() {
+        LogRing anillo = new LogRing(2);
+        for (int i = 0; i < 10; i++) {
+            long pos = anillo.reservar();
+            LogEvent e = anillo.evento(pos);
+            assertNull(e.vuelo, "la casilla debe llegar limpia");
+            e.vuelo = "V" + i;
+            anillo.publicar(pos);
+            assertEquals("V" + i, anillo.consultar().vuelo);
+            anillo.consumir();
+        }
+        assertNull(anillo.consultar());
+    }
+}